@@ -0,0 +1,52 @@
+package bomberman.bench;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import bomberman.core.logic.PhysicsKind;
+
+/**
+ * The ArenaState class is the state shared by the benchmarks: a {@link BenchWorld} for each
+ * of the arena sizes measured, from smaller to larger than the one of the game.
+ * <p>
+ * The allocations of each benchmark are reported by running it with {@code -prof gc}, next
+ * to its time.
+ * 
+ * @author Federico Scozzafava
+ */
+@State(Scope.Thread)
+public abstract class ArenaState
+{
+
+	/**
+	 * The size of the arena, as width x height in blocks.
+	 */
+	@Param({ "13x11", "19x15", "31x25" })
+	public String arena;
+
+	/**
+	 * The world measured.
+	 */
+	protected BenchWorld world;
+
+	/**
+	 * Builds the world on the arena of the current parameters.
+	 */
+	protected void createWorld()
+	{
+		world = new BenchWorld(arena);
+	}
+
+	/**
+	 * Builds the world on the arena of the current parameters, simulated by the given
+	 * {@link PhysicsKind}.
+	 * 
+	 * @param physics
+	 *            the {@link PhysicsKind}
+	 */
+	protected void createWorld(PhysicsKind physics)
+	{
+		world = new BenchWorld(arena, physics.create());
+	}
+}
@@ -0,0 +1,82 @@
+package bomberman.bench;
+
+import java.util.List;
+
+import bomberman.core.logic.Bomb;
+import bomberman.core.logic.DynamicPhysicsEntity;
+import bomberman.core.logic.LogicWorld;
+import bomberman.core.logic.PhysicsBackend;
+import bomberman.core.util.Constants;
+
+/**
+ * The BenchWorld class is a {@link LogicWorld} measured by the benchmarks. It exposes the
+ * explosions to them and parses the size of the arena they are run on.
+ * 
+ * @author Federico Scozzafava
+ */
+public class BenchWorld extends LogicWorld
+{
+
+	/**
+	 * The seed of the rounds laid out by the benchmarks, so that every run measures the same
+	 * grid.
+	 */
+	public static final long SEED = 42;
+
+	/**
+	 * Instantiates a new {@link BenchWorld} with the blocks of the size of the game.
+	 * 
+	 * @param arena
+	 *            the size of the arena, as width x height in blocks, like "19x15"
+	 * @throws RuntimeException
+	 *             if the size is malformed
+	 */
+	public BenchWorld(String arena)
+	{
+		super(parse(arena, 0), parse(arena, 1), Constants.FIXED_SQUARE_SIZE);
+	}
+
+	/**
+	 * Instantiates a new {@link BenchWorld} with the blocks of the size of the game,
+	 * simulated by the given {@link PhysicsBackend}.
+	 * 
+	 * @param arena
+	 *            the size of the arena, as width x height in blocks, like "19x15"
+	 * @param physics
+	 *            the {@link PhysicsBackend}, owned by the world from now on
+	 * @throws RuntimeException
+	 *             if the size is malformed
+	 */
+	public BenchWorld(String arena, PhysicsBackend physics)
+	{
+		super(parse(arena, 0), parse(arena, 1), Constants.FIXED_SQUARE_SIZE, physics);
+	}
+
+	/**
+	 * Resolves the explosion of a {@link Bomb} and of the chain it sets off.
+	 * 
+	 * @param bomb
+	 *            the {@link Bomb}
+	 * @return the power ups left by the explosion
+	 */
+	public List<DynamicPhysicsEntity> explode(Bomb bomb)
+	{
+		return handleExplosion(bomb);
+	}
+
+	/**
+	 * Parses a side of the size of an arena.
+	 * 
+	 * @param arena
+	 *            the size, as width x height in blocks
+	 * @param side
+	 *            0 for the width, 1 for the height
+	 * @return the side, in blocks
+	 */
+	private static int parse(String arena, int side)
+	{
+		String[] s = arena.split("x");
+		if (s.length != 2) throw new RuntimeException("invalid arena " + arena);
+		return Integer.parseInt(s[side]);
+	}
+}
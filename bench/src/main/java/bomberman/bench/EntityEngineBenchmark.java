@@ -0,0 +1,105 @@
+package bomberman.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import bomberman.core.logic.Block;
+import bomberman.core.logic.Bomb;
+import bomberman.core.logic.Bomber;
+import bomberman.core.logic.EntityEngine;
+import bomberman.core.logic.PhysicsKind;
+import bomberman.core.logic.enemy.EnemyBarom;
+import bomberman.core.logic.enemy.EnemyOnil;
+import bomberman.core.util.Constants;
+
+/**
+ * The EntityEngineBenchmark class measures {@link EntityEngine#update(int)}, the update of the
+ * entities and the physics step of a tick, with a number of enemies and of {@link Bomb}s.
+ * <p>
+ * The gameplay timers are not advanced, so the bombs never go off and the entities of the
+ * round stay the same while the enemies keep wandering. Both the {@link PhysicsKind}s are
+ * measured, so that the cost of the physics step of each can be compared on the same round.
+ * 
+ * @author Federico Scozzafava
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntityEngineBenchmark extends ArenaState
+{
+
+	/**
+	 * The number of {@link Bomb}s.
+	 */
+	@Param({ "0", "8", "24" })
+	public int bombs;
+
+	/**
+	 * The number of enemies, half of them following each strategy.
+	 */
+	@Param({ "0", "8", "24" })
+	public int enemies;
+
+	/**
+	 * The name of the {@link PhysicsKind} simulating the arena.
+	 */
+	@Param({ "box2d", "tile" })
+	public String physics;
+
+	/**
+	 * The {@link EntityEngine} measured.
+	 */
+	private EntityEngine engine;
+
+	/**
+	 * Lays out a round with a few bricks and spawns the {@link Bomber}, the enemies and the
+	 * {@link Bomb}s in random free blocks.
+	 */
+	@Setup
+	public void setUp()
+	{
+		createWorld(PhysicsKind.parse(physics));
+		world.initializeGame(Constants.MIN_BRICK_BLOCKS / 2,
+				Constants.INIT_TIMER_VALUE, BenchWorld.SEED);
+		float size = world.getBlockSize();
+		Bomber bomber = new Bomber(world, size, size);
+		bomber.reset();
+		for (int i = 0; i < enemies; i++)
+			if (i % 2 == 0)
+				new EnemyOnil(world, world.getRandomFreeBlock());
+			else
+				new EnemyBarom(world, world.getRandomFreeBlock());
+		for (int i = 0; i < bombs; i++)
+		{
+			Block c = world.getRandomFreeBlock();
+			c.setBomb(new Bomb(world, bomber, c, Constants.INIT_FRE_RANGE));
+		}
+		engine = world.getEntityEngine();
+	}
+
+	/**
+	 * Measures a tick.
+	 * 
+	 * @return the number of entities updated
+	 */
+	@Benchmark
+	public int update()
+	{
+		engine.update(Constants.TICK_TIME);
+		return engine.getActiveCount();
+	}
+}
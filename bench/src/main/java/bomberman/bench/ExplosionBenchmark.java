@@ -0,0 +1,125 @@
+package bomberman.bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import bomberman.core.logic.Block;
+import bomberman.core.logic.Bomb;
+import bomberman.core.logic.Bomber;
+import bomberman.core.logic.DynamicPhysicsEntity;
+import bomberman.core.logic.TileMap;
+import bomberman.core.util.Constants;
+
+/**
+ * The ExplosionBenchmark class measures {@code LogicWorld.handleExplosion} for each range of
+ * the {@link Bomb}, in an open grid and in a grid of bricks. The bomb lies in the corner of the
+ * {@link Bomber}, where two whole corridors start, so its flames run as far as the range and
+ * the bricks allow.
+ * <p>
+ * An explosion changes the grid, so the round is laid out again before each one, out of the
+ * measured time. After each one the cells on fire are counted, also out of the measured time:
+ * every explosion of a trial must light as many cells as the first one, so that an explosion
+ * cut short is never timed in place of a whole one.
+ * 
+ * @author Federico Scozzafava
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExplosionBenchmark extends ArenaState
+{
+
+	/**
+	 * The number of {@code BrickBlock}s of the round.
+	 */
+	@Param({ "0", "40" })
+	public int blocks;
+
+	/**
+	 * The {@link Bomb} exploding.
+	 */
+	private Bomb bomb;
+
+	/**
+	 * The number of cells lit by the first explosion of the trial, -1 before it.
+	 */
+	private int lit = -1;
+
+	/**
+	 * The range of the {@link Bomb}.
+	 */
+	@Param({ "1", "2", "3", "4", "5", "6", "7", "8", "9", "10" })
+	public int range;
+
+	/**
+	 * Checks that the explosion lit as many cells as the first one of the trial, and at
+	 * least one.
+	 * 
+	 * @throws RuntimeException
+	 *             if the explosion lit no cell or a different number of cells
+	 */
+	@TearDown(Level.Invocation)
+	public void checkFire()
+	{
+		TileMap map = world.getTileMap();
+		int n = 0;
+		for (int x = 0; x < map.getWidth(); x++)
+			for (int y = 0; y < map.getHeight(); y++)
+				if (map.isBurning(x, y)) n++;
+		if (n == 0 || lit >= 0 && n != lit)
+			throw new RuntimeException("explosion lit " + n + " cells instead of " + lit);
+		lit = n;
+	}
+
+	/**
+	 * Measures the explosion.
+	 * 
+	 * @return the power ups left by the explosion
+	 */
+	@Benchmark
+	public List<DynamicPhysicsEntity> explode()
+	{
+		return world.explode(bomb);
+	}
+
+	/**
+	 * Lays out the round and places the {@link Bomb}.
+	 */
+	@Setup(Level.Invocation)
+	public void placeBomb()
+	{
+		world.initializeGame(blocks, Constants.INIT_TIMER_VALUE, BenchWorld.SEED);
+		float size = world.getBlockSize();
+		Bomber bomber = new Bomber(world, size, size);
+		bomber.reset();
+		Block c = world.getBlock(1, 1);
+		bomb = new Bomb(world, bomber, c, range);
+		c.setBomb(bomb);
+	}
+
+	/**
+	 * Builds the world.
+	 */
+	@Setup(Level.Trial)
+	public void setUp()
+	{
+		createWorld();
+	}
+}
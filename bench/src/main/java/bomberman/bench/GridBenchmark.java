@@ -0,0 +1,114 @@
+package bomberman.bench;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import bomberman.core.logic.Block;
+import bomberman.core.util.Constants;
+import bomberman.core.util.Vector2;
+
+/**
+ * The GridBenchmark class measures the queries of the grid run by the entities every tick:
+ * the {@link Block} containing a position and the blocks adjacent to a block. The queries go
+ * over a fixed set of random positions, so the branches do not favour a single cell.
+ * 
+ * @author Federico Scozzafava
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GridBenchmark extends ArenaState
+{
+
+	/**
+	 * The number of positions queried, a power of two.
+	 */
+	private static final int POSITIONS = 1024;
+
+	/**
+	 * The {@link Block} containing each position.
+	 */
+	private final Block[] blocks = new Block[POSITIONS];
+
+	/**
+	 * The next position queried.
+	 */
+	private int next;
+
+	/**
+	 * The random positions in the arena, in pixels.
+	 */
+	private final Vector2[] positions = new Vector2[POSITIONS];
+
+	/**
+	 * Measures {@code LogicWorld.getAdjacent}.
+	 * 
+	 * @return the adjacent blocks
+	 */
+	@Benchmark
+	public List<Block> getAdjacent()
+	{
+		next = next + 1 & POSITIONS - 1;
+		return world.getAdjacent(blocks[next]);
+	}
+
+	/**
+	 * Measures {@code LogicWorld.getBlockAt}.
+	 * 
+	 * @return the block
+	 */
+	@Benchmark
+	public Block getBlockAt()
+	{
+		next = next + 1 & POSITIONS - 1;
+		return world.getBlockAt(positions[next]);
+	}
+
+	/**
+	 * Measures {@code LogicWorld.getFreeAdjacent}.
+	 * 
+	 * @return the free adjacent blocks
+	 */
+	@Benchmark
+	public List<Block> getFreeAdjacent()
+	{
+		next = next + 1 & POSITIONS - 1;
+		return world.getFreeAdjacent(blocks[next]);
+	}
+
+	/**
+	 * Lays out a round and chooses the positions queried.
+	 */
+	@Setup
+	public void setUp()
+	{
+		createWorld();
+		world.initializeGame(Constants.MIN_BRICK_BLOCKS, Constants.INIT_TIMER_VALUE,
+				BenchWorld.SEED);
+		Random r = new Random(BenchWorld.SEED);
+		float size = world.getBlockSize();
+		int width = world.getTileMap().getWidth();
+		int height = world.getTileMap().getHeight();
+		for (int i = 0; i < POSITIONS; i++)
+		{
+			positions[i] = new Vector2(r.nextFloat() * width * size, r.nextFloat()
+					* height * size);
+			blocks[i] = world.getBlockAt(positions[i]);
+		}
+	}
+}
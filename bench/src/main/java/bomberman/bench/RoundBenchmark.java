@@ -0,0 +1,68 @@
+package bomberman.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import bomberman.core.logic.LogicWorld;
+import bomberman.core.util.Constants;
+
+/**
+ * The RoundBenchmark class measures {@link LogicWorld#initializeGame(int, int, long)}, the
+ * reset of the world and the generation of the layout of a new round, with the fewest and the
+ * most {@code BrickBlock}s of a round of the game. Each round has a new seed, so no layout is
+ * reused.
+ * 
+ * @author Federico Scozzafava
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoundBenchmark extends ArenaState
+{
+
+	/**
+	 * The number of {@code BrickBlock}s of the round.
+	 */
+	@Param({ "25", "54" })
+	public int blocks;
+
+	/**
+	 * The seed of the next round.
+	 */
+	private long seed = BenchWorld.SEED;
+
+	/**
+	 * Measures the generation of a round.
+	 * 
+	 * @return the world
+	 */
+	@Benchmark
+	public LogicWorld initializeGame()
+	{
+		world.initializeGame(blocks, Constants.INIT_TIMER_VALUE, seed++);
+		return world;
+	}
+
+	/**
+	 * Builds the world.
+	 */
+	@Setup
+	public void setUp()
+	{
+		createWorld();
+	}
+}
@@ -0,0 +1,140 @@
+package bomberman.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import bomberman.core.logic.MoveStrategy;
+import bomberman.core.logic.Strategy1;
+import bomberman.core.logic.Strategy2;
+import bomberman.core.logic.enemy.Enemy;
+import bomberman.core.logic.enemy.EnemyOnil;
+import bomberman.core.util.Constants;
+
+/**
+ * The StrategyBenchmark class measures the {@link MoveStrategy#move()} of {@link Strategy1}
+ * and {@link Strategy2}, along the two paths of a move: steering towards the next block, run
+ * in most ticks, and choosing the next block once the {@link Enemy} is in the middle of one.
+ * The enemy is not moved by the physics, so a strategy chooses only in its first move, and a
+ * new strategy is bound to the enemy before each measured choice.
+ * <p>
+ * The strategies remember the blocks they visit, so a new one is bound to the enemy at each
+ * iteration of the steering as well.
+ * 
+ * @author Federico Scozzafava
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StrategyBenchmark extends ArenaState
+{
+
+	/**
+	 * The Fresh class is a {@link MoveStrategy} just bound to the {@link Enemy}, whose first
+	 * move chooses the next block.
+	 */
+	@State(Scope.Thread)
+	public static class Fresh
+	{
+
+		/**
+		 * The {@link MoveStrategy}.
+		 */
+		private MoveStrategy strategy;
+
+		/**
+		 * Binds a new strategy to the {@link Enemy} of the benchmark.
+		 * 
+		 * @param b
+		 *            the benchmark
+		 */
+		@Setup(Level.Invocation)
+		public void bind(StrategyBenchmark b)
+		{
+			strategy = b.createStrategy();
+		}
+	}
+
+	/**
+	 * The {@link Enemy} moved by the strategy.
+	 */
+	private Enemy enemy;
+
+	/**
+	 * The {@link MoveStrategy} measured.
+	 */
+	private MoveStrategy strategy;
+
+	/**
+	 * The name of the {@link MoveStrategy} class measured.
+	 */
+	@Param({ "Strategy1", "Strategy2" })
+	public String type;
+
+	/**
+	 * Binds a new strategy to the {@link Enemy}.
+	 */
+	@Setup(Level.Iteration)
+	public void bindStrategy()
+	{
+		strategy = createStrategy();
+	}
+
+	/**
+	 * Measures a move choosing the next block.
+	 * 
+	 * @param f
+	 *            the strategy just bound
+	 */
+	@Benchmark
+	public void choose(Fresh f)
+	{
+		f.strategy.move();
+	}
+
+	/**
+	 * Creates a strategy of the measured type bound to the {@link Enemy}.
+	 * 
+	 * @return the {@link MoveStrategy}
+	 */
+	MoveStrategy createStrategy()
+	{
+		MoveStrategy s = type.equals("Strategy1") ? new Strategy1() : new Strategy2();
+		return s.setEntity(enemy);
+	}
+
+	/**
+	 * Measures a move steering towards the next block.
+	 */
+	@Benchmark
+	public void steer()
+	{
+		strategy.move();
+	}
+
+	/**
+	 * Lays out a round and spawns the {@link Enemy} in a random free block.
+	 */
+	@Setup(Level.Trial)
+	public void setUp()
+	{
+		createWorld();
+		world.initializeGame(Constants.MIN_BRICK_BLOCKS, Constants.INIT_TIMER_VALUE,
+				BenchWorld.SEED);
+		enemy = new EnemyOnil(world, world.getRandomFreeBlock());
+	}
+}
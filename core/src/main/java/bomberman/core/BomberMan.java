@@ -6,12 +6,14 @@ import static playn.core.PlayN.keyboard;
 import static playn.core.PlayN.pointer;
 import playn.core.Game;
 import playn.core.ImmediateLayer;
+import playn.core.Key;
 import playn.core.Keyboard;
 import playn.core.Pointer;
 import playn.core.Pointer.Event;
 import playn.core.Sound;
 import playn.core.Surface;
 import bomberman.core.graphics.LayerManager;
+import bomberman.core.graphics.ProfilerOverlay;
 import bomberman.core.ui.GameScreen;
 import bomberman.core.ui.LoadScreen;
 import bomberman.core.ui.LoseScreen;
@@ -19,6 +21,8 @@ import bomberman.core.ui.PauseScreen;
 import bomberman.core.ui.StartScreen;
 import bomberman.core.ui.UIScreen;
 import bomberman.core.ui.WinScreen;
+import bomberman.core.util.Constants;
+import bomberman.core.util.TickProfiler;
 
 /**
  * The class responsible for maintaining the core game loop and all other
@@ -64,12 +68,22 @@ public class BomberMan extends Game.Default implements Keyboard.Listener,
 	 */
 	private UIScreen loseScreen;
 
+	/**
+	 * The overlay showing the times of the {@link #profiler}, toggled by the F3 key.
+	 */
+	private ProfilerOverlay overlay;
+
 	/**
 	 * The resources associated with the game screen that players see when the
 	 * game is paused.
 	 */
 	private UIScreen pauseScreen;
 
+	/**
+	 * The {@link TickProfiler} timing the phases of each frame.
+	 */
+	private final TickProfiler profiler = new TickProfiler();
+
 	/**
 	 * The main game sound.
 	 */
@@ -95,7 +109,18 @@ public class BomberMan extends Game.Default implements Keyboard.Listener,
 	 */
 	public BomberMan()
 	{
-		super(33); // call update every 33ms (30 times per second)
+		// call update once per simulation tick, paint interpolates in between
+		super(Constants.TICK_TIME);
+	}
+
+	/**
+	 * Gets the {@link TickProfiler} timing the phases of each frame.
+	 * 
+	 * @return the {@link TickProfiler}
+	 */
+	public TickProfiler getProfiler()
+	{
+		return profiler;
 	}
 
 	/* (non-Javadoc)
@@ -141,6 +166,8 @@ public class BomberMan extends Game.Default implements Keyboard.Listener,
 					}
 				});
 		LayerManager.immediate().add(immediateLayer);
+
+		overlay = new ProfilerOverlay(profiler);
 	}
 
 	/**
@@ -150,6 +177,7 @@ public class BomberMan extends Game.Default implements Keyboard.Listener,
 	{
 		roundSound.stop();
 		loseScreen.show();
+		((GameScreen) gameScreen).prepareNextRound();
 		delegate = loseScreen;
 	}
 
@@ -159,7 +187,10 @@ public class BomberMan extends Game.Default implements Keyboard.Listener,
 	@Override
 	public void onKeyDown(Keyboard.Event event)
 	{
-		delegate.onKeyDown(event);
+		if (event.key() == Key.F3)
+			overlay.toggle();
+		else
+			delegate.onKeyDown(event);
 	}
 
 	/* (non-Javadoc)
@@ -222,7 +253,10 @@ public class BomberMan extends Game.Default implements Keyboard.Listener,
 	@Override
 	public void paint(float alpha)
 	{
+		long time = System.nanoTime();
 		delegate.paint(alpha);
+		profiler.record(TickProfiler.PAINT, time);
+		overlay.paint();
 	}
 
 	/**
@@ -252,6 +286,7 @@ public class BomberMan extends Game.Default implements Keyboard.Listener,
 	{
 		LayerManager.clear();
 		startScreen.show();
+		((GameScreen) gameScreen).prepareNextRound();
 		delegate = startScreen;
 		startSound.play();
 	}
@@ -278,7 +313,9 @@ public class BomberMan extends Game.Default implements Keyboard.Listener,
 	@Override
 	public void update(int delta)
 	{
+		long time = System.nanoTime();
 		delegate.update(delta);
+		profiler.record(TickProfiler.UPDATE, time);
 	}
 
 	/**
@@ -288,6 +325,7 @@ public class BomberMan extends Game.Default implements Keyboard.Listener,
 	{
 		roundSound.stop();
 		winScreen.show();
+		((GameScreen) gameScreen).prepareNextRound();
 		delegate = winScreen;
 	}
 }
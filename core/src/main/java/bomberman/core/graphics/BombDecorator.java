@@ -12,6 +12,11 @@ import bomberman.core.logic.Bomb;
 public class BombDecorator implements GfxObject
 {
 
+	/**
+	 * The fraction of tick elapsed since the last update, used to interpolate the drawing.
+	 */
+	private float alpha;
+	
 	/**
 	 * The bomb's sprite.
 	 */
@@ -62,7 +67,7 @@ public class BombDecorator implements GfxObject
 	@Override
 	public void drawSurface(Surface surface)
 	{
-		sp.draw(surface, bomb.getBottomCenter());
+		sp.draw(surface, bomb.getBottomCenter(alpha));
 	}
 
 	/* (non-Javadoc)
@@ -70,7 +75,9 @@ public class BombDecorator implements GfxObject
 	 */
 	@Override
 	public void paint(float alpha)
-	{}
+	{
+		this.alpha = alpha;
+	}
 
 	/* (non-Javadoc)
 	 * @see bomberman.core.graphics.GfxObject#update(int)
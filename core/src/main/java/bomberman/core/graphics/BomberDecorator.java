@@ -23,41 +23,52 @@ public class BomberDecorator extends Bomber implements GfxObject,
 		Keyboard.Listener, Pointer.Listener
 {
 	
+	/**
+	 * The fraction of tick elapsed since the last update, used to interpolate the drawing.
+	 */
+	private float alpha;
+	
 	/**
 	 * The down {@link Sprite}.
 	 */
 	private static Sprite down = new Sprite(
-			DecoratedEntityEngine.getTexture("bomberDown"), true);
+			DecoratedEntityEngine.getTexture("bomberDown"),
+			Constants.ENTITY_FRAME_TIME, true);
 	
 	/**
 	 * The dying {@link Sprite}.
 	 */
 	private static Sprite dying = new Sprite(
-			DecoratedEntityEngine.getTexture("bomberDying"), false);
+			DecoratedEntityEngine.getTexture("bomberDying"),
+			Constants.ENTITY_FRAME_TIME, false);
 	
 	/**
 	 * The idle {@link Sprite}.
 	 */
 	private static Sprite idle = new Sprite(
-			DecoratedEntityEngine.getTexture("bomberIdle"), false);
+			DecoratedEntityEngine.getTexture("bomberIdle"),
+			Constants.ENTITY_FRAME_TIME, false);
 	
 	/**
 	 * The left {@link Sprite}.
 	 */
 	private static Sprite left = new Sprite(
-			DecoratedEntityEngine.getTexture("bomberLeft"), true);
+			DecoratedEntityEngine.getTexture("bomberLeft"),
+			Constants.ENTITY_FRAME_TIME, true);
 	
 	/**
 	 * The right {@link Sprite}.
 	 */
 	private static Sprite right = new Sprite(
-			DecoratedEntityEngine.getTexture("bomberRight"), true);
+			DecoratedEntityEngine.getTexture("bomberRight"),
+			Constants.ENTITY_FRAME_TIME, true);
 	
 	/**
 	 * The up {@link Sprite}.
 	 */
 	private static Sprite up = new Sprite(
-			DecoratedEntityEngine.getTexture("bomberUp"), true);
+			DecoratedEntityEngine.getTexture("bomberUp"),
+			Constants.ENTITY_FRAME_TIME, true);
 	
 	/**
 	 * The delegate {@link Sprite}.
@@ -70,9 +81,9 @@ public class BomberDecorator extends Bomber implements GfxObject,
 	private DecoratedWorld decoratedWorld;
 	
 	/**
-	 * The die timer. Indicates how long the dying {@link Sprite} should be visible
+	 * Indicates if the dying {@link Sprite} is visible, until the countdown expires.
 	 */
-	private int dieTimer = 0;
+	private boolean isDying;
 	
 	/**
 	 * The moves stack contains the keys pressed at the current update, prevents multiple keys
@@ -104,6 +115,16 @@ public class BomberDecorator extends Bomber implements GfxObject,
 		currentSprite = idle;
 	}
 
+	/* (non-Javadoc)
+	 * @see bomberman.core.logic.Entity#countdownExpired()
+	 */
+	@Override
+	protected void countdownExpired()
+	{
+		isDying = false;
+		super.die();
+	}
+
 	/* (non-Javadoc)
 	 * @see bomberman.core.logic.Bomber#destroy()
 	 */
@@ -120,7 +141,8 @@ public class BomberDecorator extends Bomber implements GfxObject,
 	@Override
 	public void die()
 	{
-		dieTimer = Constants.DIE_TIME;
+		isDying = true;
+		setCountdown(Constants.DIE_TIME);
 	}
 
 	/* (non-Javadoc)
@@ -129,7 +151,7 @@ public class BomberDecorator extends Bomber implements GfxObject,
 	@Override
 	public void drawSurface(Surface surface)
 	{
-		sp.draw(surface, getBottomCenter());
+		sp.draw(surface, getBottomCenter(alpha));
 	}
 
 	/* (non-Javadoc)
@@ -233,7 +255,9 @@ public class BomberDecorator extends Bomber implements GfxObject,
 	 */
 	@Override
 	public void paint(float alpha)
-	{}
+	{
+		this.alpha = alpha;
+	}
 
 	/* (non-Javadoc)
 	 * @see bomberman.core.logic.DynamicPhysicsEntity#reset()
@@ -290,12 +314,8 @@ public class BomberDecorator extends Bomber implements GfxObject,
 		}
 		if (currentSprite == null)
 			throw new RuntimeException("Assets not initialized");
-		if (dieTimer > 0)
-		{
-			dieTimer--;
+		if (isDying)
 			currentSprite = dying;
-			if (dieTimer == 0) super.die();
-		}
 		else
 			super.update(delta);
 		sp.playAnimation(delta, currentSprite);
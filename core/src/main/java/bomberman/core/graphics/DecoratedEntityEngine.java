@@ -25,11 +25,6 @@ import bomberman.core.util.Constants;
 public class DecoratedEntityEngine
 {
 
-	/**
-	 * The singleton pattern.
-	 */
-	private static DecoratedEntityEngine instance;
-
 	/**
 	 * The {@link GfxObject} entities list.
 	 */
@@ -48,27 +43,17 @@ public class DecoratedEntityEngine
 	private final Stack<GfxObject> gfxToRemove = new Stack<GfxObject>();
 
 	/**
-	 * The texture map used by {@link #getTexture(String)}.
+	 * The texture map used by {@link #getTexture(String)}, shared by all the engines as the
+	 * textures are only read once loaded.
 	 */
-	private final Map<String, Image> textureMap = new HashMap<String, Image>();
+	private static final Map<String, Image> textureMap = new HashMap<String, Image>();
 
 	/**
-	 * Instantiates a new decorated entity engine.
+	 * Instantiates a new decorated entity engine, owned by a {@link DecoratedWorld}.
 	 */
-	private DecoratedEntityEngine()
+	public DecoratedEntityEngine()
 	{}
 
-	/**
-	 * Gets the single instance of DecoratedEntityEngine.
-	 * 
-	 * @return single instance of DecoratedEntityEngine
-	 */
-	public static DecoratedEntityEngine getInstance()
-	{
-		if (instance == null) instance = new DecoratedEntityEngine();
-		return instance;
-	}
-
 	/**
 	 * Gets the texture for those {@link Entity} that are instanced and
 	 * decorated ad runtime.
@@ -79,7 +64,7 @@ public class DecoratedEntityEngine
 	 */
 	public static Image getTexture(String name)
 	{
-		return getInstance().textureMap.get(name);
+		return textureMap.get(name);
 	}
 
 	/**
@@ -140,7 +125,7 @@ public class DecoratedEntityEngine
 	/**
 	 * Loads the assets for each {@link GfxObject}.
 	 */
-	public void loadAssets()
+	public static void loadAssets()
 	{
 		String[] images = Constants.TEXTURES;
 		for (String x : images)
@@ -184,7 +169,8 @@ public class DecoratedEntityEngine
 	}
 
 	/**
-	 * Updates the logic state of each {@link GfxObject}.
+	 * Updates the logic state of each {@link GfxObject}. The decorators that are also an
+	 * {@link Entity} are skipped, as they are already updated by the {@link EntityEngine}.
 	 * 
 	 * @param delta
 	 *            the delta parameter
@@ -195,7 +181,7 @@ public class DecoratedEntityEngine
 		doAdd();
 		doRemove();
 		for (GfxObject x : gfxObjs)
-			x.update(delta);
+			if (!(x instanceof Entity)) x.update(delta);
 	}
 
 }
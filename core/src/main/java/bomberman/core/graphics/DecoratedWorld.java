@@ -20,10 +20,10 @@ import bomberman.core.logic.Entity;
 import bomberman.core.logic.BrickBlock;
 import bomberman.core.logic.WallBlock;
 import bomberman.core.logic.DynamicPhysicsEntity;
-import bomberman.core.logic.FireEntity;
 import bomberman.core.logic.LogicWorld;
 import bomberman.core.logic.powerUp.PowerUp;
 import bomberman.core.util.Constants;
+import bomberman.core.util.TickProfiler;
 
 /**
  * The DecoratedWorld class represents the graphics side of the {@link LogicWorld}. It instances 
@@ -49,9 +49,9 @@ public class DecoratedWorld extends LogicWorld
 	private BomberMan bomberman;
 	
 	/**
-	 * The {@link DecoratedEntityEngine}.
+	 * The {@link DecoratedEntityEngine} of this world.
 	 */
-	private DecoratedEntityEngine decoratedEntityEngine;
+	private final DecoratedEntityEngine decoratedEntityEngine;
 	
 	/**
 	 * The list containing all {@link DynamicBlockDecorator} for the ground.
@@ -63,6 +63,12 @@ public class DecoratedWorld extends LogicWorld
 	 */
 	private Layer dynamicGroundLayer;
 	
+	/**
+	 * The {@link TickProfiler} of the game, timing the decorators and the phases of the
+	 * {@link bomberman.core.logic.EntityEngine}.
+	 */
+	private final TickProfiler profiler;
+	
 	/**
 	 * Indicates if the resources are ready.
 	 */
@@ -102,7 +108,9 @@ public class DecoratedWorld extends LogicWorld
 	{
 		super(x, y, Constants.FIXED_SQUARE_SIZE);
 		this.bomberman = bomberman;
-		decoratedEntityEngine = DecoratedEntityEngine.getInstance();
+		decoratedEntityEngine = new DecoratedEntityEngine();
+		profiler = bomberman.getProfiler();
+		getEntityEngine().setProfiler(profiler);
 		staticGroundLayer = graphics().createGroupLayer();
 	}
 
@@ -150,8 +158,9 @@ public class DecoratedWorld extends LogicWorld
 	 */
 	public void drawSurface(Surface surface)
 	{
-
+		long time = System.nanoTime();
 		decoratedEntityEngine.drawSurface(surface);
+		profiler.record(TickProfiler.DRAW, time);
 	}
 
 	/**
@@ -173,9 +182,7 @@ public class DecoratedWorld extends LogicWorld
 		bomb.play();
 		List<DynamicPhysicsEntity> res = super.handleExplosion(b);
 		for (DynamicPhysicsEntity f : res)
-			if (f instanceof FireEntity)
-				addGfxObject(new FireDecorator((FireEntity) f, this));
-			else if (f instanceof PowerUp)
+			if (f instanceof PowerUp)
 				addGfxObject(new PowerUpDecorator(this, (PowerUp) f));
 		updateDynamicGround();
 		return res;
@@ -207,13 +214,24 @@ public class DecoratedWorld extends LogicWorld
 	}
 
 	/* (non-Javadoc)
-	 * @see bomberman.core.logic.LogicWorld#initializeGame(int, int)
+	 * @see bomberman.core.logic.LogicWorld#ignite(int, int)
+	 */
+	@Override
+	protected boolean ignite(int x, int y)
+	{
+		if (!super.ignite(x, y)) return false;
+		addGfxObject(new FireDecorator(this, x, y));
+		return true;
+	}
+
+	/* (non-Javadoc)
+	 * @see bomberman.core.logic.LogicWorld#initializeGame(int, int, long)
 	 */
 	@Override
-	public void initializeGame(int blocks, int time)
+	public void initializeGame(int blocks, int time, long seed)
 	{
 		decoratedEntityEngine.clearAll();
-		super.initializeGame(blocks, time);
+		super.initializeGame(blocks, time, seed);
 		dynamicGroundDecorators = initDynamicGround();
 	}
 
@@ -227,7 +245,7 @@ public class DecoratedWorld extends LogicWorld
 		bomb.prepare();
 		staticGroundImage = assets().getImageSync(
 				PropertiesManager.getParameter("staticGroundImage"));
-		decoratedEntityEngine.loadAssets();
+		DecoratedEntityEngine.loadAssets();
 		ready = true;
 	}
 
@@ -249,7 +267,9 @@ public class DecoratedWorld extends LogicWorld
 	 */
 	public void paint(float alpha)
 	{
+		long time = System.nanoTime();
 		decoratedEntityEngine.paint(alpha);
+		profiler.record(TickProfiler.INTERPOLATE, time);
 	}
 
 	/**
@@ -275,13 +295,15 @@ public class DecoratedWorld extends LogicWorld
 	}
 
 	/* (non-Javadoc)
-	 * @see bomberman.core.logic.LogicWorld#update(int)
+	 * @see bomberman.core.logic.LogicWorld#step()
 	 */
 	@Override
-	public void update(int delta)
+	protected void step()
 	{
-		super.update(delta);
-		decoratedEntityEngine.update(delta);
+		super.step();
+		long time = System.nanoTime();
+		decoratedEntityEngine.update(Constants.TICK_TIME);
+		profiler.record(TickProfiler.DECORATORS, time);
 	}
 
 	/**
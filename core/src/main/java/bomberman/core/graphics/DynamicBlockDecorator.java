@@ -72,7 +72,7 @@ public class DynamicBlockDecorator implements GfxObject
 	@Override
 	public boolean equals(Object o)
 	{
-		return o instanceof Block ? (Block) o == c : false;
+		return o == this || c.equals(o);
 	}
 
 	/* (non-Javadoc)
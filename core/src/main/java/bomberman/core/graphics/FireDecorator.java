@@ -1,10 +1,11 @@
 package bomberman.core.graphics;
 
 import playn.core.Surface;
-import bomberman.core.logic.FireEntity;
+import bomberman.core.logic.TileMap;
+import bomberman.core.util.Vector2;
 
 /**
- * The decorator associated to {@link FireEntity}.
+ * The decorator associated to a burning cell of the {@link TileMap}.
  * 
  * @author Federico Scozzafava
  * @see http://en.wikipedia.org/wiki/Decorator_pattern
@@ -24,26 +25,40 @@ public class FireDecorator implements GfxObject
 	private DecoratedWorld decoratedWorld;
 	
 	/**
-	 * The relative {@link FireEntity}.
+	 * The bottom center of the burning cell, in pixels.
 	 */
-	private FireEntity fire;
+	private Vector2 position;
 	
 	/**
 	 * The {@link SpritePlayer} instance.
 	 */
 	private SpritePlayer sp;
 
+	/**
+	 * The x coordinate in grid of the burning cell.
+	 */
+	private int x;
+
+	/**
+	 * The y coordinate in grid of the burning cell.
+	 */
+	private int y;
+
 	/**
 	 * Instantiates a new fire decorator.
 	 * 
-	 * @param f
-	 *            the {@link FireEntity}
 	 * @param d
 	 *            the {@link DecoratedWorld}
+	 * @param x
+	 *            the x coordinate in grid of the burning cell
+	 * @param y
+	 *            the y coordinate in grid of the burning cell
 	 */
-	public FireDecorator(FireEntity f, DecoratedWorld d)
+	public FireDecorator(DecoratedWorld d, int x, int y)
 	{
-		fire = f;
+		this.x = x;
+		this.y = y;
+		position = d.getBlock(x, y).getBottomCenter();
 		sp = new SpritePlayer();
 		decoratedWorld = d;
 	}
@@ -62,7 +77,7 @@ public class FireDecorator implements GfxObject
 	@Override
 	public void drawSurface(Surface surface)
 	{
-		sp.draw(surface, fire.getBottomCenter());
+		sp.draw(surface, position);
 	}
 
 	/* (non-Javadoc)
@@ -78,7 +93,7 @@ public class FireDecorator implements GfxObject
 	@Override
 	public void update(int delta)
 	{
-		if (fire.getTimer() < 0) destroy();
+		if (!decoratedWorld.getTileMap().isBurning(x, y)) destroy();
 		sp.playAnimation(delta, anim);
 	}
 
@@ -15,17 +15,24 @@ import bomberman.core.util.Constants;
 public class OnilDecorator extends EnemyOnil implements GfxObject
 {
 
+	/**
+	 * The fraction of tick elapsed since the last update, used to interpolate the drawing.
+	 */
+	private float alpha;
+	
 	/**
 	 * The dying {@link Sprite}.
 	 */
 	private static Sprite dying = new Sprite(
-			DecoratedEntityEngine.getTexture("onilDying"), false);
+			DecoratedEntityEngine.getTexture("onilDying"),
+			Constants.ENTITY_FRAME_TIME, false);
 	
 	/**
 	 * The idle {@link Sprite}.
 	 */
 	private static Sprite idle = new Sprite(
-			DecoratedEntityEngine.getTexture("onilIdle"), true);
+			DecoratedEntityEngine.getTexture("onilIdle"),
+			Constants.ENTITY_FRAME_TIME, true);
 	
 	/**
 	 * The delegate {@link Sprite}.
@@ -38,9 +45,9 @@ public class OnilDecorator extends EnemyOnil implements GfxObject
 	private DecoratedWorld decoratedWorld;
 	
 	/**
-	 * The die timer. Indicates how long the dying {@link Sprite} should be visible
+	 * Indicates if the dying {@link Sprite} is visible, until the countdown expires.
 	 */
-	private int dieTimer = 0;
+	private boolean isDying;
 	
 	/**
 	 * The {@link SpritePlayer} instance.
@@ -62,6 +69,16 @@ public class OnilDecorator extends EnemyOnil implements GfxObject
 		sp = new SpritePlayer();
 	}
 
+	/* (non-Javadoc)
+	 * @see bomberman.core.logic.Entity#countdownExpired()
+	 */
+	@Override
+	protected void countdownExpired()
+	{
+		isDying = false;
+		super.die();
+	}
+
 	/* (non-Javadoc)
 	 * @see bomberman.core.logic.Entity#destroy()
 	 */
@@ -78,7 +95,8 @@ public class OnilDecorator extends EnemyOnil implements GfxObject
 	@Override
 	public void die()
 	{
-		dieTimer = Constants.DIE_TIME;
+		isDying = true;
+		setCountdown(Constants.DIE_TIME);
 	}
 
 	/* (non-Javadoc)
@@ -87,7 +105,7 @@ public class OnilDecorator extends EnemyOnil implements GfxObject
 	@Override
 	public void drawSurface(Surface surface)
 	{
-		sp.draw(surface, getBottomCenter());
+		sp.draw(surface, getBottomCenter(alpha));
 	}
 
 	/* (non-Javadoc)
@@ -95,7 +113,9 @@ public class OnilDecorator extends EnemyOnil implements GfxObject
 	 */
 	@Override
 	public void paint(float alpha)
-	{}
+	{
+		this.alpha = alpha;
+	}
 
 	/* (non-Javadoc)
 	 * @see bomberman.core.logic.enemy.Enemy#update(int)
@@ -114,12 +134,8 @@ public class OnilDecorator extends EnemyOnil implements GfxObject
 		}
 		if (currentSprite == null)
 			throw new RuntimeException("Assets not initialized");
-		if (dieTimer > 0)
-		{
-			dieTimer--;
+		if (isDying)
 			currentSprite = dying;
-			if (dieTimer == 0) super.die();
-		}
 		else
 			super.update(delta);
 		sp.playAnimation(delta, currentSprite);
@@ -0,0 +1,157 @@
+package bomberman.core.graphics;
+
+import static playn.core.PlayN.graphics;
+import playn.core.CanvasImage;
+import playn.core.ImageLayer;
+import bomberman.core.util.TickProfiler;
+
+/**
+ * The ProfilerOverlay class shows the times recorded by a {@link TickProfiler} on top of the
+ * game, in the {@link LayerManager#overlay()} group: for each phase, the average time since
+ * the previous refresh, and the 99th percentile and the longest time since the game started.
+ * The overlay is refreshed about once a second, so drawing it does not weigh on the phases
+ * it shows.
+ * 
+ * @author Federico Scozzafava
+ */
+public class ProfilerOverlay
+{
+
+	/**
+	 * The height of a line of text in pixels.
+	 */
+	private static final int LINE_HEIGHT = 14;
+
+	/**
+	 * The number of frames between two refreshes.
+	 */
+	private static final int REFRESH_FRAMES = 30;
+
+	/**
+	 * The width of the overlay in pixels.
+	 */
+	private static final int WIDTH = 260;
+
+	/**
+	 * Formats a time in milliseconds, with three decimals.
+	 * 
+	 * @param nanos
+	 *            the time in nanoseconds
+	 * @return the formatted time
+	 */
+	private static String millis(long nanos)
+	{
+		long micros = nanos / 1000;
+		String fraction = String.valueOf(1000 + micros % 1000).substring(1);
+		return micros / 1000 + "." + fraction;
+	}
+
+	/**
+	 * The number of frames painted since the last refresh.
+	 */
+	private int frames;
+
+	/**
+	 * The image the times are drawn on.
+	 */
+	private final CanvasImage image;
+
+	/**
+	 * The count of each phase at the last refresh.
+	 */
+	private final long[] lastCount = new long[TickProfiler.PHASES];
+
+	/**
+	 * The total time of each phase at the last refresh.
+	 */
+	private final long[] lastTotal = new long[TickProfiler.PHASES];
+
+	/**
+	 * The layer showing the image.
+	 */
+	private final ImageLayer layer;
+
+	/**
+	 * The {@link TickProfiler} whose times are shown.
+	 */
+	private final TickProfiler profiler;
+
+	/**
+	 * Indicates if the overlay is shown.
+	 */
+	private boolean visible;
+
+	/**
+	 * Instantiates a new hidden {@link ProfilerOverlay}.
+	 * 
+	 * @param profiler
+	 *            the {@link TickProfiler} whose times are shown
+	 */
+	public ProfilerOverlay(TickProfiler profiler)
+	{
+		this.profiler = profiler;
+		image = graphics().createImage(WIDTH, LINE_HEIGHT * (TickProfiler.PHASES + 1) + 4);
+		layer = graphics().createImageLayer(image);
+	}
+
+	/**
+	 * Indicates if the overlay is shown.
+	 * 
+	 * @return true, if shown
+	 */
+	public boolean isVisible()
+	{
+		return visible;
+	}
+
+	/**
+	 * Counts a painted frame and refreshes the overlay when it is due. The overlay is added
+	 * back to the {@link LayerManager#overlay()} group if a change of screen cleared it.
+	 */
+	public void paint()
+	{
+		if (!visible) return;
+		if (layer.parent() == null) LayerManager.overlay().add(layer);
+		if (++frames < REFRESH_FRAMES) return;
+		frames = 0;
+		refresh();
+	}
+
+	/**
+	 * Draws the times recorded since the last refresh.
+	 */
+	private void refresh()
+	{
+		image.canvas().clear();
+		image.canvas().setFillColor(0xA0000000);
+		image.canvas().fillRect(0, 0, image.width(), image.height());
+		image.canvas().setFillColor(0xFFFFFFFF);
+		image.canvas().drawText("phase   mean   p99   max (ms)", 4, LINE_HEIGHT);
+		for (int p = 0; p < TickProfiler.PHASES; p++)
+		{
+			long count = profiler.getCount(p) - lastCount[p];
+			long total = profiler.getTotal(p) - lastTotal[p];
+			lastCount[p] = profiler.getCount(p);
+			lastTotal[p] = profiler.getTotal(p);
+			image.canvas().drawText(TickProfiler.getName(p) + "   "
+					+ millis(count == 0 ? 0 : total / count) + "   "
+					+ millis(profiler.getPercentile(p, 99)) + "   "
+					+ millis(profiler.getMax(p)), 4, LINE_HEIGHT * (p + 2));
+		}
+	}
+
+	/**
+	 * Shows the overlay if hidden, hides it otherwise.
+	 */
+	public void toggle()
+	{
+		visible = !visible;
+		if (visible)
+		{
+			frames = 0;
+			refresh();
+			if (layer.parent() == null) LayerManager.overlay().add(layer);
+		}
+		else if (layer.parent() != null) layer.parent().remove(layer);
+	}
+}
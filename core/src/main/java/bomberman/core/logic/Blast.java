@@ -0,0 +1,203 @@
+package bomberman.core.logic;
+
+/**
+ * The Blast class computes the cross-shaped footprint of a {@link Bomb} explosion using the
+ * row and column bit masks of a {@link TileMap}. Each arm of the cross burns the free cells up
+ * to the explosion range or up to the first rigid cell met; if that cell is a {@link BrickBlock}
+ * it is reported apart, since it is broken by the explosion. The footprint is computed before
+ * any change is applied to the grid, so a single instance can be reused for every explosion.
+ * 
+ * @author Federico Scozzafava
+ */
+public class Blast
+{
+
+	/**
+	 * The y coordinate of the last burning cell of the lower arm.
+	 */
+	private int bottom;
+
+	/**
+	 * The y coordinate of the {@link BrickBlock} hit by the lower arm, -1 if none.
+	 */
+	private int bottomBrick;
+
+	/**
+	 * The x coordinate of the last burning cell of the left arm (the center included).
+	 */
+	private int left;
+
+	/**
+	 * The x coordinate of the {@link BrickBlock} hit by the left arm, -1 if none.
+	 */
+	private int leftBrick;
+
+	/**
+	 * The x coordinate of the last burning cell of the right arm.
+	 */
+	private int right;
+
+	/**
+	 * The x coordinate of the {@link BrickBlock} hit by the right arm, -1 if none.
+	 */
+	private int rightBrick;
+
+	/**
+	 * The y coordinate of the last burning cell of the upper arm.
+	 */
+	private int top;
+
+	/**
+	 * The y coordinate of the {@link BrickBlock} hit by the upper arm, -1 if none.
+	 */
+	private int topBrick;
+
+	/**
+	 * The coordinates of the explosion's center.
+	 */
+	private int x, y;
+
+	/**
+	 * Computes the footprint of an explosion. Arms never reach the first row and column of
+	 * the grid, which are always made of {@link WallBlock}s.
+	 * 
+	 * @param map
+	 *            the {@link TileMap}
+	 * @param x
+	 *            the x coordinate of the explosion's center
+	 * @param y
+	 *            the y coordinate of the explosion's center
+	 * @param range
+	 *            the explosion range
+	 */
+	public void compute(TileMap map, int x, int y, int range)
+	{
+		this.x = x;
+		this.y = y;
+		int limit = Math.max(1, x - range);
+		int hit = map.lastRigidInRow(y, x, limit);
+		left = hit < 0 ? limit : hit + 1;
+		leftBrick = hit >= 0 && isBrick(map, hit, y) ? hit : -1;
+		limit = Math.min(map.getWidth() - 1, x + range);
+		hit = map.firstRigidInRow(y, x + 1, limit);
+		right = hit < 0 ? limit : hit - 1;
+		rightBrick = hit >= 0 && isBrick(map, hit, y) ? hit : -1;
+		limit = Math.max(1, y - range);
+		hit = map.lastRigidInColumn(x, y - 1, limit);
+		top = hit < 0 ? limit : hit + 1;
+		topBrick = hit >= 0 && isBrick(map, x, hit) ? hit : -1;
+		limit = Math.min(map.getHeight() - 1, y + range);
+		hit = map.firstRigidInColumn(x, y + 1, limit);
+		bottom = hit < 0 ? limit : hit - 1;
+		bottomBrick = hit >= 0 && isBrick(map, x, hit) ? hit : -1;
+	}
+
+	/**
+	 * Returns a boolean value that indicates if the given cell is a {@link BrickBlock}.
+	 */
+	private static boolean isBrick(TileMap map, int x, int y)
+	{
+		return map.getTile(x, y) == TileMap.BRICK;
+	}
+
+	/**
+	 * Gets the y coordinate of the last burning cell of the lower arm.
+	 * 
+	 * @return the y coordinate, equal to {@link #getY()} if the arm is empty
+	 */
+	public int getBottom()
+	{
+		return bottom;
+	}
+
+	/**
+	 * Gets the y coordinate of the {@link BrickBlock} hit by the lower arm.
+	 * 
+	 * @return the y coordinate, -1 if none
+	 */
+	public int getBottomBrick()
+	{
+		return bottomBrick;
+	}
+
+	/**
+	 * Gets the x coordinate of the last burning cell of the left arm. The left arm includes
+	 * the explosion's center.
+	 * 
+	 * @return the x coordinate, greater than {@link #getX()} if the arm is empty
+	 */
+	public int getLeft()
+	{
+		return left;
+	}
+
+	/**
+	 * Gets the x coordinate of the {@link BrickBlock} hit by the left arm.
+	 * 
+	 * @return the x coordinate, -1 if none
+	 */
+	public int getLeftBrick()
+	{
+		return leftBrick;
+	}
+
+	/**
+	 * Gets the x coordinate of the last burning cell of the right arm.
+	 * 
+	 * @return the x coordinate, equal to {@link #getX()} if the arm is empty
+	 */
+	public int getRight()
+	{
+		return right;
+	}
+
+	/**
+	 * Gets the x coordinate of the {@link BrickBlock} hit by the right arm.
+	 * 
+	 * @return the x coordinate, -1 if none
+	 */
+	public int getRightBrick()
+	{
+		return rightBrick;
+	}
+
+	/**
+	 * Gets the y coordinate of the last burning cell of the upper arm.
+	 * 
+	 * @return the y coordinate, equal to {@link #getY()} if the arm is empty
+	 */
+	public int getTop()
+	{
+		return top;
+	}
+
+	/**
+	 * Gets the y coordinate of the {@link BrickBlock} hit by the upper arm.
+	 * 
+	 * @return the y coordinate, -1 if none
+	 */
+	public int getTopBrick()
+	{
+		return topBrick;
+	}
+
+	/**
+	 * Gets the x coordinate of the explosion's center.
+	 * 
+	 * @return the x coordinate
+	 */
+	public int getX()
+	{
+		return x;
+	}
+
+	/**
+	 * Gets the y coordinate of the explosion's center.
+	 * 
+	 * @return the y coordinate
+	 */
+	public int getY()
+	{
+		return y;
+	}
+}
@@ -1,18 +1,12 @@
 package bomberman.core.logic;
 
-import org.jbox2d.collision.shapes.PolygonShape;
-import org.jbox2d.common.Vec2;
-import org.jbox2d.dynamics.Body;
-import org.jbox2d.dynamics.BodyDef;
-import org.jbox2d.dynamics.BodyType;
-import org.jbox2d.dynamics.FixtureDef;
-
 import bomberman.core.util.Constants;
 import bomberman.core.util.Vector2;
 
 /**
- * The Block class defines an abstract piece of world's ground. In {@code Box2D}'s world
- * is represented with a static {@link Body}.
+ * The Block class defines an abstract piece of world's ground. It is a lightweight view
+ * over a cell of the {@link LogicWorld}'s {@link TileMap}, created on demand. Rigid blocks are
+ * represented by the {@link PhysicsBackend} of the {@link LogicWorld}, as a part of its grid.
  * 
  * @author Federico Scozzafava
  */
@@ -20,76 +14,30 @@ public abstract class Block implements PhysicsEntity
 {
 
 	/**
-	 * The {@link Bomb} contained in this {@link Block}.
-	 */
-	private Bomb b;
-	
-	/**
-	 * The {@code box2d} {@link Body}.
+	 * The coordinates of this {@link Block} in the {@link LogicWorld}'s grid.
 	 */
-	private Body body;
-	
-	/**
-	 * The {@code box2d} scale factor.
-	 */
-	private float box2dScale = Constants.BOX2D_WORLD_SCALE;
-	
+	private final int gridX, gridY;
+
 	/**
 	 * The {@link LogicWorld}.
 	 */
-	private LogicWorld logicWorld;
-	
-	/**
-	 * The dimensions.
-	 */
-	private float x, y, width, heigth;
+	private final LogicWorld logicWorld;
 
 	/**
-	 * Instantiates a new block.
+	 * Instantiates a new view over a cell of the grid.
 	 * 
-	 * @param x
-	 *            the x position in pixels
-	 * @param y
-	 *            the y position in pixels
-	 * @param width
-	 *            the width in pixels
-	 * @param height
-	 *            the height in pixels
-	 * @param nullBody
-	 *            indicates if the {@link Block} has a physics {@code box2d} body. 
-	 *            If true the {@link Body} is instanced.
+	 * @param gridX
+	 *            the x coordinate in grid
+	 * @param gridY
+	 *            the y coordinate in grid
 	 * @param world
 	 *            the {@link LogicWorld}
 	 */
-	public Block(float x, float y, float width, float height,
-			boolean nullBody, LogicWorld world)
+	public Block(int gridX, int gridY, LogicWorld world)
 	{
-		this.x = x;
-		this.y = y;
-		this.width = width;
-		this.heigth = height;
+		this.gridX = gridX;
+		this.gridY = gridY;
 		logicWorld = world;
-		if (!nullBody) createBody();
-	}
-	
-	/**
-	 * Instantiates a new block.
-	 * 
-	 * @param x
-	 *            the x position in pixels
-	 * @param y
-	 *            the y position in pixels
-	 * @param dimension
-	 *            the dimension (width and height) in pixels
-	 * @param nullBody
-	 *            indicates if the {@link Block} has a physics {@code box2d} body. 
-	 *            If true the {@link Body} is instanced.
-	 * @param world
-	 *            the {@link LogicWorld}
-	 */
-	public Block(float x, float y, float dimension, boolean nullBody, LogicWorld world)
-	{
-		this(x,y,dimension, dimension, nullBody, world);
 	}
 
 	/**
@@ -116,24 +64,11 @@ public abstract class Block implements PhysicsEntity
 	 */
 	public boolean contains(Vector2 v)
 	{
-		return v.getX() >= x && v.getX() < x + width && v.getY() >= y
-				&& v.getY() < y + heigth;
-	}
-
-	/**
-	 * Instances the {@code box2d} {@link Body}.
-	 */
-	private void createBody()
-	{
-		BodyDef bd = new BodyDef();
-		bd.type = BodyType.STATIC;
-		bd.position.set(x / box2dScale, y / box2dScale);
-		PolygonShape ps = new PolygonShape();
-		ps.setAsBox(width / 2 / box2dScale, heigth / 2 / box2dScale);
-		FixtureDef fd = new FixtureDef();
-		fd.shape = ps;
-		body = logicWorld.getWorld().createBody(bd);
-		body.createFixture(fd);
+		float size = logicWorld.getBlockSize();
+		float x = gridX * size;
+		float y = gridY * size;
+		return v.getX() >= x && v.getX() < x + size && v.getY() >= y
+				&& v.getY() < y + size;
 	}
 
 	/**
@@ -144,13 +79,22 @@ public abstract class Block implements PhysicsEntity
 	 */
 	abstract public Block destroy();
 
-	/* (non-Javadoc)
-	 * @see bomberman.core.logic.PhysicsEntity#getBody()
+	/**
+	 * Two {@link Block}s are equal when they are views of the same type over the same cell
+	 * of the same {@link LogicWorld}, so the {@link BrickBlock} view of a cell is no longer
+	 * found among the views of the cell once the brick is destroyed.
+	 * 
+	 * @param o
+	 *            the other object
+	 * @return true, if the types and the cells are the same
 	 */
 	@Override
-	public Body getBody()
+	public boolean equals(Object o)
 	{
-		return body;
+		if (o == null || o.getClass() != getClass()) return false;
+		Block c = (Block) o;
+		return c.logicWorld == logicWorld && c.gridX == gridX
+				&& c.gridY == gridY;
 	}
 
 	/* (non-Javadoc)
@@ -159,7 +103,7 @@ public abstract class Block implements PhysicsEntity
 	@Override
 	public Vector2 getBodyDimensions()
 	{
-		return new Vector2(width, heigth);
+		return new Vector2(getDimension(), getDimension());
 	}
 
 	/* (non-Javadoc)
@@ -168,7 +112,7 @@ public abstract class Block implements PhysicsEntity
 	@Override
 	public Vector2 getBodyPosition()
 	{
-		return new Vector2(body.getPosition()).mul(box2dScale);
+		return getPosition();
 	}
 
 	/* (non-Javadoc)
@@ -177,7 +121,7 @@ public abstract class Block implements PhysicsEntity
 	@Override
 	public Vector2 getBodyRealPosition()
 	{
-		return new Vector2(body.getPosition());
+		return getPosition().div(Constants.BOX2D_WORLD_SCALE);
 	}
 
 	/**
@@ -187,7 +131,27 @@ public abstract class Block implements PhysicsEntity
 	 */
 	public Bomb getBomb()
 	{
-		return b;
+		return logicWorld.getTileMap().getBomb(gridX, gridY);
+	}
+
+	/**
+	 * Gets the x coordinate of this {@link Block} in grid.
+	 * 
+	 * @return the x coordinate
+	 */
+	public int getGridX()
+	{
+		return gridX;
+	}
+
+	/**
+	 * Gets the y coordinate of this {@link Block} in grid.
+	 * 
+	 * @return the y coordinate
+	 */
+	public int getGridY()
+	{
+		return gridY;
 	}
 
 	/* (non-Javadoc)
@@ -209,13 +173,22 @@ public abstract class Block implements PhysicsEntity
 		return getBodyDimensions().div(2).add(getPosition());
 	}
 
+	/* (non-Javadoc)
+	 * @see bomberman.core.logic.PhysicsEntity#getCollisionKind()
+	 */
+	@Override
+	public CollisionKind getCollisionKind()
+	{
+		return CollisionKind.GRID;
+	}
+
 	/* (non-Javadoc)
 	 * @see bomberman.core.logic.PhysicsEntity#getDimension()
 	 */
 	@Override
 	public float getDimension()
 	{
-		return heigth;
+		return logicWorld.getBlockSize();
 	}
 
 	/* (non-Javadoc)
@@ -224,7 +197,17 @@ public abstract class Block implements PhysicsEntity
 	@Override
 	public Vector2 getPosition()
 	{
-		return new Vector2((int) x, (int) y);
+		float size = getDimension();
+		return new Vector2((int) (gridX * size), (int) (gridY * size));
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode()
+	{
+		return gridY * 31 + gridX;
 	}
 
 	/* (non-Javadoc)
@@ -233,7 +216,7 @@ public abstract class Block implements PhysicsEntity
 	@Override
 	public Vector2 getScaledPosition()
 	{
-		return getPosition().div(box2dScale);
+		return getPosition().div(Constants.BOX2D_WORLD_SCALE);
 	}
 
 	/**
@@ -241,7 +224,7 @@ public abstract class Block implements PhysicsEntity
 	 */
 	public void removeBomb()
 	{
-		b = null;
+		logicWorld.getTileMap().setBomb(gridX, gridY, null);
 	}
 
 	/**
@@ -252,26 +235,28 @@ public abstract class Block implements PhysicsEntity
 	 */
 	public void setBomb(Bomb b)
 	{
-		this.b = b;
+		logicWorld.getTileMap().setBomb(gridX, gridY, b);
 	}
 
-	/* (non-Javadoc)
-	 * @see bomberman.core.logic.PhysicsEntity#setCenter(bomberman.core.util.Vector2)
+	/**
+	 * A {@link Block} is a fixed cell of the grid, so moving it is ignored, as it is for any
+	 * static body.
+	 * 
+	 * @param pos
+	 *            the center in pixels
 	 */
 	@Override
 	public void setCenter(Vector2 pos)
-	{
-		setPosition(pos.add(-getDimension() / 2f));
-	}
+	{}
 
-	/* (non-Javadoc)
-	 * @see bomberman.core.logic.PhysicsEntity#setPosition(bomberman.core.util.Vector2)
+	/**
+	 * A {@link Block} is a fixed cell of the grid, so moving it is ignored, as it is for any
+	 * static body.
+	 * 
+	 * @param vect
+	 *            the new position in pixels
 	 */
 	@Override
 	public void setPosition(Vector2 vect)
-	{
-		x = vect.getX();
-		y = vect.getY();
-		body.setTransform(new Vec2(x / box2dScale, y / box2dScale), 0);
-	}
+	{}
 }
@@ -1,6 +1,5 @@
 package bomberman.core.logic;
 
-import org.jbox2d.dynamics.BodyType;
 import bomberman.core.util.Constants;
 
 /**
@@ -8,7 +7,7 @@ import bomberman.core.util.Constants;
  * 
  * @author Federico Scozzafava
  */
-public class Bomb extends DynamicPhysicsEntity implements PhysicsEntity.HasContactListener
+public class Bomb extends DynamicPhysicsEntity
 {
 
 	/**
@@ -17,14 +16,14 @@ public class Bomb extends DynamicPhysicsEntity implements PhysicsEntity.HasConta
 	private LogicWorld logicWorld;
 	
 	/**
-	 * The bomb timer.
+	 * The caller who placed the {@link Bomb}.
 	 */
-	private int bombTimer;
+	private Bomber caller;
 	
 	/**
-	 * The caller who placed the {@link Bomb}.
+	 * Indicates if the {@link Bomb} already went off, as part of an explosion chain too.
 	 */
-	private Bomber caller;
+	private boolean detonated = false;
 	
 	/**
 	 * The {@link Bomb} explosion range.
@@ -48,11 +47,10 @@ public class Bomb extends DynamicPhysicsEntity implements PhysicsEntity.HasConta
 		super(logicWorld, c.getPosition().getX(), c.getPosition().getY(), 0, 0,
 				true);
 		setCenter(c.getCenter());
-		getBody().setType(BodyType.KINEMATIC);
-		getBody().setLinearDamping(0);
+		setMovable(false);
 		this.range = range;
 		caller = b;
-		bombTimer = Constants.BOMB_TIME;
+		setCountdown(Constants.BOMB_TIME);
 		this.logicWorld = logicWorld;
 	}
 
@@ -76,16 +74,25 @@ public class Bomb extends DynamicPhysicsEntity implements PhysicsEntity.HasConta
 			boolean bombPass, boolean bombKick)
 	{
 		this(logicWorld, bomber, c, bombRange);
-		getBody().setType(bombKick ? BodyType.DYNAMIC : BodyType.STATIC);
+		setMovable(bombKick);
 	}
 
 	/* (non-Javadoc)
-	 * @see bomberman.core.logic.PhysicsEntity.HasContactListener#contact(bomberman.core.logic.PhysicsEntity)
+	 * @see bomberman.core.logic.DynamicPhysicsEntity#burn()
 	 */
 	@Override
-	public void contact(PhysicsEntity other)
+	protected void burn()
 	{
-		if (other instanceof FireEntity) bombTimer = 0;
+		explode();
+	}
+
+	/* (non-Javadoc)
+	 * @see bomberman.core.logic.Entity#countdownExpired()
+	 */
+	@Override
+	protected void countdownExpired()
+	{
+		logicWorld.handleExplosion(this);
 	}
 
 	/* (non-Javadoc)
@@ -98,12 +105,35 @@ public class Bomb extends DynamicPhysicsEntity implements PhysicsEntity.HasConta
 		super.destroy();
 	}
 
+	/**
+	 * Marks the {@link Bomb} as detonated, so that it explodes only once. Called by
+	 * {@link LogicWorld#handleExplosion(Bomb)} for every {@link Bomb} of an explosion chain.
+	 * 
+	 * @return true if the {@link Bomb} was not detonated yet
+	 */
+	boolean detonate()
+	{
+		if (detonated) return false;
+		detonated = true;
+		setCountdown(-1);
+		return true;
+	}
+
 	/**
 	 * Explode.
 	 */
 	public void explode()
 	{
-		bombTimer = 0;
+		if (!detonated) setCountdown(0);
+	}
+
+	/* (non-Javadoc)
+	 * @see bomberman.core.logic.PhysicsEntity#getCollisionKind()
+	 */
+	@Override
+	public CollisionKind getCollisionKind()
+	{
+		return CollisionKind.BOMB;
 	}
 
 	/**
@@ -117,23 +147,22 @@ public class Bomb extends DynamicPhysicsEntity implements PhysicsEntity.HasConta
 	}
 
 	/**
-	 * Gets the timer.
+	 * Gets the timer, kept by the countdown of the {@link Entity}.
 	 * 
 	 * @return the timer
 	 */
 	public int getTimer()
 	{
-		return bombTimer;
+		return getCountdown();
 	}
 
-	/* (non-Javadoc)
-	 * @see bomberman.core.logic.PhysicsEntity.HasContactListener#release(bomberman.core.logic.PhysicsEntity)
+	/**
+	 * Makes the {@link Bomb} solid, unless the {@link Bomber} who placed it can pass over
+	 * the bombs. Called when a {@link Bomber} steps off it.
 	 */
-	@Override
-	public void release(PhysicsEntity entityB)
+	void solidify()
 	{
-		if (entityB instanceof Bomber && !caller.getBombPassStatus())
-			getBody().m_fixtureList.setSensor(false);
+		if (!caller.getBombPassStatus()) setSensor(false);
 	}
 
 	/* (non-Javadoc)
@@ -142,12 +171,10 @@ public class Bomb extends DynamicPhysicsEntity implements PhysicsEntity.HasConta
 	@Override
 	public void update(int delta)
 	{
-		if (bombTimer-- < 0)
-		{
-			logicWorld.handleExplosion(this);
-			destroy();
-		}
-		super.setPosition(getBodyPosition());
+		checkFire();
+		// a bomb that cannot be kicked only waits for its fuse or for the chain of another
+		// explosion, which reaches it through the grid
+		if (!detonated && !isMovable()) sleep();
 	}
 
 }
@@ -1,7 +1,5 @@
 package bomberman.core.logic;
 
-import bomberman.core.logic.enemy.Enemy;
-import bomberman.core.logic.powerUp.PowerUp;
 import bomberman.core.util.Constants;
 
 /**
@@ -10,8 +8,7 @@ import bomberman.core.util.Constants;
  * @author Federico Scozzafava
  * @see http://bomberman.wikia.com/wiki/White_Bomberman
  */
-public class Bomber extends DynamicPhysicsEntity implements
-		PhysicsEntity.HasContactListener
+public class Bomber extends DynamicPhysicsEntity
 {
 	
 	/**
@@ -66,18 +63,12 @@ public class Bomber extends DynamicPhysicsEntity implements
 	}
 
 	/* (non-Javadoc)
-	 * @see bomberman.core.logic.PhysicsEntity.HasContactListener#contact(bomberman.core.logic.PhysicsEntity)
+	 * @see bomberman.core.logic.DynamicPhysicsEntity#burn()
 	 */
 	@Override
-	public void contact(PhysicsEntity other)
+	protected void burn()
 	{
-		if (other instanceof Enemy || other instanceof FireEntity)
-			die();
-		else if (other instanceof PowerUp)
-		{
-			PowerUp x = (PowerUp) other;
-			x.apply(this);
-		}
+		die();
 	}
 
 	/* (non-Javadoc)
@@ -100,6 +91,15 @@ public class Bomber extends DynamicPhysicsEntity implements
 		super.die();
 	}
 
+	/* (non-Javadoc)
+	 * @see bomberman.core.logic.PhysicsEntity#getCollisionKind()
+	 */
+	@Override
+	public CollisionKind getCollisionKind()
+	{
+		return CollisionKind.BOMBER;
+	}
+
 	/**
 	 * Gets the "bomb pass" feature status.
 	 * 
@@ -110,6 +110,16 @@ public class Bomber extends DynamicPhysicsEntity implements
 		return bombPass;
 	}
 
+	/**
+	 * Gets the explosion range of the {@link Bomb}s placed.
+	 * 
+	 * @return the range, in blocks
+	 */
+	public int getBombRange()
+	{
+		return bombRange;
+	}
+
 	/**
 	 * Increment bomb explosion range.
 	 * 
@@ -133,13 +143,6 @@ public class Bomber extends DynamicPhysicsEntity implements
 		return bombKick;
 	}
 
-	/* (non-Javadoc)
-	 * @see bomberman.core.logic.PhysicsEntity.HasContactListener#release(bomberman.core.logic.PhysicsEntity)
-	 */
-	@Override
-	public void release(PhysicsEntity entityB)
-	{}
-
 	/**
 	 * Decreases the quantity of {@link Bomb} BomberMan can place at the same time.
 	 */
@@ -0,0 +1,407 @@
+package bomberman.core.logic;
+
+import org.jbox2d.callbacks.ContactImpulse;
+import org.jbox2d.callbacks.ContactListener;
+import org.jbox2d.collision.Manifold;
+import org.jbox2d.collision.shapes.CircleShape;
+import org.jbox2d.collision.shapes.PolygonShape;
+import org.jbox2d.common.Vec2;
+import org.jbox2d.dynamics.Body;
+import org.jbox2d.dynamics.BodyDef;
+import org.jbox2d.dynamics.BodyType;
+import org.jbox2d.dynamics.Filter;
+import org.jbox2d.dynamics.Fixture;
+import org.jbox2d.dynamics.FixtureDef;
+import org.jbox2d.dynamics.World;
+import org.jbox2d.dynamics.contacts.Contact;
+
+import bomberman.core.util.Constants;
+import bomberman.core.util.TickProfiler;
+
+/**
+ * The Box2dBackend class is the {@link PhysicsBackend} running on the {@code Box2d} physics
+ * engine. Each body is a circle fixture of a dynamic {@link Body}, the walls are baked into a
+ * single static {@link Body} by the {@link GeometryBaker} and each {@link BrickBlock} has its
+ * own static box. Positions are scaled by {@link Constants#BOX2D_WORLD_SCALE}.
+ * <p>
+ * The owner of each body is kept as its user data. When {@code Box2d} reports a contact the
+ * two owners are copied into a {@link ContactRing}, as the {@link Contact} itself is pooled
+ * and reused by {@code Box2d}, and they are passed to the {@link PhysicsBackend.Listener} once
+ * the step is over.
+ * <p>
+ * The {@link CollisionKind} of each fixture is set as its filter, so {@code Box2d} does not
+ * even create the contacts of the kinds that are not paired.
+ * 
+ * @author Federico Scozzafava
+ */
+public class Box2dBackend implements PhysicsBackend, ContactListener
+{
+
+	/**
+	 * The bodies, indexed by id.
+	 */
+	private Body[] bodies = new Body[64];
+
+	/**
+	 * The number of ids handed out so far.
+	 */
+	private int bodyCount;
+
+	/**
+	 * The pairs of owners that touched each other during the last step.
+	 */
+	private final ContactRing contacts = new ContactRing();
+
+	/**
+	 * The ids of the destroyed bodies, available for reuse.
+	 */
+	private int[] freeIds = new int[64];
+
+	/**
+	 * The number of ids in {@link #freeIds}.
+	 */
+	private int freeIdCount;
+
+	/**
+	 * The {@link TickProfiler} timing the steps, null if none.
+	 */
+	private TickProfiler profiler;
+
+	/**
+	 * The pairs of owners that released the contact with each other during the last step.
+	 */
+	private final ContactRing release = new ContactRing();
+
+	/**
+	 * The scale between pixels and {@code Box2d} units.
+	 */
+	private final float scale = Constants.BOX2D_WORLD_SCALE;
+
+	/**
+	 * The static {@link Body} of each {@link BrickBlock}, indexed by {@link TileMap} index.
+	 */
+	private Body[] tileBodies;
+
+	/**
+	 * The static {@link Body} holding the fixtures of all the walls, baked once.
+	 */
+	private Body wallBody;
+
+	/**
+	 * The width of the ground grid.
+	 */
+	private int width;
+
+	/**
+	 * {@code Box2d} object containing physics world
+	 */
+	private final World world;
+
+	/**
+	 * Instantiates a new {@link Box2dBackend} with an empty {@link World}.
+	 */
+	public Box2dBackend()
+	{
+		// Create the physics world that will handle all the target collisions
+		// In 2d bomberMan game there is no gravity
+		world = new World(new Vec2(0, 0));
+		world.setWarmStarting(true);
+		world.setAutoClearForces(true);
+		world.setContactListener(this);
+	}
+
+	/**
+	 * Called when {@code Box2d} finishes recording the contact between two {@link Body}.
+	 * 
+	 * @param contact
+	 *            the contact, whose owners are recorded to be reported after the step
+	 */
+	@Override
+	public void beginContact(Contact contact)
+	{
+		contacts.push(getOwner(contact.m_fixtureA.m_body),
+				getOwner(contact.m_fixtureB.m_body));
+	}
+
+	/* (non-Javadoc)
+	 * @see bomberman.core.logic.PhysicsBackend#clearContacts()
+	 */
+	@Override
+	public void clearContacts()
+	{
+		contacts.clear();
+		release.clear();
+	}
+
+	/* (non-Javadoc)
+	 * @see bomberman.core.logic.PhysicsBackend#clearTile(int, int)
+	 */
+	@Override
+	public void clearTile(int x, int y)
+	{
+		int i = y * width + x;
+		if (tileBodies[i] == null) return;
+		world.destroyBody(tileBodies[i]);
+		tileBodies[i] = null;
+	}
+
+	/* (non-Javadoc)
+	 * @see bomberman.core.logic.PhysicsBackend#createBody(bomberman.core.logic.PhysicsEntity, float, float, float, boolean)
+	 */
+	@Override
+	public int createBody(PhysicsEntity owner, float x, float y, float radius,
+			boolean sensor)
+	{
+		BodyDef bd = new BodyDef();
+		bd.type = BodyType.DYNAMIC;
+		bd.position.set(x / scale, y / scale);
+		CircleShape shape = new CircleShape();
+		shape.setRadius(radius / scale);
+		FixtureDef fd = new FixtureDef();
+		fd.friction = 0;
+		fd.isSensor = sensor;
+		fd.shape = shape;
+		Body body = world.createBody(bd);
+		body.createFixture(fd);
+		setKind(body, owner.getCollisionKind());
+		body.setUserData(owner);
+		int id;
+		if (freeIdCount > 0)
+			id = freeIds[--freeIdCount];
+		else
+		{
+			id = bodyCount++;
+			if (id == bodies.length)
+			{
+				Body[] a = new Body[id * 2];
+				System.arraycopy(bodies, 0, a, 0, id);
+				bodies = a;
+			}
+		}
+		bodies[id] = body;
+		return id;
+	}
+
+	/**
+	 * Creates the static {@link Body} of the {@link BrickBlock} in the given cell.
+	 */
+	private Body createTileBody(int x, int y, float size)
+	{
+		BodyDef bd = new BodyDef();
+		bd.type = BodyType.STATIC;
+		bd.position.set(x * size / scale, y * size / scale);
+		PolygonShape ps = new PolygonShape();
+		ps.setAsBox(size / 2 / scale, size / 2 / scale);
+		FixtureDef fd = new FixtureDef();
+		fd.shape = ps;
+		Body body = world.createBody(bd);
+		body.createFixture(fd);
+		setKind(body, CollisionKind.GRID);
+		return body;
+	}
+
+	/* (non-Javadoc)
+	 * @see bomberman.core.logic.PhysicsBackend#destroyBody(int)
+	 */
+	@Override
+	public void destroyBody(int body)
+	{
+		Body b = bodies[body];
+		// the contacts ended by the destruction have no owner to report to
+		b.setUserData(null);
+		world.destroyBody(b);
+		bodies[body] = null;
+		if (freeIdCount == freeIds.length)
+		{
+			int[] a = new int[freeIdCount * 2];
+			System.arraycopy(freeIds, 0, a, 0, freeIdCount);
+			freeIds = a;
+		}
+		freeIds[freeIdCount++] = body;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.jbox2d.callbacks.ContactListener#endContact(org.jbox2d.dynamics.contacts.Contact)
+	 */
+	@Override
+	public void endContact(Contact contact)
+	{
+		// Record this contact so that we can properly handle the contact release
+		// outside the physics loop
+		release.push(getOwner(contact.m_fixtureA.m_body),
+				getOwner(contact.m_fixtureB.m_body));
+	}
+
+	/* (non-Javadoc)
+	 * @see bomberman.core.logic.PhysicsBackend#getBodyCount()
+	 */
+	@Override
+	public int getBodyCount()
+	{
+		return world.getBodyCount();
+	}
+
+	/**
+	 * Gets the owner of a {@link Body}.
+	 * 
+	 * @param body
+	 *            the {@link Body}
+	 * @return the {@link PhysicsEntity}, null if the body belongs to the grid or is being
+	 *         destroyed
+	 */
+	private static PhysicsEntity getOwner(Body body)
+	{
+		return (PhysicsEntity) body.getUserData();
+	}
+
+	/**
+	 * Gets the {@code Box2d} {@link World}.
+	 * 
+	 * @return the {@link World}
+	 */
+	public World getWorld()
+	{
+		return world;
+	}
+
+	/* (non-Javadoc)
+	 * @see bomberman.core.logic.PhysicsBackend#getX(int)
+	 */
+	@Override
+	public float getX(int body)
+	{
+		return bodies[body].getPosition().x * scale;
+	}
+
+	/* (non-Javadoc)
+	 * @see bomberman.core.logic.PhysicsBackend#getY(int)
+	 */
+	@Override
+	public float getY(int body)
+	{
+		return bodies[body].getPosition().y * scale;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.jbox2d.callbacks.ContactListener#postSolve(org.jbox2d.dynamics.contacts.Contact, org.jbox2d.callbacks.ContactImpulse)
+	 */
+	@Override
+	public void postSolve(Contact contact, ContactImpulse impulse)
+	{}
+
+	/* (non-Javadoc)
+	 * @see org.jbox2d.callbacks.ContactListener#preSolve(org.jbox2d.dynamics.contacts.Contact, org.jbox2d.collision.Manifold)
+	 */
+	@Override
+	public void preSolve(Contact contact, Manifold oldManifold)
+	{}
+
+	/* (non-Javadoc)
+	 * @see bomberman.core.logic.PhysicsBackend#setGrid(bomberman.core.logic.TileMap, float)
+	 */
+	@Override
+	public void setGrid(TileMap map, float size)
+	{
+		if (wallBody == null)
+		{
+			wallBody = GeometryBaker.bake(map, TileMap.WALL, world, size);
+			setKind(wallBody, CollisionKind.GRID);
+			tileBodies = new Body[map.getWidth() * map.getHeight()];
+			width = map.getWidth();
+		}
+		for (int j = 0; j < map.getWidth(); j++)
+			for (int k = 0; k < map.getHeight(); k++)
+			{
+				int i = map.index(j, k);
+				boolean brick = map.getTile(j, k) == TileMap.BRICK;
+				if (brick && tileBodies[i] == null)
+					tileBodies[i] = createTileBody(j, k, size);
+				else if (!brick && tileBodies[i] != null)
+				{
+					world.destroyBody(tileBodies[i]);
+					tileBodies[i] = null;
+				}
+			}
+	}
+
+	/**
+	 * Sets the filter of every fixture of a {@link Body} to the bits of the given
+	 * {@link CollisionKind}.
+	 * 
+	 * @param body
+	 *            the {@link Body}
+	 * @param kind
+	 *            the {@link CollisionKind}
+	 */
+	private static void setKind(Body body, CollisionKind kind)
+	{
+		Filter filter = new Filter();
+		filter.categoryBits = kind.getCategory();
+		filter.maskBits = kind.getMask();
+		for (Fixture f = body.getFixtureList(); f != null; f = f.getNext())
+			f.setFilterData(filter);
+	}
+
+	/* (non-Javadoc)
+	 * @see bomberman.core.logic.PhysicsBackend#setMovable(int, boolean)
+	 */
+	@Override
+	public void setMovable(int body, boolean movable)
+	{
+		bodies[body].setType(movable ? BodyType.DYNAMIC : BodyType.STATIC);
+	}
+
+	/* (non-Javadoc)
+	 * @see bomberman.core.logic.PhysicsBackend#setPosition(int, float, float)
+	 */
+	@Override
+	public void setPosition(int body, float x, float y)
+	{
+		bodies[body].setTransform(new Vec2(x / scale, y / scale), 0);
+	}
+
+	/* (non-Javadoc)
+	 * @see bomberman.core.logic.PhysicsBackend#setProfiler(bomberman.core.util.TickProfiler)
+	 */
+	@Override
+	public void setProfiler(TickProfiler profiler)
+	{
+		this.profiler = profiler;
+	}
+
+	/* (non-Javadoc)
+	 * @see bomberman.core.logic.PhysicsBackend#setSensor(int, boolean)
+	 */
+	@Override
+	public void setSensor(int body, boolean sensor)
+	{
+		bodies[body].getFixtureList().setSensor(sensor);
+	}
+
+	/* (non-Javadoc)
+	 * @see bomberman.core.logic.PhysicsBackend#setVelocity(int, float, float)
+	 */
+	@Override
+	public void setVelocity(int body, float vx, float vy)
+	{
+		bodies[body].setLinearVelocity(new Vec2(vx / scale, vy / scale));
+	}
+
+	/* (non-Javadoc)
+	 * @see bomberman.core.logic.PhysicsBackend#step(float, bomberman.core.logic.PhysicsBackend.Listener)
+	 */
+	@Override
+	public void step(float dt, Listener listener)
+	{
+		TickProfiler p = profiler;
+		long time = p == null ? 0 : System.nanoTime();
+		world.step(dt, 6, 3);
+		if (p != null) time = p.record(TickProfiler.STEP, time);
+		// Process all the objects that touched each other, which was discovered
+		// by {@code Box2d} and then recorded in our contacts ring
+		contacts.drain(listener, true);
+		if (p != null) time = p.record(TickProfiler.CONTACTS, time);
+		release.drain(listener, false);
+		if (p != null) p.record(TickProfiler.RELEASES, time);
+	}
+}
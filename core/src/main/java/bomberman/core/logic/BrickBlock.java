@@ -6,7 +6,8 @@ import bomberman.core.logic.powerUp.*;
 /**
  * The BrickBlock class extends {@link Block}. It represents a rigid breakable block
  * of ground. {@link Entity} instances cannot pass over it, but {@link Bomb}s can destroy it. 
- * In its inside contains the eventual {@link PowerUp}, represented with a static {@link org.jbox2d.dynamics.Body}.
+ * In its inside contains the eventual {@link PowerUp}, which is solid for the {@link PhysicsBackend} until the block is broken.
+ * The contained {@link PowerUpEnum} is stored in the {@link LogicWorld}'s {@link TileMap}.
  * 
  * @author Federico Scozzafava
  */
@@ -17,50 +18,20 @@ public class BrickBlock extends Block
 	 * The {@link LogicWorld}
 	 */
 	private LogicWorld logicWorld;
-	
-	/**
-	 * The {@link PowerUpEnum} contained in this {@link Block}
-	 * 
-	 * @see {@link PowerUp}
-	 */
-	private PowerUpEnum powerUp;
 
 	/**
-	 * Instantiates a new {@link BrickBlock}.
+	 * Instantiates a new {@link BrickBlock} view.
 	 * 
 	 * @param x
-	 *            the x position in pixels
+	 *            the x coordinate in grid
 	 * @param y
-	 *            the y position in pixels
-	 * @param dimension
-	 *            the dimension (width and height) in pixels
-	 * @param logicWorld
-	 *            the {@link LogicWorld}
-	 */
-	public BrickBlock(float x, float y, float dimension, LogicWorld logicWorld)
-	{
-		super(x, y, dimension, false, logicWorld);
-	}
-
-	/**
-	 * Instantiates a new brick block.
-	 * 
-	 * @param power
-	 *            the {@link PowerUpEnum} associated with the {@link PowerUp} contained in this {@link Block}
-	 * @param posX
-	 *            the x position in pixels
-	 * @param posY
-	 *            the y position in pixels
-	 * @param dimension
-	 *            the dimension (width and height) in pixels
+	 *            the y coordinate in grid
 	 * @param logicWorld
 	 *            the {@link LogicWorld}
 	 */
-	public BrickBlock(PowerUpEnum power, float posX, float posY, float dimension,
-			LogicWorld logicWorld)
+	public BrickBlock(int x, int y, LogicWorld logicWorld)
 	{
-		this(posX, posY, dimension, logicWorld);
-		powerUp = power;
+		super(x, y, logicWorld);
 		this.logicWorld = logicWorld;
 	}
 
@@ -70,9 +41,7 @@ public class BrickBlock extends Block
 	@Override
 	public Block destroy()
 	{
-		getBody().getWorld().destroyBody(getBody());
-		return new FreeBlock(getPosition().getX(), getPosition().getY(),
-				getBodyDimensions().getX(), logicWorld);
+		return logicWorld.removeBrick(getGridX(), getGridY());
 	}
 
 	/**
@@ -82,7 +51,7 @@ public class BrickBlock extends Block
 	 */
 	public PowerUpEnum getPowerUp()
 	{
-		return powerUp;
+		return logicWorld.getTileMap().getPowerUp(getGridX(), getGridY());
 	}
 
 }
@@ -0,0 +1,146 @@
+package bomberman.core.logic;
+
+import java.util.Random;
+
+/**
+ * The CellSet class is a set of grid cells, expressed as {@link TileMap} indexes. Cells are kept
+ * in a dense array together with the position of each cell in that array, so adding, removing
+ * (by swapping with the last cell) and picking a uniformly random cell all take constant time.
+ * 
+ * @author Federico Scozzafava
+ */
+public class CellSet
+{
+
+	/**
+	 * The cells in the set, the first {@link #size} are valid.
+	 */
+	private final int[] cells;
+
+	/**
+	 * The position of each cell in {@link #cells}, -1 if the cell is not in the set.
+	 */
+	private final int[] positions;
+
+	/**
+	 * The number of cells in the set.
+	 */
+	private int size;
+
+	/**
+	 * Instantiates a new empty {@link CellSet}.
+	 * 
+	 * @param capacity
+	 *            the number of cells in grid
+	 */
+	public CellSet(int capacity)
+	{
+		cells = new int[capacity];
+		positions = new int[capacity];
+		for (int i = 0; i < capacity; i++)
+			positions[i] = -1;
+	}
+
+	/**
+	 * Adds a cell to the set.
+	 * 
+	 * @param cell
+	 *            the cell
+	 * @return true if the cell was not in the set
+	 */
+	public boolean add(int cell)
+	{
+		if (positions[cell] >= 0) return false;
+		positions[cell] = size;
+		cells[size++] = cell;
+		return true;
+	}
+
+	/**
+	 * Removes all the cells from the set.
+	 */
+	public void clear()
+	{
+		for (int n = 0; n < size; n++)
+			positions[cells[n]] = -1;
+		size = 0;
+	}
+
+	/**
+	 * Returns a boolean value that indicates if the given cell is in the set.
+	 * 
+	 * @param cell
+	 *            the cell
+	 * @return true if the cell is in the set
+	 */
+	public boolean contains(int cell)
+	{
+		return positions[cell] >= 0;
+	}
+
+	/**
+	 * Gets the cell at the given position of the set.
+	 * 
+	 * @param n
+	 *            the position, between 0 and {@link #size()} excluded
+	 * @return the cell
+	 */
+	public int get(int n)
+	{
+		if (n >= size) throw new RuntimeException("cell position out of bounds");
+		return cells[n];
+	}
+
+	/**
+	 * Returns a boolean value that indicates if the set is empty.
+	 * 
+	 * @return true if the set is empty
+	 */
+	public boolean isEmpty()
+	{
+		return size == 0;
+	}
+
+	/**
+	 * Removes a cell from the set, moving the last cell in its place.
+	 * 
+	 * @param cell
+	 *            the cell
+	 * @return true if the cell was in the set
+	 */
+	public boolean remove(int cell)
+	{
+		int n = positions[cell];
+		if (n < 0) return false;
+		int last = cells[--size];
+		cells[n] = last;
+		positions[last] = n;
+		positions[cell] = -1;
+		return true;
+	}
+
+	/**
+	 * Removes a uniformly random cell from the set.
+	 * 
+	 * @param random
+	 *            the source of randomness
+	 * @return the removed cell
+	 */
+	public int removeRandom(Random random)
+	{
+		if (size == 0) throw new RuntimeException("no cells available");
+		int cell = cells[random.nextInt(size)];
+		remove(cell);
+		return cell;
+	}
+
+	/**
+	 * Gets the number of cells in the set.
+	 * 
+	 * @return the number of cells
+	 */
+	public int size()
+	{
+		return size;
+	}
+}
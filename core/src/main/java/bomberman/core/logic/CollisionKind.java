@@ -0,0 +1,104 @@
+package bomberman.core.logic;
+
+/**
+ * The CollisionKind enum defines the kinds of {@link PhysicsEntity} and which kinds come in
+ * contact with each other. Two bodies whose kinds are not paired never touch: the
+ * {@link PhysicsBackend} neither collides them nor reports their contact.
+ * <p>
+ * The matrix is declared in {@link #PAIRS} and is symmetric. Each kind owns one bit of a
+ * category, its mask is the union of the categories it is paired with; these are the
+ * {@code Box2d} filter bits.
+ * 
+ * <pre>
+ *           GRID      BOMBER    ENEMY     BOMB      POWER_UP
+ * GRID                  x                  x
+ * BOMBER     x                    x        x           x
+ * ENEMY                 x         x        x           x
+ * BOMB       x          x         x        x
+ * POWER_UP              x         x
+ * </pre>
+ * 
+ * @author Federico Scozzafava
+ */
+public enum CollisionKind
+{
+
+	/**
+	 * The solid cells of the ground grid.
+	 */
+	GRID,
+
+	/**
+	 * The {@link Bomber}.
+	 */
+	BOMBER,
+
+	/**
+	 * The enemies, which change direction on any other entity.
+	 */
+	ENEMY,
+
+	/**
+	 * The {@link Bomb}s, which can be kicked against the grid and the other bombs.
+	 */
+	BOMB,
+
+	/**
+	 * The power ups, picked up by the {@link Bomber}.
+	 */
+	POWER_UP;
+
+	/**
+	 * The pairs of kinds that come in contact.
+	 */
+	private static final CollisionKind[][] PAIRS = { { GRID, BOMBER },
+			{ GRID, BOMB }, { BOMBER, ENEMY }, { BOMBER, BOMB },
+			{ BOMBER, POWER_UP }, { ENEMY, ENEMY }, { ENEMY, BOMB },
+			{ ENEMY, POWER_UP }, { BOMB, BOMB } };
+
+	static
+	{
+		for (CollisionKind[] p : PAIRS)
+		{
+			p[0].mask |= p[1].getCategory();
+			p[1].mask |= p[0].getCategory();
+		}
+	}
+
+	/**
+	 * The categories of the kinds this kind comes in contact with.
+	 */
+	private int mask;
+
+	/**
+	 * Returns a boolean value that indicates if this kind comes in contact with another one.
+	 * 
+	 * @param other
+	 *            the other kind
+	 * @return true if the two kinds are paired
+	 */
+	public boolean collides(CollisionKind other)
+	{
+		return (mask & other.getCategory()) != 0;
+	}
+
+	/**
+	 * Gets the category bit of this kind.
+	 * 
+	 * @return the category
+	 */
+	public int getCategory()
+	{
+		return 1 << ordinal();
+	}
+
+	/**
+	 * Gets the categories of the kinds this kind comes in contact with.
+	 * 
+	 * @return the mask
+	 */
+	public int getMask()
+	{
+		return mask;
+	}
+}
@@ -0,0 +1,211 @@
+package bomberman.core.logic;
+
+import bomberman.core.logic.enemy.Enemy;
+import bomberman.core.logic.powerUp.PowerUp;
+
+/**
+ * The CollisionRules class is the registry of the gameplay reactions to the contacts between
+ * two {@link PhysicsEntity} instances. A rule is registered for a pair of
+ * {@link CollisionKind}s and is found through a table indexed by their ordinals, so the
+ * {@link EntityEngine} dispatches a contact with two array reads instead of asking each
+ * entity what the other one is.
+ * <p>
+ * A rule registered for {@code (a, b)} serves {@code (b, a)} as well: its {@link Handler}
+ * always receives the entities in the order of the registration.
+ * 
+ * @author Federico Scozzafava
+ */
+public class CollisionRules
+{
+
+	/**
+	 * The Handler interface is the reaction to a contact.
+	 */
+	public interface Handler
+	{
+
+		/**
+		 * Reacts to the contact between two entities.
+		 * 
+		 * @param a
+		 *            the entity of the first {@link CollisionKind} of the rule
+		 * @param b
+		 *            the entity of the second {@link CollisionKind} of the rule
+		 */
+		public void handle(PhysicsEntity a, PhysicsEntity b);
+	}
+
+	/**
+	 * A {@link Bomber} running into an {@link Enemy} loses a life, and the enemy changes
+	 * direction.
+	 */
+	private static final Handler BOMBER_DIES = new Handler()
+	{
+		@Override
+		public void handle(PhysicsEntity a, PhysicsEntity b)
+		{
+			((Bomber) a).die();
+			((Enemy) b).changeDirection();
+		}
+	};
+
+	/**
+	 * A {@link Bomb} becomes solid once its {@link Bomber} steps off it.
+	 */
+	private static final Handler BOMB_SOLIDIFIES = new Handler()
+	{
+		@Override
+		public void handle(PhysicsEntity a, PhysicsEntity b)
+		{
+			((Bomb) a).solidify();
+		}
+	};
+
+	/**
+	 * Two {@link Enemy} instances running into each other both change direction.
+	 */
+	private static final Handler ENEMIES_TURN = new Handler()
+	{
+		@Override
+		public void handle(PhysicsEntity a, PhysicsEntity b)
+		{
+			((Enemy) a).changeDirection();
+			((Enemy) b).changeDirection();
+		}
+	};
+
+	/**
+	 * An {@link Enemy} running into another entity changes direction.
+	 */
+	private static final Handler ENEMY_TURNS = new Handler()
+	{
+		@Override
+		public void handle(PhysicsEntity a, PhysicsEntity b)
+		{
+			((Enemy) a).changeDirection();
+		}
+	};
+
+	/**
+	 * A {@link Bomber} picks up the {@link PowerUp} he walks on.
+	 */
+	private static final Handler POWER_UP_APPLIES = new Handler()
+	{
+		@Override
+		public void handle(PhysicsEntity a, PhysicsEntity b)
+		{
+			((PowerUp) b).apply((Bomber) a);
+		}
+	};
+
+	/**
+	 * Creates the rules of the game.
+	 * 
+	 * @return the new {@link CollisionRules}
+	 */
+	public static CollisionRules createDefault()
+	{
+		CollisionRules r = new CollisionRules();
+		r.register(CollisionKind.BOMBER, CollisionKind.ENEMY, BOMBER_DIES, null);
+		r.register(CollisionKind.BOMBER, CollisionKind.POWER_UP, POWER_UP_APPLIES,
+				null);
+		r.register(CollisionKind.BOMB, CollisionKind.BOMBER, null, BOMB_SOLIDIFIES);
+		r.register(CollisionKind.ENEMY, CollisionKind.ENEMY, ENEMIES_TURN, null);
+		r.register(CollisionKind.ENEMY, CollisionKind.BOMB, ENEMY_TURNS, null);
+		r.register(CollisionKind.ENEMY, CollisionKind.POWER_UP, ENEMY_TURNS, null);
+		return r;
+	}
+
+	/**
+	 * The reactions to the contacts that began, indexed by the ordinals of the two kinds.
+	 */
+	private final Handler[][] begins;
+
+	/**
+	 * The reactions to the contacts that ended, indexed by the ordinals of the two kinds.
+	 */
+	private final Handler[][] ends;
+
+	/**
+	 * Whether the rule of each pair of kinds was registered in the opposite order, so that
+	 * its {@link Handler} receives the entities swapped.
+	 */
+	private final boolean[][] reversed;
+
+	/**
+	 * Instantiates a new {@link CollisionRules} with no rules.
+	 */
+	public CollisionRules()
+	{
+		int n = CollisionKind.values().length;
+		begins = new Handler[n][n];
+		ends = new Handler[n][n];
+		reversed = new boolean[n][n];
+	}
+
+	/**
+	 * Reacts to the contact that began between two entities, if a rule exists for their
+	 * kinds.
+	 * 
+	 * @param a
+	 *            the first entity
+	 * @param b
+	 *            the second entity
+	 */
+	public void begin(PhysicsEntity a, PhysicsEntity b)
+	{
+		dispatch(begins, a, b);
+	}
+
+	/**
+	 * Passes two entities to the {@link Handler} of their kinds, in the order of its rule.
+	 */
+	private void dispatch(Handler[][] table, PhysicsEntity a, PhysicsEntity b)
+	{
+		int i = a.getCollisionKind().ordinal();
+		int j = b.getCollisionKind().ordinal();
+		Handler h = table[i][j];
+		if (h == null) return;
+		if (reversed[i][j])
+			h.handle(b, a);
+		else
+			h.handle(a, b);
+	}
+
+	/**
+	 * Reacts to the contact that ended between two entities, if a rule exists for their
+	 * kinds.
+	 * 
+	 * @param a
+	 *            the first entity
+	 * @param b
+	 *            the second entity
+	 */
+	public void end(PhysicsEntity a, PhysicsEntity b)
+	{
+		dispatch(ends, a, b);
+	}
+
+	/**
+	 * Registers the rule of a pair of kinds, replacing the previous one.
+	 * 
+	 * @param a
+	 *            the first {@link CollisionKind}
+	 * @param b
+	 *            the second {@link CollisionKind}
+	 * @param begin
+	 *            the reaction to the contacts that began, null if none
+	 * @param end
+	 *            the reaction to the contacts that ended, null if none
+	 */
+	public void register(CollisionKind a, CollisionKind b, Handler begin,
+			Handler end)
+	{
+		int i = a.ordinal();
+		int j = b.ordinal();
+		begins[i][j] = begins[j][i] = begin;
+		ends[i][j] = ends[j][i] = end;
+		reversed[i][j] = false;
+		reversed[j][i] = i != j;
+	}
+}
@@ -0,0 +1,505 @@
+package bomberman.core.logic;
+
+import java.util.Arrays;
+
+/**
+ * The ComponentStore class holds the components of the registered {@link Entity} instances as
+ * parallel arrays of primitives, indexed by the slot of the entity's handle. While an entity is
+ * registered in the {@link EntityEngine} its position, velocity, physics body, lives,
+ * {@link State}, speed and {@link MoveStrategy} live here and the entity itself is only a
+ * facade over its slot, so systems can sweep a component over all the entities with a plain
+ * linear loop. The {@link EntityEngine} runs three of them every tick:
+ * {@link #savePositions()}, {@link #followBodies(PhysicsBackend)} before the entities are
+ * updated and {@link #applyVelocities(PhysicsBackend)} after.
+ * <p>
+ * An entity copies its fields into the store when it is attached and copies them back when it is
+ * detached, so an unregistered entity (a {@link Bomber} between two rounds, for instance) keeps
+ * its state.
+ * <p>
+ * The position of the previous tick is kept as well, so that drawing can interpolate between
+ * two ticks of the simulation.
+ * 
+ * @author Federico Scozzafava
+ */
+public class ComponentStore
+{
+
+	/**
+	 * The {@link State} constants, indexed by ordinal.
+	 */
+	private static final State[] STATES = State.values();
+
+	/**
+	 * The id of the physics body of each slot, -1 if none.
+	 */
+	private int[] body = new int[16];
+
+	/**
+	 * The number of slots in use, every slot from here on is empty.
+	 */
+	private int capacity;
+
+	/**
+	 * Whether each slot is dormant, left out of the per tick update.
+	 */
+	private boolean[] dormant = new boolean[16];
+
+	/**
+	 * The lives of each slot.
+	 */
+	private int[] lives = new int[16];
+
+	/**
+	 * The x position in pixels of each slot at the previous tick.
+	 */
+	private float[] previousX = new float[16];
+
+	/**
+	 * The y position in pixels of each slot at the previous tick.
+	 */
+	private float[] previousY = new float[16];
+
+	/**
+	 * The speed of each slot.
+	 */
+	private float[] speed = new float[16];
+
+	/**
+	 * The ordinal of the {@link State} of each slot.
+	 */
+	private byte[] state = new byte[16];
+
+	/**
+	 * Whether the velocity of each slot was set since it was last handed to the physics.
+	 */
+	private boolean[] steered = new boolean[16];
+
+	/**
+	 * The {@link MoveStrategy} of each slot, null if none.
+	 */
+	private MoveStrategy[] strategy = new MoveStrategy[16];
+
+	/**
+	 * The x velocity of each slot, in {@code Box2d} units.
+	 */
+	private float[] vx = new float[16];
+
+	/**
+	 * The y velocity of each slot, in {@code Box2d} units.
+	 */
+	private float[] vy = new float[16];
+
+	/**
+	 * The x position in pixels of each slot.
+	 */
+	private float[] x = new float[16];
+
+	/**
+	 * The y position in pixels of each slot.
+	 */
+	private float[] y = new float[16];
+
+	/**
+	 * Instantiates a new empty {@link ComponentStore}.
+	 */
+	public ComponentStore()
+	{
+		Arrays.fill(body, -1);
+	}
+
+	/**
+	 * The steering system: hands the velocity set since the last tick of every slot to its
+	 * physics body. Called after the entities are updated, before the physics step.
+	 * 
+	 * @param physics
+	 *            the {@link PhysicsBackend}
+	 */
+	void applyVelocities(PhysicsBackend physics)
+	{
+		for (int i = 0; i < capacity; i++)
+		{
+			if (!steered[i]) continue;
+			steered[i] = false;
+			if (body[i] >= 0) physics.setVelocity(body[i], vx[i], vy[i]);
+		}
+	}
+
+	/**
+	 * Clears the components of a slot.
+	 * 
+	 * @param slot
+	 *            the slot
+	 */
+	void clear(int slot)
+	{
+		body[slot] = -1;
+		dormant[slot] = false;
+		steered[slot] = false;
+		strategy[slot] = null;
+	}
+
+	/**
+	 * The movement system: moves every slot that is not dormant and has a body to the
+	 * position its body reached in the last physics step, rounded to whole pixels, and puts the
+	 * body on the rounded position. Called before the entities are updated, so that they all
+	 * see the result of the step.
+	 * 
+	 * @param physics
+	 *            the {@link PhysicsBackend}
+	 */
+	void followBodies(PhysicsBackend physics)
+	{
+		for (int i = 0; i < capacity; i++)
+		{
+			int b = body[i];
+			if (b < 0 || dormant[i]) continue;
+			float px = Math.round(physics.getX(b));
+			float py = Math.round(physics.getY(b));
+			x[i] = px;
+			y[i] = py;
+			physics.setPosition(b, px, py);
+		}
+	}
+
+	/**
+	 * Gets the physics body of a slot.
+	 * 
+	 * @param slot
+	 *            the slot
+	 * @return the id of the body, -1 if none
+	 */
+	public int getBody(int slot)
+	{
+		return body[slot];
+	}
+
+	/**
+	 * Gets the lives of a slot.
+	 * 
+	 * @param slot
+	 *            the slot
+	 * @return the lives
+	 */
+	public int getLives(int slot)
+	{
+		return lives[slot];
+	}
+
+	/**
+	 * Gets the speed of a slot.
+	 * 
+	 * @param slot
+	 *            the slot
+	 * @return the speed
+	 */
+	public float getSpeed(int slot)
+	{
+		return speed[slot];
+	}
+
+	/**
+	 * Gets the {@link State} of a slot.
+	 * 
+	 * @param slot
+	 *            the slot
+	 * @return the state
+	 */
+	public State getState(int slot)
+	{
+		return STATES[state[slot]];
+	}
+
+	/**
+	 * Gets the {@link MoveStrategy} of a slot.
+	 * 
+	 * @param slot
+	 *            the slot
+	 * @return the strategy, null if none
+	 */
+	public MoveStrategy getStrategy(int slot)
+	{
+		return strategy[slot];
+	}
+
+	/**
+	 * Gets the x velocity of a slot.
+	 * 
+	 * @param slot
+	 *            the slot
+	 * @return the x velocity in {@code Box2d} units
+	 */
+	public float getVelocityX(int slot)
+	{
+		return vx[slot];
+	}
+
+	/**
+	 * Gets the y velocity of a slot.
+	 * 
+	 * @param slot
+	 *            the slot
+	 * @return the y velocity in {@code Box2d} units
+	 */
+	public float getVelocityY(int slot)
+	{
+		return vy[slot];
+	}
+
+	/**
+	 * Gets the x position of a slot.
+	 * 
+	 * @param slot
+	 *            the slot
+	 * @return the x position in pixels
+	 */
+	public float getX(int slot)
+	{
+		return x[slot];
+	}
+
+	/**
+	 * Gets the x position of a slot, interpolated between the previous tick and the current
+	 * one.
+	 * 
+	 * @param slot
+	 *            the slot
+	 * @param alpha
+	 *            the fraction of tick elapsed since the current one, between 0 and 1
+	 * @return the x position in pixels
+	 */
+	public float getX(int slot, float alpha)
+	{
+		return previousX[slot] + (x[slot] - previousX[slot]) * alpha;
+	}
+
+	/**
+	 * Gets the y position of a slot.
+	 * 
+	 * @param slot
+	 *            the slot
+	 * @return the y position in pixels
+	 */
+	public float getY(int slot)
+	{
+		return y[slot];
+	}
+
+	/**
+	 * Gets the y position of a slot, interpolated between the previous tick and the current
+	 * one.
+	 * 
+	 * @param slot
+	 *            the slot
+	 * @param alpha
+	 *            the fraction of tick elapsed since the current one, between 0 and 1
+	 * @return the y position in pixels
+	 */
+	public float getY(int slot, float alpha)
+	{
+		return previousY[slot] + (y[slot] - previousY[slot]) * alpha;
+	}
+
+	/**
+	 * Returns a boolean value that indicates if a slot is dormant.
+	 * 
+	 * @param slot
+	 *            the slot
+	 * @return true if the slot is dormant
+	 */
+	public boolean isDormant(int slot)
+	{
+		return dormant[slot];
+	}
+
+	/**
+	 * Makes room for the given slot, growing the arrays if needed.
+	 * 
+	 * @param slot
+	 *            the slot
+	 */
+	void reserve(int slot)
+	{
+		if (slot >= capacity) capacity = slot + 1;
+		if (slot < x.length) return;
+		int n = Math.max(slot + 1, x.length * 2);
+		int[] b = new int[n];
+		System.arraycopy(body, 0, b, 0, body.length);
+		Arrays.fill(b, body.length, n, -1);
+		body = b;
+		boolean[] d = new boolean[n];
+		System.arraycopy(dormant, 0, d, 0, dormant.length);
+		dormant = d;
+		int[] l = new int[n];
+		System.arraycopy(lives, 0, l, 0, lives.length);
+		lives = l;
+		float[] px = new float[n];
+		System.arraycopy(previousX, 0, px, 0, previousX.length);
+		previousX = px;
+		float[] py = new float[n];
+		System.arraycopy(previousY, 0, py, 0, previousY.length);
+		previousY = py;
+		float[] sp = new float[n];
+		System.arraycopy(speed, 0, sp, 0, speed.length);
+		speed = sp;
+		byte[] st = new byte[n];
+		System.arraycopy(state, 0, st, 0, state.length);
+		state = st;
+		boolean[] sd = new boolean[n];
+		System.arraycopy(steered, 0, sd, 0, steered.length);
+		steered = sd;
+		MoveStrategy[] ms = new MoveStrategy[n];
+		System.arraycopy(strategy, 0, ms, 0, strategy.length);
+		strategy = ms;
+		float[] vxs = new float[n];
+		System.arraycopy(vx, 0, vxs, 0, vx.length);
+		vx = vxs;
+		float[] vys = new float[n];
+		System.arraycopy(vy, 0, vys, 0, vy.length);
+		vy = vys;
+		float[] fx = new float[n];
+		System.arraycopy(x, 0, fx, 0, x.length);
+		x = fx;
+		float[] fy = new float[n];
+		System.arraycopy(y, 0, fy, 0, y.length);
+		y = fy;
+	}
+
+	/**
+	 * The interpolation system: saves the position of every slot as the position of the
+	 * previous tick. Called at the beginning of each tick.
+	 */
+	void savePositions()
+	{
+		System.arraycopy(x, 0, previousX, 0, capacity);
+		System.arraycopy(y, 0, previousY, 0, capacity);
+	}
+
+	/**
+	 * Sets the physics body of a slot.
+	 * 
+	 * @param slot
+	 *            the slot
+	 * @param b
+	 *            the id of the body, -1 if none
+	 */
+	void setBody(int slot, int b)
+	{
+		body[slot] = b;
+	}
+
+	/**
+	 * Sets whether a slot is dormant.
+	 * 
+	 * @param slot
+	 *            the slot
+	 * @param d
+	 *            true if the slot is dormant
+	 */
+	void setDormant(int slot, boolean d)
+	{
+		dormant[slot] = d;
+	}
+
+	/**
+	 * Sets the lives of a slot.
+	 * 
+	 * @param slot
+	 *            the slot
+	 * @param n
+	 *            the lives
+	 */
+	void setLives(int slot, int n)
+	{
+		lives[slot] = n;
+	}
+
+	/**
+	 * Sets the position of a slot.
+	 * 
+	 * @param slot
+	 *            the slot
+	 * @param px
+	 *            the x position in pixels
+	 * @param py
+	 *            the y position in pixels
+	 */
+	void setPosition(int slot, float px, float py)
+	{
+		x[slot] = px;
+		y[slot] = py;
+	}
+
+	/**
+	 * Sets the position of a slot, both at the current and at the previous tick, so that it
+	 * is drawn there without interpolation.
+	 * 
+	 * @param slot
+	 *            the slot
+	 * @param px
+	 *            the x position in pixels
+	 * @param py
+	 *            the y position in pixels
+	 */
+	void placeAt(int slot, float px, float py)
+	{
+		x[slot] = previousX[slot] = px;
+		y[slot] = previousY[slot] = py;
+	}
+
+	/**
+	 * Sets the speed of a slot.
+	 * 
+	 * @param slot
+	 *            the slot
+	 * @param s
+	 *            the speed
+	 */
+	void setSpeed(int slot, float s)
+	{
+		speed[slot] = s;
+	}
+
+	/**
+	 * Sets the {@link State} of a slot.
+	 * 
+	 * @param slot
+	 *            the slot
+	 * @param s
+	 *            the state
+	 */
+	void setState(int slot, State s)
+	{
+		state[slot] = (byte) s.ordinal();
+	}
+
+	/**
+	 * Sets the {@link MoveStrategy} of a slot.
+	 * 
+	 * @param slot
+	 *            the slot
+	 * @param s
+	 *            the strategy, null if none
+	 */
+	void setStrategy(int slot, MoveStrategy s)
+	{
+		strategy[slot] = s;
+	}
+
+	/**
+	 * Sets the velocity of a slot, handed to its physics body by
+	 * {@link #applyVelocities(PhysicsBackend)}.
+	 * 
+	 * @param slot
+	 *            the slot
+	 * @param x
+	 *            the x velocity in {@code Box2d} units
+	 * @param y
+	 *            the y velocity in {@code Box2d} units
+	 */
+	void setVelocity(int slot, float x, float y)
+	{
+		vx[slot] = x;
+		vy[slot] = y;
+		steered[slot] = true;
+	}
+}
@@ -0,0 +1,259 @@
+package bomberman.core.logic;
+
+import java.util.Arrays;
+
+/**
+ * The ContactRing class is a ring buffer of contacts between two {@link PhysicsEntity}
+ * instances, used by the {@link Box2dBackend} to hold the contacts reported by {@code Box2d}
+ * until the step is over. The pairs are copied in preallocated arrays, so recording and
+ * dispatching a contact allocates nothing, and a pair already queued is not queued again.
+ * <p>
+ * The queued pairs are also kept in an open addressed set, hashed by the identity of their
+ * entities in either order, so telling a pair already queued costs a probe or two however
+ * many contacts the step has. A dispatched pair leaves a dead slot behind, the set is emptied
+ * whenever the ring is and rebuilt when the dead slots fill half of it.
+ * <p>
+ * A contact may be queued while the ring is being drained, a listener changing a body can
+ * make {@code Box2d} report a contact outside of the step.
+ * 
+ * @author Federico Scozzafava
+ */
+class ContactRing
+{
+
+	/**
+	 * The state of a slot of the set that never held a pair since the set was emptied.
+	 */
+	private static final byte FREE = 0;
+
+	/**
+	 * The state of a slot of the set holding a queued pair.
+	 */
+	private static final byte LIVE = 1;
+
+	/**
+	 * The state of a slot of the set whose pair was dispatched.
+	 */
+	private static final byte DEAD = 2;
+
+	/**
+	 * Hashes a pair the same way in either order.
+	 * 
+	 * @param a
+	 *            the first entity
+	 * @param b
+	 *            the second entity
+	 * @return the hash
+	 */
+	private static int hash(PhysicsEntity a, PhysicsEntity b)
+	{
+		int h = (System.identityHashCode(a) + System.identityHashCode(b)) * 0x9E3779B9;
+		return h ^ h >>> 16;
+	}
+
+	/**
+	 * The first entity of each queued pair.
+	 */
+	private PhysicsEntity[] entitiesA = new PhysicsEntity[64];
+
+	/**
+	 * The second entity of each queued pair.
+	 */
+	private PhysicsEntity[] entitiesB = new PhysicsEntity[64];
+
+	/**
+	 * The position of the oldest queued pair.
+	 */
+	private int head;
+
+	/**
+	 * The first entity of the pair in each slot of the set.
+	 */
+	private PhysicsEntity[] keysA = new PhysicsEntity[256];
+
+	/**
+	 * The second entity of the pair in each slot of the set.
+	 */
+	private PhysicsEntity[] keysB = new PhysicsEntity[256];
+
+	/**
+	 * The number of queued pairs.
+	 */
+	private int size;
+
+	/**
+	 * The slot of the set holding each queued pair.
+	 */
+	private int[] slots = new int[64];
+
+	/**
+	 * The state of each slot of the set.
+	 */
+	private byte[] states = new byte[256];
+
+	/**
+	 * The number of slots of the set that are not {@link #FREE}.
+	 */
+	private int used;
+
+	/**
+	 * Removes all the queued pairs.
+	 */
+	void clear()
+	{
+		while (size > 0)
+			pop();
+		head = 0;
+	}
+
+	/**
+	 * Passes the queued pairs to the given {@link PhysicsBackend.Listener}, oldest first,
+	 * until the ring is empty.
+	 * 
+	 * @param listener
+	 *            the {@link PhysicsBackend.Listener}
+	 * @param begin
+	 *            true to report the pairs as contacts that began, false as contacts that
+	 *            ended
+	 */
+	void drain(PhysicsBackend.Listener listener, boolean begin)
+	{
+		while (size > 0)
+		{
+			PhysicsEntity a = entitiesA[head];
+			PhysicsEntity b = entitiesB[head];
+			pop();
+			if (begin)
+				listener.beginContact(a, b);
+			else
+				listener.endContact(a, b);
+		}
+	}
+
+	/**
+	 * Doubles the capacity of the ring, moving the queued pairs at the beginning, and of the
+	 * set.
+	 */
+	private void grow()
+	{
+		int n = entitiesA.length;
+		PhysicsEntity[] a = new PhysicsEntity[n * 2];
+		PhysicsEntity[] b = new PhysicsEntity[n * 2];
+		for (int i = 0; i < size; i++)
+		{
+			a[i] = entitiesA[head + i & n - 1];
+			b[i] = entitiesB[head + i & n - 1];
+		}
+		entitiesA = a;
+		entitiesB = b;
+		slots = new int[n * 2];
+		head = 0;
+		keysA = new PhysicsEntity[n * 8];
+		keysB = new PhysicsEntity[n * 8];
+		states = new byte[n * 8];
+		rehash();
+	}
+
+	/**
+	 * Puts a pair in the first {@link #FREE} slot of its probe sequence.
+	 * 
+	 * @param a
+	 *            the first entity
+	 * @param b
+	 *            the second entity
+	 * @return the slot
+	 */
+	private int insert(PhysicsEntity a, PhysicsEntity b)
+	{
+		int mask = states.length - 1;
+		int s = hash(a, b) & mask;
+		while (states[s] != FREE)
+			s = s + 1 & mask;
+		keysA[s] = a;
+		keysB[s] = b;
+		states[s] = LIVE;
+		used++;
+		return s;
+	}
+
+	/**
+	 * Returns a boolean value that indicates if a pair is queued, in either order.
+	 * 
+	 * @param a
+	 *            the first entity
+	 * @param b
+	 *            the second entity
+	 * @return true, if queued
+	 */
+	private boolean isQueued(PhysicsEntity a, PhysicsEntity b)
+	{
+		int mask = states.length - 1;
+		for (int s = hash(a, b) & mask; states[s] != FREE; s = s + 1 & mask)
+			if (states[s] == LIVE
+					&& (keysA[s] == a && keysB[s] == b || keysA[s] == b && keysB[s] == a))
+				return true;
+		return false;
+	}
+
+	/**
+	 * Removes the oldest queued pair.
+	 */
+	private void pop()
+	{
+		int s = slots[head];
+		keysA[s] = null;
+		keysB[s] = null;
+		states[s] = DEAD;
+		entitiesA[head] = null;
+		entitiesB[head] = null;
+		head = head + 1 & entitiesA.length - 1;
+		if (--size == 0 && used > 0)
+		{
+			Arrays.fill(states, FREE);
+			used = 0;
+		}
+	}
+
+	/**
+	 * Queues a pair, unless one of the entities is null or the same pair is already queued in
+	 * either order.
+	 * 
+	 * @param a
+	 *            the first entity
+	 * @param b
+	 *            the second entity
+	 */
+	void push(PhysicsEntity a, PhysicsEntity b)
+	{
+		if (a == null || b == null || isQueued(a, b)) return;
+		if (size == entitiesA.length)
+			grow();
+		else if ((used + 1) * 2 > states.length)
+		{
+			// too many dead slots, the probe sequences would get long
+			Arrays.fill(keysA, null);
+			Arrays.fill(keysB, null);
+			Arrays.fill(states, FREE);
+			rehash();
+		}
+		int tail = head + size & entitiesA.length - 1;
+		entitiesA[tail] = a;
+		entitiesB[tail] = b;
+		slots[tail] = insert(a, b);
+		size++;
+	}
+
+	/**
+	 * Puts the queued pairs in the set, which must be empty.
+	 */
+	private void rehash()
+	{
+		used = 0;
+		int mask = entitiesA.length - 1;
+		for (int i = 0; i < size; i++)
+		{
+			int j = head + i & mask;
+			slots[j] = insert(entitiesA[j], entitiesB[j]);
+		}
+	}
+}
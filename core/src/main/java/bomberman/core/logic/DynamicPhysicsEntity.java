@@ -1,17 +1,11 @@
 package bomberman.core.logic;
 
-import org.jbox2d.collision.shapes.CircleShape;
-import org.jbox2d.common.Vec2;
-import org.jbox2d.dynamics.Body;
-import org.jbox2d.dynamics.BodyDef;
-import org.jbox2d.dynamics.BodyType;
-import org.jbox2d.dynamics.FixtureDef;
 import bomberman.core.util.Constants;
 import bomberman.core.util.Vector2;
 
 /**
- * The subclass of {@link Entity} that handles interactions with the {@code Box2d}
- * physics engine and updates the state of the entity as time passes.
+ * The subclass of {@link Entity} that handles interactions with the
+ * {@link PhysicsBackend} and updates the state of the entity as time passes.
  * 
  * @see LogicWorld
  */
@@ -19,28 +13,38 @@ public abstract class DynamicPhysicsEntity extends Entity implements
 		PhysicsEntity
 {
 
+	/**
+	 * How far inside the body, in pixels, the bounding box checked for flames lies.
+	 */
+	private static final float FIRE_INSET = 1f;
+
 	/**
 	 * The {@link LogicWorld}
 	 */
 	private LogicWorld logicWorld;
 	/**
-	 * The physics body associated with the entity that is used the physics
-	 * simulating for calculating motion and collisions.
+	 * The id of the physics body associated with the entity that is used the physics
+	 * simulating for calculating motion and collisions, -1 if it was destroyed.
 	 */
-	private Body body;
+	private int body = -1;
 	
 	/**
-	 * The box2d scale factor.
+	 * The box2d scale factor, speeds are expressed in {@code Box2d} units.
 	 */
 	private float box2dScale = Constants.BOX2D_WORLD_SCALE;
 	
 	/**
-	 * The {@link Body} height.
+	 * The last flame that reached this entity, 0 if none.
+	 */
+	private int flame;
+
+	/**
+	 * The body height.
 	 */
 	private float height;
 	
 	/**
-	 * The {@code Box2d} parameter that indicates if the {@link Body} associated to
+	 * The parameter that indicates if the body associated to
 	 * this {@link DynamicPhysicsEntity} should interact and be affected by colliding
 	 * with other entities and static bodies. If true, although the body's physics is not 
 	 * affected by the world, the relative {@link PhysicsEntity.ContactListener} is still listening for
@@ -49,14 +53,24 @@ public abstract class DynamicPhysicsEntity extends Entity implements
 	 * @see http://www.box2d.org/manual.html#_Toc258082972
 	 */
 	private boolean isSensor;
+
+	/**
+	 * Whether the body can be pushed by the other bodies.
+	 */
+	private boolean movable = true;
 	
 	/**
-	 * The {@link Body} speed.
+	 * The body speed.
 	 */
 	private float speed;
+
+	/**
+	 * The {@link MoveStrategy} driving the entity, null if none.
+	 */
+	private MoveStrategy strategy;
 	
 	/**
-	 * The {@link Body} width.
+	 * The body width.
 	 */
 	private float width;
 
@@ -74,7 +88,7 @@ public abstract class DynamicPhysicsEntity extends Entity implements
 	 * @param speed
 	 *            the entity's speed
 	 * @param isSensor
-	 *            The {@code Box2d} parameter that indicates if the {@link Body} associated to
+	 *            The parameter that indicates if the body associated to
 	 * this {@link DynamicPhysicsEntity} should interact and be affected by colliding
 	 * with other entities and static bodies. If true, although the body's physics is not 
 	 * affected by the world, the relative {@link PhysicsEntity.ContactListener} <b>is still listening 
@@ -104,7 +118,7 @@ public abstract class DynamicPhysicsEntity extends Entity implements
 	 * @param speed
 	 *            the entity's speed
 	 * @param isSensor
-	 *            The {@code Box2d} parameter that indicates if the {@link Body} associated to
+	 *            The parameter that indicates if the body associated to
 	 * this {@link DynamicPhysicsEntity} should interact and be affected by colliding
 	 * with other entities and static bodies. If true, although the body's physics is not 
 	 * affected by the world, the relative {@link PhysicsEntity.ContactListener} <b>is still listening 
@@ -142,10 +156,23 @@ public abstract class DynamicPhysicsEntity extends Entity implements
 	}
 
 	/**
-	 * {@inheritDoc}
+	 * Destroys the body of the entity. Called by the {@link EntityEngine} when the entity is
+	 * removed, the body is created again by {@link #reset()}.
 	 */
-	@Override
-	public Body getBody()
+	void destroyBody()
+	{
+		if (body < 0) return;
+		logicWorld.getPhysics().destroyBody(body);
+		body = -1;
+		if (getComponents() != null) getComponents().setBody(getSlot(), -1);
+	}
+
+	/**
+	 * Gets the id of the body in the {@link PhysicsBackend}.
+	 * 
+	 * @return the id, -1 if the body was destroyed
+	 */
+	public int getBody()
 	{
 		return body;
 	}
@@ -165,7 +192,9 @@ public abstract class DynamicPhysicsEntity extends Entity implements
 	@Override
 	public Vector2 getBodyPosition()
 	{
-		return new Vector2(body.getPosition()).mul(box2dScale).toInt();
+		if (body < 0) return getPosition();
+		PhysicsBackend physics = logicWorld.getPhysics();
+		return new Vector2(physics.getX(body), physics.getY(body)).toInt();
 	}
 
 	/* (non-Javadoc)
@@ -174,7 +203,9 @@ public abstract class DynamicPhysicsEntity extends Entity implements
 	@Override
 	public Vector2 getBodyRealPosition()
 	{
-		return new Vector2(body.getPosition());
+		if (body < 0) return getScaledPosition();
+		PhysicsBackend physics = logicWorld.getPhysics();
+		return new Vector2(physics.getX(body), physics.getY(body)).div(box2dScale);
 	}
 
 	/* (non-Javadoc)
@@ -187,6 +218,20 @@ public abstract class DynamicPhysicsEntity extends Entity implements
 				new Vector2(getDimension() / 2f, getDimension()));
 	}
 
+	/**
+	 * Gets the bottom center of the entity, interpolated between the previous tick and the
+	 * current one.
+	 * 
+	 * @param alpha
+	 *            the fraction of tick elapsed since the current one, between 0 and 1
+	 * @return the bottom center in pixels
+	 */
+	public Vector2 getBottomCenter(float alpha)
+	{
+		return getPosition(alpha).add(
+				new Vector2(getDimension() / 2f, getDimension()));
+	}
+
 	// @Override
 	// public Vector2 getBodyCenter() { return getPosition().add(new
 	// Vector2(width/2f, height/2f));}
@@ -218,24 +263,64 @@ public abstract class DynamicPhysicsEntity extends Entity implements
 	}
 
 	/**
-	 * Initialize the {@code Box2d} body.
+	 * Initialize the physics body.
 	 */
 	private void initBody()
 	{
-		BodyDef bd = new BodyDef();
-		bd.type = BodyType.DYNAMIC;
-		bd.position.set(getScaledPosition().getVec2());
-		CircleShape shape = new CircleShape();
-		shape.setRadius(Constants.FIXED_SQUARE_SIZE / 2.5f / box2dScale);
-		height = width = shape.getRadius() * 2 * box2dScale;
-		FixtureDef fd = new FixtureDef();
-		fd.friction = 0;
-		fd.isSensor = isSensor;
-		fd.shape = shape;
-		body = logicWorld.getWorld().createBody(bd);
-		body.createFixture(fd);
+		float radius = Constants.FIXED_SQUARE_SIZE / 2.5f;
+		height = width = radius * 2;
+		Vector2 pos = getPosition();
+		body = logicWorld.getPhysics().createBody(this, pos.getX(), pos.getY(),
+				radius, isSensor);
+		if (!movable) logicWorld.getPhysics().setMovable(body, false);
+		if (getComponents() != null) getComponents().setBody(getSlot(), body);
 	}
 	
+	/* (non-Javadoc)
+	 * @see bomberman.core.logic.Entity#attach(bomberman.core.logic.ComponentStore, int)
+	 */
+	@Override
+	void attach(ComponentStore c, int s)
+	{
+		super.attach(c, s);
+		c.setBody(s, body);
+		c.setSpeed(s, speed);
+		c.setStrategy(s, strategy);
+	}
+
+	/* (non-Javadoc)
+	 * @see bomberman.core.logic.Entity#detach()
+	 */
+	@Override
+	void detach()
+	{
+		speed = getComponents().getSpeed(getSlot());
+		strategy = getComponents().getStrategy(getSlot());
+		super.detach();
+	}
+
+	/**
+	 * Gets the {@link MoveStrategy} driving the entity.
+	 * 
+	 * @return the {@link MoveStrategy}, null if none
+	 */
+	protected MoveStrategy getMoveStrategy()
+	{
+		ComponentStore c = getComponents();
+		return c == null ? strategy : c.getStrategy(getSlot());
+	}
+
+	/**
+	 * Gets the speed.
+	 * 
+	 * @return the speed
+	 */
+	public float getSpeed()
+	{
+		ComponentStore c = getComponents();
+		return c == null ? speed : c.getSpeed(getSlot());
+	}
+
 	/**
 	 * Increase the speed.
 	 * 
@@ -244,19 +329,21 @@ public abstract class DynamicPhysicsEntity extends Entity implements
 	 */
 	public void increaseSpeed(float increment)
 	{
+		float speed = getSpeed();
 		if (speed == Constants.BOMBERMAN_MAX_SPEED || increment < 0
 				&& speed == Constants.BOMBERMAN_MIN_SPEED) return;
-		speed += increment;
+		setSpeed(speed + increment);
 	}
 
 	/**
-	 * Moves the {@link Body} by setting its linear velocity.
+	 * Moves the body by setting its linear velocity.
 	 * 
 	 * @param d
 	 *            the {@link Direction} in which to move
 	 */
 	public void move(Direction d)
 	{
+		float speed = getSpeed();
 		float x = 0;
 		float y = 0;
 		switch (d)
@@ -278,11 +365,11 @@ public abstract class DynamicPhysicsEntity extends Entity implements
 			setState(State.RIGHT);
 			break;
 		}
-		getBody().setLinearVelocity(new Vec2(x, y));
+		setVelocity(x, y);
 	}
 
 	/**
-	 * Moves the {@link Body} by setting its linear velocity.
+	 * Moves the body by setting its linear velocity.
 	 * 
 	 * @param x
 	 *            the x position where to move in pixels
@@ -295,13 +382,14 @@ public abstract class DynamicPhysicsEntity extends Entity implements
 	}
 
 	/**
-	 * Moves the {@link Body} by setting its linear velocity.
+	 * Moves the body by setting its linear velocity.
 	 * 
 	 * @param v
 	 *            the {@link Vector2} representing the position where to move
 	 */
 	public void move(Vector2 v)
 	{
+		float speed = getSpeed();
 		Vector2 actualPos = getPosition();
 		float x = 0;
 		float y = 0;
@@ -325,7 +413,17 @@ public abstract class DynamicPhysicsEntity extends Entity implements
 			y = speed * Constants.IMPULSE_ACTION;
 			setState(State.DOWN);
 		}
-		getBody().setLinearVelocity(new Vec2(x, y));
+		setVelocity(x, y);
+	}
+
+	/**
+	 * Returns a boolean value that indicates if the body can be pushed by the other bodies.
+	 * 
+	 * @return true if the body can be pushed
+	 */
+	public boolean isMovable()
+	{
+		return movable;
 	}
 
 	/* (non-Javadoc)
@@ -335,7 +433,7 @@ public abstract class DynamicPhysicsEntity extends Entity implements
 	public void reset()
 	{
 		super.reset();
-		if (body.getFixtureList() == null) initBody();
+		if (body < 0) initBody();
 	}
 
 	/* (non-Javadoc)
@@ -349,7 +447,22 @@ public abstract class DynamicPhysicsEntity extends Entity implements
 	}
 
 	/**
-	 * Sets the position of this entity.
+	 * Sets the {@link MoveStrategy} driving the entity.
+	 * 
+	 * @param s
+	 *            the {@link MoveStrategy}, null if none
+	 */
+	protected void setMoveStrategy(MoveStrategy s)
+	{
+		ComponentStore c = getComponents();
+		if (c == null)
+			strategy = s;
+		else
+			c.setStrategy(getSlot(), s);
+	}
+
+	/**
+	 * Sets the position of this entity, moving its body with it.
 	 * 
 	 * @param x
 	 *            the x position in pixels
@@ -360,11 +473,94 @@ public abstract class DynamicPhysicsEntity extends Entity implements
 	public void setPosition(float x, float y)
 	{
 		super.setPosition(x, y);
-		getBody().setTransform(getScaledPosition().getVec2(), 0);
+		if (body >= 0) logicWorld.getPhysics().setPosition(body, x, y);
+	}
+
+	/**
+	 * Sets whether the body can be pushed by the other bodies.
+	 * 
+	 * @param movable
+	 *            true if the body can be pushed, false if it stays in place
+	 */
+	public void setMovable(boolean movable)
+	{
+		this.movable = movable;
+		if (body >= 0) logicWorld.getPhysics().setMovable(body, movable);
+		// a body that can be pushed has to follow its physics every tick
+		if (movable) wake();
+	}
+
+	/**
+	 * Sets whether the body detects contacts without colliding.
+	 * 
+	 * @param sensor
+	 *            true if the body is a sensor
+	 */
+	public void setSensor(boolean sensor)
+	{
+		isSensor = sensor;
+		if (body >= 0) logicWorld.getPhysics().setSensor(body, sensor);
+	}
+
+	/**
+	 * Sets the speed.
+	 * 
+	 * @param s
+	 *            the speed
+	 */
+	private void setSpeed(float s)
+	{
+		ComponentStore c = getComponents();
+		if (c == null)
+			speed = s;
+		else
+			c.setSpeed(getSlot(), s);
+	}
+
+	/**
+	 * Sets the linear velocity of the body. While the entity is registered the velocity is
+	 * kept in its {@link ComponentStore} and handed to the body at the end of the update.
+	 * 
+	 * @param x
+	 *            the x velocity in {@code Box2d} units
+	 * @param y
+	 *            the y velocity in {@code Box2d} units
+	 */
+	private void setVelocity(float x, float y)
+	{
+		if (body < 0) return;
+		ComponentStore c = getComponents();
+		if (c == null)
+			logicWorld.getPhysics().setVelocity(body, x * box2dScale, y * box2dScale);
+		else
+			c.setVelocity(getSlot(), x * box2dScale, y * box2dScale);
+	}
+
+	/**
+	 * Called when a flame reaches the cell of this entity. Does nothing by default.
+	 */
+	protected void burn()
+	{}
+
+	/**
+	 * Checks the fire layer of the {@link LogicWorld} under the body of this entity, calling
+	 * {@link #burn()} once for every flame that reaches it. As with the fire bodies it
+	 * replaces, a flame reaches the entity as soon as the body overlaps its cell, so the
+	 * cells under the four corners of the body's bounding box are checked. The box is shrunk
+	 * by {@link #FIRE_INSET} so that a body merely touching a burning cell is not reached.
+	 */
+	protected void checkFire()
+	{
+		Vector2 p = getPosition();
+		int f = logicWorld.getFlameIn(p.getX() + FIRE_INSET, p.getY() + FIRE_INSET,
+				p.getX() + width - FIRE_INSET, p.getY() + height - FIRE_INSET);
+		if (f != 0 && f != flame) burn();
+		flame = f;
 	}
 
 	/**
-	 * Updates the state (position and state) of the entity.
+	 * Updates the state of the entity. Its position already follows the body, moved by the
+	 * {@link EntityEngine} before the update.
 	 * 
 	 * @param delta
 	 *            the delta parameter
@@ -372,9 +568,9 @@ public abstract class DynamicPhysicsEntity extends Entity implements
 	@Override
 	public void update(int delta)
 	{
-		super.setPosition(getBodyPosition());
+		checkFire();
 		if (getState() == State.IDLE)
-			getBody().setLinearVelocity(new Vec2(0, 0)); // IMPEDISCE LO
+			setVelocity(0, 0); // IMPEDISCE LO
 															// SCIVOLAMENTO
 	}
 }
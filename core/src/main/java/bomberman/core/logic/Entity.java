@@ -12,6 +12,46 @@ import bomberman.core.util.Vector2;
 public abstract class Entity
 {
 
+	/**
+	 * The {@link ComponentStore} holding the components of the entity while it is registered,
+	 * null otherwise.
+	 */
+	private ComponentStore components;
+
+	/**
+	 * The countdown in ticks while no timer is running: 0 if it never started, -1 once it
+	 * expired, the ticks left if it was stopped by the unregistration of the entity.
+	 */
+	private int countdown;
+
+	/**
+	 * Whether the countdown has to start when the entity is registered.
+	 */
+	private boolean counting;
+
+	/**
+	 * Called by the {@link TimingWheel} when the countdown expires: the countdown becomes -1,
+	 * the entity is woken and {@link #countdownExpired()} is called. The timer's integer is
+	 * unused.
+	 */
+	private final TimingWheel.Listener expiry = new TimingWheel.Listener()
+	{
+		@Override
+		public void expire(int data)
+		{
+			timer = -1;
+			countdown = -1;
+			wake();
+			countdownExpired();
+		}
+	};
+
+	/**
+	 * The handle assigned by the {@link EntityEngine} while the entity is registered, -1
+	 * otherwise.
+	 */
+	private int handle = -1;
+
 	/**
 	 * The entity's lives.
 	 */
@@ -34,10 +74,21 @@ public abstract class Entity
 	 */
 	private float originalY;
 	
+	/**
+	 * The slot of the entity in the {@link ComponentStore}, while it is registered.
+	 */
+	private int slot;
+
 	/**
 	 * The current state of the {@link Entity}.
 	 */
 	private State state = State.IDLE;
+
+	/**
+	 * The handle of the timer of the countdown in the {@link TimingWheel} of the
+	 * {@link LogicWorld}, -1 if none.
+	 */
+	private int timer = -1;
 	
 	/**
 	 * The current x position in pixels.
@@ -85,23 +136,79 @@ public abstract class Entity
 		this(l, pos.getX(), pos.getY(), lives);
 	}
 
+	/**
+	 * Moves the components of the entity into the given {@link ComponentStore}. Called by the
+	 * {@link EntityEngine} when the entity is registered, from then on the accessors of the
+	 * entity read and write the store.
+	 * 
+	 * @param c
+	 *            the {@link ComponentStore}
+	 * @param s
+	 *            the slot of the entity
+	 */
+	void attach(ComponentStore c, int s)
+	{
+		c.reserve(s);
+		c.placeAt(s, x, y);
+		c.setLives(s, lives);
+		c.setState(s, state);
+		components = c;
+		slot = s;
+		if (counting)
+		{
+			counting = false;
+			setCountdown(countdown);
+		}
+	}
+
+	/**
+	 * Called when the countdown expires. Does nothing by default.
+	 */
+	protected void countdownExpired()
+	{}
+
 	/**
 	 * Destroys instantly the {@link Entity} and removes it from the {@link EntityEngine}.
 	 */
 	public void destroy()
 	{
-		state = State.DYING;
+		setState(State.DYING);
 		logicWorld.removeEntity(this);
 	}
 
+	/**
+	 * Moves the components of the entity back from its {@link ComponentStore}. Called by the
+	 * {@link EntityEngine} when the entity is unregistered.
+	 */
+	void detach()
+	{
+		x = components.getX(slot);
+		y = components.getY(slot);
+		lives = components.getLives(slot);
+		state = components.getState(slot);
+		TimingWheel w = logicWorld.getTimingWheel();
+		if (w.isPending(timer))
+		{
+			// the countdown only runs while the entity is registered
+			countdown = getCountdown();
+			counting = true;
+			w.cancel(timer);
+		}
+		timer = -1;
+		components.clear(slot);
+		components = null;
+	}
+
 	/**
 	 * The {@link Entity} dies, its state and position are reseted.
 	 * If the number of {@link #lives} go below 1 the entity is destroyed.
 	 */
 	public void die()
 	{
-		state = State.DYING;
-		if (--lives == 0)
+		setState(State.DYING);
+		int n = getLives() - 1;
+		setLives(n);
+		if (n == 0)
 		{
 			destroy();
 			return;
@@ -109,6 +216,41 @@ public abstract class Entity
 		reset();
 	}
 
+	/**
+	 * Gets the {@link ComponentStore} holding the components of the entity.
+	 * 
+	 * @return the {@link ComponentStore}, null if the entity is not registered
+	 */
+	ComponentStore getComponents()
+	{
+		return components;
+	}
+
+	/**
+	 * Gets the countdown, decremented by one at each tick while it runs. The countdown
+	 * expires once it goes below 0.
+	 * 
+	 * @return the countdown in ticks
+	 */
+	protected int getCountdown()
+	{
+		int r = logicWorld.getTimingWheel().getRemaining(timer);
+		return r < 0 ? countdown : r - 1;
+	}
+
+	/**
+	 * Gets the handle assigned by the {@link EntityEngine}. A handle identifies the entity
+	 * while it is registered and is never confused with the handle of an entity registered
+	 * later.
+	 * 
+	 * @return the handle, -1 if the entity is not registered
+	 * @see EntityEngine#getEntity(int)
+	 */
+	public int getHandle()
+	{
+		return handle;
+	}
+
 	/**
 	 * Gets the lives number.
 	 * 
@@ -116,7 +258,7 @@ public abstract class Entity
 	 */
 	public int getLives()
 	{
-		return lives;
+		return components == null ? lives : components.getLives(slot);
 	}
 	
 	/**
@@ -136,7 +278,32 @@ public abstract class Entity
 	 */
 	public Vector2 getPosition()
 	{
-		return new Vector2(x, y);
+		if (components == null) return new Vector2(x, y);
+		return new Vector2(components.getX(slot), components.getY(slot));
+	}
+
+	/**
+	 * Gets the position interpolated between the previous tick and the current one, to draw
+	 * the {@link Entity} between two ticks.
+	 * 
+	 * @param alpha
+	 *            the fraction of tick elapsed since the current one, between 0 and 1
+	 * @return the position through a {@link Vector2}.
+	 */
+	public Vector2 getPosition(float alpha)
+	{
+		if (components == null) return new Vector2(x, y);
+		return new Vector2(components.getX(slot, alpha), components.getY(slot, alpha));
+	}
+
+	/**
+	 * Gets the slot of the entity in its {@link ComponentStore}.
+	 * 
+	 * @return the slot, meaningful only while the entity is registered
+	 */
+	int getSlot()
+	{
+		return slot;
 	}
 
 	/**
@@ -146,7 +313,7 @@ public abstract class Entity
 	 */
 	public State getState()
 	{
-		return state;
+		return components == null ? state : components.getState(slot);
 	}
 
 	/**
@@ -156,16 +323,30 @@ public abstract class Entity
 	 */
 	public boolean isAlive()
 	{
-		return lives > 0;
+		return getLives() > 0;
+	}
+
+	/**
+	 * Checks if the {@link Entity} is dormant, left out of the update of the
+	 * {@link EntityEngine}.
+	 * 
+	 * @return true, if is dormant
+	 */
+	public boolean isDormant()
+	{
+		return components != null && components.isDormant(slot);
 	}
 
 	/**
-	 * Resets the state and original position of the {@link Entity}.
+	 * Resets the state and original position of the {@link Entity}. The position is not
+	 * interpolated from the one the entity had before.
 	 */
 	public void reset()
 	{
 		setPosition(originalX, originalY);
+		if (components != null) components.placeAt(slot, originalX, originalY);
 		setIdle();
+		wake();
 	}
 
 	/**
@@ -173,7 +354,37 @@ public abstract class Entity
 	 */
 	public void setIdle()
 	{
-		state = State.IDLE;
+		setState(State.IDLE);
+	}
+
+	/**
+	 * Sets the countdown and starts it, replacing the running one. The countdown runs in the
+	 * {@link TimingWheel} of the {@link LogicWorld} once the entity is registered, and
+	 * expires after {@code ticks + 1} ticks. A negative countdown is expired already and
+	 * {@link #countdownExpired()} is not called.
+	 * 
+	 * @param ticks
+	 *            the countdown in ticks
+	 */
+	protected void setCountdown(int ticks)
+	{
+		TimingWheel w = logicWorld.getTimingWheel();
+		w.cancel(timer);
+		timer = -1;
+		countdown = ticks;
+		counting = components == null && ticks >= 0;
+		if (components != null && ticks >= 0) timer = w.schedule(ticks + 1, expiry, 0);
+	}
+
+	/**
+	 * Sets the handle. Called by the {@link EntityEngine} only.
+	 * 
+	 * @param handle
+	 *            the handle, -1 when the entity is unregistered
+	 */
+	void setHandle(int handle)
+	{
+		this.handle = handle;
 	}
 
 	/**
@@ -184,7 +395,10 @@ public abstract class Entity
 	 */
 	public void setLives(int x)
 	{
-		lives = x;
+		if (components == null)
+			lives = x;
+		else
+			components.setLives(slot, x);
 	}
 
 	/**
@@ -197,8 +411,13 @@ public abstract class Entity
 	 */
 	public void setPosition(float x, float y)
 	{
-		this.x = x;
-		this.y = y;
+		if (components == null)
+		{
+			this.x = x;
+			this.y = y;
+		}
+		else
+			components.setPosition(slot, x, y);
 	}
 
 	/**
@@ -220,7 +439,21 @@ public abstract class Entity
 	 */
 	public void setState(State s)
 	{
-		state = s;
+		if (components == null)
+			state = s;
+		else
+			components.setState(slot, s);
+	}
+
+	/**
+	 * Makes the {@link Entity} dormant: {@link #update(int)} is no longer called until a
+	 * contact, the expiry of its countdown or a call to {@link #wake()} wakes it. The fire
+	 * does not wake it, so only the entities left alone by the fire should sleep. Has no
+	 * effect if the entity is not registered.
+	 */
+	protected void sleep()
+	{
+		if (components != null) logicWorld.sleepEntity(this);
 	}
 
 	/**
@@ -230,4 +463,12 @@ public abstract class Entity
 	 *            the time delta parameter
 	 */
 	abstract public void update(int delta);
+
+	/**
+	 * Wakes the {@link Entity} if it is dormant, so that it is updated again.
+	 */
+	public void wake()
+	{
+		if (components != null) logicWorld.wakeEntity(this);
+	}
 }
@@ -0,0 +1,107 @@
+package bomberman.core.logic;
+
+import java.util.AbstractList;
+
+/**
+ * The EntityBucket class is a dense array of registered {@link Entity} instances of the
+ * same kind, used by the {@link EntityEngine}. The position of each entity in the array is
+ * indexed by the slot of its handle, so an entity is removed in constant time by moving the
+ * last one in its place. As a {@link java.util.List} the bucket is read-only, only the
+ * {@link EntityEngine} changes its content.
+ * 
+ * @author Federico Scozzafava
+ * @param <T>
+ *            the kind of {@link Entity}
+ */
+class EntityBucket<T extends Entity> extends AbstractList<T>
+{
+
+	/**
+	 * The entities in the bucket, the first {@link #size} are valid.
+	 */
+	private Entity[] items = new Entity[16];
+
+	/**
+	 * The position in {@link #items} of each entity, indexed by the slot of its handle.
+	 */
+	private int[] positions = new int[16];
+
+	/**
+	 * The number of entities in the bucket.
+	 */
+	private int size;
+
+	/**
+	 * Removes all the entities from the bucket.
+	 */
+	void clearAll()
+	{
+		for (int i = 0; i < size; i++)
+			items[i] = null;
+		size = 0;
+		modCount++;
+	}
+
+	/**
+	 * Removes an entity from the bucket, moving the last entity in its place.
+	 * 
+	 * @param e
+	 *            the entity, which must be in the bucket
+	 */
+	void delete(Entity e)
+	{
+		int p = positions[EntityEngine.slot(e.getHandle())];
+		Entity last = items[--size];
+		items[p] = last;
+		positions[EntityEngine.slot(last.getHandle())] = p;
+		items[size] = null;
+		modCount++;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.util.AbstractList#get(int)
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public T get(int index)
+	{
+		if (index < 0 || index >= size)
+			throw new IndexOutOfBoundsException("index " + index + ", size " + size);
+		return (T) items[index];
+	}
+
+	/**
+	 * Appends an entity to the bucket.
+	 * 
+	 * @param e
+	 *            the entity, which must already have a handle
+	 */
+	void insert(T e)
+	{
+		int slot = EntityEngine.slot(e.getHandle());
+		if (size == items.length)
+		{
+			Entity[] a = new Entity[size * 2];
+			System.arraycopy(items, 0, a, 0, size);
+			items = a;
+		}
+		if (slot >= positions.length)
+		{
+			int[] a = new int[Math.max(slot + 1, positions.length * 2)];
+			System.arraycopy(positions, 0, a, 0, positions.length);
+			positions = a;
+		}
+		positions[slot] = size;
+		items[size++] = e;
+		modCount++;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.util.AbstractCollection#size()
+	 */
+	@Override
+	public int size()
+	{
+		return size;
+	}
+}
@@ -1,101 +1,194 @@
 package bomberman.core.logic;
 
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.Stack;
-
-import org.jbox2d.callbacks.ContactImpulse;
-import org.jbox2d.callbacks.ContactListener;
-import org.jbox2d.collision.Manifold;
-import org.jbox2d.common.Vec2;
-import org.jbox2d.dynamics.Body;
-import org.jbox2d.dynamics.World;
-import org.jbox2d.dynamics.contacts.Contact;
 
 import bomberman.core.logic.enemy.Enemy;
+import bomberman.core.logic.powerUp.PowerUp;
+import bomberman.core.util.Constants;
+import bomberman.core.util.TickProfiler;
 
 /**
- * The class for managing the interaction of {@link Entity} instances via the.
- * {@code Box2d} physics engine. This class provides thread-safe access for
- * adding and removing objects during game play and also handles drawing all of
- * the objects on screen.
+ * The class for managing the interaction of {@link Entity} instances via a
+ * {@link PhysicsBackend}, {@link Box2dBackend} by default. The objects added and removed
+ * during the update of the entities are queued and applied at the end of it, so that the
+ * entities are never changed while they are being iterated.
+ * <p>
+ * An engine is single threaded: it is not synchronized and must only be used by the thread
+ * stepping its world. Each {@link LogicWorld} owns its engine, together with its
+ * {@link PhysicsBackend}, and no state is shared between two engines, so independent worlds
+ * can be stepped on different threads.
  * <p>
  * This class is partially based on the playn-peaphysics example (Copyright 2011
  * The PlayN Authors), which is licensed under the Apache License, Version 2.0.
  */
-public class EntityEngine implements ContactListener
+public class EntityEngine implements PhysicsBackend.Listener
 {
 
 	/**
-	 * The singleton pattern.
+	 * The number of bits of a handle that hold its slot, the remaining ones hold the
+	 * generation of the slot.
+	 */
+	private static final int SLOT_BITS = 20;
+
+	/**
+	 * The structural change adding an entity.
+	 */
+	private static final byte ADD = 0;
+
+	/**
+	 * The structural change removing an entity.
+	 */
+	private static final byte REMOVE = 1;
+
+	/**
+	 * The change making an entity dormant.
+	 */
+	private static final byte SLEEP = 2;
+
+	/**
+	 * The change waking a dormant entity.
 	 */
-	private static EntityEngine instance;
+	private static final byte WAKE = 3;
 
 	/**
-	 * Gets the single instance of EntityEngine.
+	 * The mask of the slot bits of a handle.
+	 */
+	private static final int SLOT_MASK = (1 << SLOT_BITS) - 1;
+
+	/**
+	 * The mask of the generation of a slot, kept positive.
+	 */
+	private static final int GENERATION_MASK = (1 << 31 - SLOT_BITS) - 1;
+
+	/**
+	 * Gets the slot of a handle.
 	 * 
-	 * @return single instance of EntityEngine
+	 * @param handle
+	 *            the handle
+	 * @return the slot
 	 */
-	public static EntityEngine getInstance()
+	static int slot(int handle)
 	{
-		if (instance == null) instance = new EntityEngine();
-		return instance;
+		return handle & SLOT_MASK;
 	}
 
 	/**
-	 * A mapping from the {@code Box2D} {@link Body} to its corresponding {@link PhysicsEntity} game object.
+	 * The entities that are not dormant, updated every tick.
+	 */
+	private final EntityBucket<Entity> active = new EntityBucket<Entity>();
+
+	/**
+	 * The {@link Bomber}s being managed by this engine.
+	 */
+	private final EntityBucket<Bomber> bombers = new EntityBucket<Bomber>();
+
+	/**
+	 * The {@link Bomb}s being managed by this engine.
+	 */
+	private final EntityBucket<Bomb> bombs = new EntityBucket<Bomb>();
+
+	/**
+	 * The structural changes to apply during the next call to {@link #update(int)}, in
+	 * order: the entities to add, remove, put to sleep or wake.
+	 */
+	private Entity[] commands = new Entity[64];
+
+	/**
+	 * For each entry of {@link #commands}, the change to apply: {@link #ADD},
+	 * {@link #REMOVE}, {@link #SLEEP} or {@link #WAKE}.
+	 */
+	private byte[] commandOps = new byte[64];
+
+	/**
+	 * The number of pending structural changes.
+	 */
+	private int commandCount;
+
+	/**
+	 * The components of the registered entities, indexed by the slot of their handle.
+	 */
+	private final ComponentStore components = new ComponentStore();
+
+	/**
+	 * The {@link Enemy} instances being managed by this engine.
+	 */
+	private final EntityBucket<Enemy> enemies = new EntityBucket<Enemy>();
+
+	/**
+	 * The free slots, available for new handles.
+	 */
+	private int[] freeSlots = new int[64];
+
+	/**
+	 * The number of free slots.
+	 */
+	private int freeSlotCount;
+
+	/**
+	 * The current generation of each slot, increased every time the slot is freed.
+	 */
+	private int[] generations = new int[64];
+
+	/**
+	 * The {@link PowerUp}s being managed by this engine.
+	 */
+	private final EntityBucket<PowerUp> powerUps = new EntityBucket<PowerUp>();
+
+	/**
+	 * The {@link TickProfiler} timing the phases of the update, null if none.
 	 */
-	private final Map<Body, PhysicsEntity> bodyEntityLUT = new HashMap<Body, PhysicsEntity>();
+	private TickProfiler profiler;
 
 	/**
-	 * The set of objects that came in contact with each other during the call
-	 * to {@link #update(int)}.
+	 * The registered entity of each slot, null if the slot is free.
 	 */
-	private final Stack<Contact> contacts = new Stack<Contact>();
+	private Entity[] slots = new Entity[64];
 
 	/**
-	 * The list of entities being managed by this engine.
+	 * The number of slots ever used.
 	 */
-	private final List<Entity> entities = new ArrayList<Entity>();
+	private int slotCount;
 
 	/**
-	 * The entities that will be added to the engine during the next call to.
-	 * {@link #update(int)}
+	 * The entities being managed by this engine.
 	 */
-	private final Stack<Entity> entitiesToAdd = new Stack<Entity>();
+	private final EntityBucket<Entity> entities = new EntityBucket<Entity>();
 
 	/**
-	 * The entities that will be removed from the engine during the next call
-	 * to. {@link #update(int)}
+	 * Whether the entities are being updated, so that the changes to the active set are
+	 * deferred.
 	 */
-	private final Stack<Entity> entitiesToRemove = new Stack<Entity>();
+	private boolean updating;
 
 	/**
-	 * The set of objects that released the contact with each other during the
-	 * call to {@link #update(int)}.
+	 * The reactions to the contacts between the entities.
 	 */
-	private final Stack<Contact> release = new Stack<Contact>();
+	private final CollisionRules rules = CollisionRules.createDefault();
 
 	/**
-	 * {@code Box2d} object containing physics world
+	 * The physics engine moving the bodies of the entities.
 	 */
-	private final World world;
+	private final PhysicsBackend physics;
 
 	/**
-	 * Creates a new {@link EntityEngine} that manages the {@code Box2d} physical world and
-	 * physical state of all objects in the game, wrapping most of the logic for interacting
-	 * with {@code Box2D}.
+	 * Creates a new {@link EntityEngine} that manages the physical state of all objects in
+	 * the game through a {@link Box2dBackend}.
 	 */
-	private EntityEngine()
+	public EntityEngine()
 	{
-		// Create the physics world that will handle all the target collisions
-		// In 2d bomberMan game there is no gravity
-		world = new World(new Vec2(0, 0));
-		world.setWarmStarting(true);
-		world.setAutoClearForces(true);
-		world.setContactListener(this);
+		this(new Box2dBackend());
+	}
+
+	/**
+	 * Creates a new {@link EntityEngine} that manages the physical state of all objects in
+	 * the game through the given {@link PhysicsBackend}.
+	 * 
+	 * @param physics
+	 *            the {@link PhysicsBackend}, owned by the engine from now on
+	 */
+	public EntityEngine(PhysicsBackend physics)
+	{
+		this.physics = physics;
 	}
 
 	/**
@@ -107,35 +200,54 @@ public class EntityEngine implements ContactListener
 	 */
 	public void add(Entity entity)
 	{
-		entitiesToAdd.push(entity);
+		enqueue(entity, ADD);
 	}
 
 	/**
-	 * Called when {@code Box2d} finishes recording the contact between two {@link DynamicPhysicsEntity}.
+	 * Assigns a new handle to the given {@code Entity}, reusing a free slot if any.
 	 * 
-	 * @param contact
-	 *            the contact {@link Body} instances, records the contact in
-	 *            this instance's list of contacts to process during
-	 *            {@link #update(int)}.
+	 * @param entity
+	 *            the entity
 	 */
-	@Override
-	public void beginContact(Contact contact)
+	private void allocateHandle(Entity entity)
 	{
-		contacts.push(contact);
+		int slot;
+		if (freeSlotCount > 0)
+			slot = freeSlots[--freeSlotCount];
+		else
+		{
+			if (slotCount > SLOT_MASK)
+				throw new RuntimeException("too many entities");
+			slot = slotCount++;
+			if (slot == slots.length)
+			{
+				Entity[] a = new Entity[slot * 2];
+				System.arraycopy(slots, 0, a, 0, slot);
+				slots = a;
+				int[] g = new int[slot * 2];
+				System.arraycopy(generations, 0, g, 0, slot);
+				generations = g;
+			}
+		}
+		slots[slot] = entity;
+		entity.setHandle(generations[slot] << SLOT_BITS | slot);
 	}
 
 	/**
-	 * Clear the {@code Box2D} world removing all bodies and fixtures contained in it
-	 * (including the ground bodies}.
+	 * Called by the {@link PhysicsBackend} when two bodies start touching, out of the
+	 * physics loop. The reaction is looked up in the {@link CollisionRules}.
+	 * 
+	 * @param entityA
+	 *            the first entity
+	 * @param entityB
+	 *            the second entity
 	 */
-	public void clearWorld()
+	@Override
+	public void beginContact(PhysicsEntity entityA, PhysicsEntity entityB)
 	{
-		Body temp = world.getBodyList();
-		while (temp != null)
-		{
-			world.destroyBody(temp);
-			temp = temp.getNext();
-		}
+		wakeOwner(entityA);
+		wakeOwner(entityB);
+		rules.begin(entityA, entityB);
 	}
 
 	/**
@@ -149,12 +261,18 @@ public class EntityEngine implements ContactListener
 	 */
 	private void doAdd(Entity entity)
 	{
-		entities.add(entity);
-		if (entity instanceof PhysicsEntity)
-		{
-			PhysicsEntity physicsEntity = (PhysicsEntity) entity;
-			bodyEntityLUT.put(physicsEntity.getBody(), physicsEntity);
-		}
+		if (entity.getHandle() >= 0) return;
+		allocateHandle(entity);
+		entity.attach(components, slot(entity.getHandle()));
+		entities.insert(entity);
+		active.insert(entity);
+		if (entity instanceof Bomb)
+			bombs.insert((Bomb) entity);
+		else if (entity instanceof Enemy)
+			enemies.insert((Enemy) entity);
+		else if (entity instanceof PowerUp)
+			powerUps.insert((PowerUp) entity);
+		else if (entity instanceof Bomber) bombers.insert((Bomber) entity);
 	}
 
 	/**
@@ -168,142 +286,276 @@ public class EntityEngine implements ContactListener
 	 */
 	private void doRemove(Entity entity)
 	{
-		entities.remove(entity);
-		if (entity instanceof PhysicsEntity)
+		if (entity.getHandle() < 0) return;
+		entities.delete(entity);
+		if (!entity.isDormant()) active.delete(entity);
+		if (entity instanceof Bomb)
+			bombs.delete(entity);
+		else if (entity instanceof Enemy)
+			enemies.delete(entity);
+		else if (entity instanceof PowerUp)
+			powerUps.delete(entity);
+		else if (entity instanceof Bomber) bombers.delete(entity);
+		destroyBody(entity);
+		entity.detach();
+		releaseHandle(entity);
+	}
+
+	/**
+	 * Takes a registered entity out of the active set, unless it is already dormant.
+	 * 
+	 * @param entity
+	 *            the entity
+	 */
+	private void doSleep(Entity entity)
+	{
+		if (entity.getHandle() < 0 || entity.isDormant()) return;
+		active.delete(entity);
+		components.setDormant(slot(entity.getHandle()), true);
+	}
+
+	/**
+	 * Puts a registered dormant entity back in the active set.
+	 * 
+	 * @param entity
+	 *            the entity
+	 */
+	private void doWake(Entity entity)
+	{
+		if (entity.getHandle() < 0 || !entity.isDormant()) return;
+		components.setDormant(slot(entity.getHandle()), false);
+		active.insert(entity);
+	}
+
+	/**
+	 * Records a change, applied during the next call to {@link #update(int)}.
+	 * 
+	 * @param entity
+	 *            the entity
+	 * @param op
+	 *            the change: {@link #ADD}, {@link #REMOVE}, {@link #SLEEP} or {@link #WAKE}
+	 */
+	private void enqueue(Entity entity, byte op)
+	{
+		if (commandCount == commands.length)
+		{
+			Entity[] a = new Entity[commandCount * 2];
+			System.arraycopy(commands, 0, a, 0, commandCount);
+			commands = a;
+			byte[] b = new byte[commandCount * 2];
+			System.arraycopy(commandOps, 0, b, 0, commandCount);
+			commandOps = b;
+		}
+		commands[commandCount] = entity;
+		commandOps[commandCount++] = op;
+	}
+
+	/**
+	 * Applies the pending changes in the order they were recorded. Adding a registered
+	 * entity, removing an unregistered one or changing the state of an unregistered one has
+	 * no effect.
+	 */
+	private void flush()
+	{
+		for (int i = 0; i < commandCount; i++)
 		{
-			PhysicsEntity physicsEntity = (PhysicsEntity) entity;
-			Body body = physicsEntity.getBody();
-			bodyEntityLUT.remove(body);
-			if (body != null)
-				world.destroyBody(body);
+			switch (commandOps[i])
+			{
+			case ADD:
+				doAdd(commands[i]);
+				break;
+			case REMOVE:
+				doRemove(commands[i]);
+				break;
+			case SLEEP:
+				doSleep(commands[i]);
+				break;
+			default:
+				doWake(commands[i]);
+			}
+			commands[i] = null;
 		}
+		commandCount = 0;
 	}
 
 	/**
-	 * Called when {@code Box2d} finishes recording the contact release between two {@link DynamicPhysicsEntity}.
+	 * Gets the number of entities that are not dormant, the ones updated every tick.
 	 * 
-	 * @param contact
-	 *            the contact {@link Body} instances, records the contact in
-	 *            this instance's list of contacts to process during
-	 *            {@link #update(int)}.
+	 * @return the number of active entities
+	 */
+	public int getActiveCount()
+	{
+		return active.size();
+	}
+
+	/**
+	 * Unregisters the {@code Entity} with the physics engine, if necessary, destroying its
+	 * body.
+	 * 
+	 * @param entity
+	 *            the entity
+	 */
+	private void destroyBody(Entity entity)
+	{
+		if (entity instanceof DynamicPhysicsEntity)
+			((DynamicPhysicsEntity) entity).destroyBody();
+	}
+
+	/**
+	 * Called by the {@link PhysicsBackend} when two bodies stop touching, out of the
+	 * physics loop. The reaction is looked up in the {@link CollisionRules}.
+	 * 
+	 * @param entityA
+	 *            the first entity
+	 * @param entityB
+	 *            the second entity
 	 */
 	@Override
-	public void endContact(Contact contact)
+	public void endContact(PhysicsEntity entityA, PhysicsEntity entityB)
 	{
-		// Record this contact so that we can properly handle the contact release
-		// outside the physics loop
-		release.push(contact);
+		wakeOwner(entityA);
+		wakeOwner(entityB);
+		rules.end(entityA, entityB);
 	}
 
 	/**
-	 * Gets the bombs in this engine.
+	 * Gets the number of {@link Bomber}s in this engine.
 	 * 
-	 * @return the bombs
+	 * @return the number of {@link Bomber}s
 	 */
-	public List<Bomb> getBombs()
+	public int getBomberCount()
 	{
-		List<Bomb> res = new ArrayList<Bomb>();
-		for (Entity x : entities)
-			if (x instanceof Bomb) res.add((Bomb) x);
-		return res;
+		return bombers.size();
 	}
 
 	/**
-	 * Gets the enemies in thi engine.
+	 * Gets the {@link Bomber}s in this engine.
 	 * 
-	 * @return the enemies
+	 * @return the live read-only view of the {@link Bomber}s
 	 */
-	public List<Enemy> getEnemies()
+	public List<Bomber> getBombers()
 	{
-		List<Enemy> res = new ArrayList<Enemy>();
-		for (Entity x : entities)
-			if (x instanceof Enemy) res.add((Enemy) x);
-		return res;
+		return bombers;
 	}
 
 	/**
-	 * Returns the {@code Box2d} {@link World} in which objects interact. This method
-	 * is intended only for entities that need to initialize their state later
-	 * and then add themselves to the world.
+	 * Gets the number of bombs in this engine.
 	 * 
-	 * @return the {@link World}
-	 * @see DynamicPhysicsEntity
+	 * @return the number of bombs
 	 */
-	public World getWorld()
+	public int getBombCount()
 	{
-		return world;
+		return bombs.size();
 	}
 
-	// Box2d's post solve
-	/* (non-Javadoc)
-	 * @see org.jbox2d.callbacks.ContactListener#postSolve(org.jbox2d.dynamics.contacts.Contact, org.jbox2d.callbacks.ContactImpulse)
+	/**
+	 * Gets the bombs in this engine.
+	 * 
+	 * @return the live read-only view of the bombs
 	 */
-	@Override
-	public void postSolve(Contact contact, ContactImpulse impulse)
-	{}
+	public List<Bomb> getBombs()
+	{
+		return bombs;
+	}
 
-	// Box2d's pre solve
-	/* (non-Javadoc)
-	 * @see org.jbox2d.callbacks.ContactListener#preSolve(org.jbox2d.dynamics.contacts.Contact, org.jbox2d.collision.Manifold)
+	/**
+	 * Gets the {@link CollisionRules} reacting to the contacts between the entities, where
+	 * new kinds of entity register their rules.
+	 * 
+	 * @return the {@link CollisionRules}
 	 */
-	@Override
-	public void preSolve(Contact contact, Manifold oldManifold)
-	{}
+	public CollisionRules getCollisionRules()
+	{
+		return rules;
+	}
 
 	/**
-	 * Handle physic engine contacts out of physics loop.
+	 * Gets the {@link ComponentStore} holding the components of the registered entities.
+	 * 
+	 * @return the {@link ComponentStore}
 	 */
-	private void processContacts()
+	public ComponentStore getComponents()
 	{
-		while (!contacts.isEmpty())
-		{
-			Contact contact = contacts.pop();
+		return components;
+	}
 
-			// Handle collision
-			PhysicsEntity entityA = bodyEntityLUT
-					.get(contact.m_fixtureA.m_body);
-			PhysicsEntity entityB = bodyEntityLUT
-					.get(contact.m_fixtureB.m_body);
+	/**
+	 * Gets the registered {@code Entity} identified by the given handle.
+	 * 
+	 * @param handle
+	 *            the handle
+	 * @return the entity, null if the handle is stale or invalid
+	 */
+	public Entity getEntity(int handle)
+	{
+		if (handle < 0) return null;
+		int slot = slot(handle);
+		if (slot >= slotCount || generations[slot] != handle >>> SLOT_BITS)
+			return null;
+		return slots[slot];
+	}
 
-			if (entityA != null && entityB != null)
-			{
-				if (entityA instanceof PhysicsEntity.HasContactListener)
-					((PhysicsEntity.HasContactListener) entityA)
-							.contact(entityB);
+	/**
+	 * Gets the number of entities in this engine.
+	 * 
+	 * @return the number of entities
+	 */
+	public int getEntityCount()
+	{
+		return entities.size();
+	}
 
-				if (entityB instanceof PhysicsEntity.HasContactListener)
-					((PhysicsEntity.HasContactListener) entityB)
-							.contact(entityA);
-			}
-		}
+	/**
+	 * Gets the enemies in thi engine.
+	 * 
+	 * @return the live read-only view of the enemies
+	 */
+	public List<Enemy> getEnemies()
+	{
+		return enemies;
 	}
 
 	/**
-	 * Handle physic engine contacts release out of physics loop.
+	 * Gets the number of enemies in this engine.
+	 * 
+	 * @return the number of enemies
 	 */
-	private void processReleases()
+	public int getEnemyCount()
 	{
-		while (!release.isEmpty())
-		{
-			Contact contact = release.pop();
+		return enemies.size();
+	}
 
-			// Handle collision
-			PhysicsEntity entityA = bodyEntityLUT
-					.get(contact.m_fixtureA.m_body);
-			PhysicsEntity entityB = bodyEntityLUT
-					.get(contact.m_fixtureB.m_body);
+	/**
+	 * Gets the number of {@link PowerUp}s in this engine.
+	 * 
+	 * @return the number of {@link PowerUp}s
+	 */
+	public int getPowerUpCount()
+	{
+		return powerUps.size();
+	}
 
-			if (entityA != null && entityB != null)
-			{
-				if (entityA instanceof PhysicsEntity.HasContactListener)
-					((PhysicsEntity.HasContactListener) entityA)
-							.release(entityB);
+	/**
+	 * Gets the {@link PowerUp}s in this engine.
+	 * 
+	 * @return the live read-only view of the {@link PowerUp}s
+	 */
+	public List<PowerUp> getPowerUps()
+	{
+		return powerUps;
+	}
 
-				if (entityB instanceof PhysicsEntity.HasContactListener)
-					((PhysicsEntity.HasContactListener) entityB)
-							.release(entityA);
-			}
-		}
+	/**
+	 * Returns the {@link PhysicsBackend} in which objects interact. This method is intended
+	 * only for entities that need to initialize their state later and then add themselves
+	 * to the world.
+	 * 
+	 * @return the {@link PhysicsBackend}
+	 * @see DynamicPhysicsEntity
+	 */
+	public PhysicsBackend getPhysics()
+	{
+		return physics;
 	}
 
 	/**
@@ -312,55 +564,144 @@ public class EntityEngine implements ContactListener
 	 */
 	public void remove(Entity entity)
 	{
-		entitiesToRemove.push(entity);
+		enqueue(entity, REMOVE);
 	}
 
 	/**
-	 * Removes all the entities managed by this engine, causing them to stop
-	 * being displayed and interacting through the physics engine.
+	 * Frees the slot of the handle of the given {@code Entity}, so that the handle becomes
+	 * stale.
+	 * 
+	 * @param entity
+	 *            the entity
+	 */
+	private void releaseHandle(Entity entity)
+	{
+		int slot = slot(entity.getHandle());
+		slots[slot] = null;
+		generations[slot] = generations[slot] + 1 & GENERATION_MASK;
+		if (freeSlotCount == freeSlots.length)
+		{
+			int[] a = new int[freeSlotCount * 2];
+			System.arraycopy(freeSlots, 0, a, 0, freeSlotCount);
+			freeSlots = a;
+		}
+		freeSlots[freeSlotCount++] = slot;
+		entity.setHandle(-1);
+	}
+
+	/**
+	 * Removes all the entities managed by this engine, including the ones waiting
+	 * to be added, causing them to stop being displayed and interacting through the
+	 * physics engine. The grid of the {@link PhysicsBackend} is left in place.
 	 */
 	public void removeAll()
 	{
-		while (entities.size() > 0)
+		// pending additions own a body too
+		flush();
+		// NOTE: this is safe because removeAll is only called within an update loop when
+		// the round is over. The entities are released from the last one, as doRemove
+		// would, so that the slots and the bodies are handed out again in the same order
+		for (int i = entities.size() - 1; i >= 0; i--)
 		{
-			Entity e = entities.get(0);
-			// NOTE: this call to doRemove is safe because removeAll is only
-			// called within an update loop when the round is over
-			doRemove(e);
+			Entity entity = entities.get(i);
+			destroyBody(entity);
+			entity.detach();
+			releaseHandle(entity);
 		}
+		entities.clearAll();
+		active.clearAll();
+		bombs.clearAll();
+		enemies.clearAll();
+		powerUps.clearAll();
+		bombers.clearAll();
+		physics.clearContacts();
+	}
+
+	/**
+	 * Sets the {@link TickProfiler} timing the update of the entities, the draining of the
+	 * added and removed ones and the phases of the {@link PhysicsBackend} step.
+	 * 
+	 * @param profiler
+	 *            the {@link TickProfiler}, null to stop timing
+	 */
+	public void setProfiler(TickProfiler profiler)
+	{
+		this.profiler = profiler;
+		physics.setProfiler(profiler);
+	}
+
+	/**
+	 * Makes a registered {@code Entity} dormant: it is no longer updated every tick, until a
+	 * contact, the expiry of its countdown or an explicit call to {@link #wake(Entity)}
+	 * wakes it. During the update the change is deferred to the end of the tick.
+	 * 
+	 * @param entity
+	 *            the entity
+	 */
+	public void sleep(Entity entity)
+	{
+		if (updating)
+			enqueue(entity, SLEEP);
+		else
+			doSleep(entity);
 	}
 
 	/**
 	 * Updates the state of the engine, adding and removing entities as
-	 * necessary.
+	 * necessary. The {@link ComponentStore} systems run around the update of the entities:
+	 * the positions are moved to the bodies before, the velocities handed to the bodies
+	 * after.
 	 * 
 	 * @param delta
 	 *            the delta
 	 */
 	public void update(int delta)
 	{
-		for (Entity e : entities)
-			e.update(delta);
-		// Add all the new objects
-		while (!entitiesToAdd.isEmpty())
-		{
-			Entity entity = entitiesToAdd.pop();
-			doAdd(entity);
-		}
-
-		// Remove all the objects that need to be removed
-		while (!entitiesToRemove.isEmpty())
-		{
-			Entity entity = entitiesToRemove.pop();
-			doRemove(entity);
-		}
+		TickProfiler p = profiler;
+		long time = p == null ? 0 : System.nanoTime();
+		updating = true;
+		components.savePositions();
+		components.followBodies(physics);
+		// The dormant entities are left out until something wakes them
+		for (int i = 0; i < active.size(); i++)
+			active.get(i).update(delta);
+		components.applyVelocities(physics);
+		if (p != null) time = p.record(TickProfiler.ENTITIES, time);
+		// Add and remove the objects, in the order it was asked
+		flush();
+		updating = false;
+		if (p != null) p.record(TickProfiler.FLUSH, time);
+
+		// The step delta is fixed so the physics isn't affected by frame rate, the contacts
+		// are reported back to this engine once the step is over
+		physics.step(Constants.TICK_TIME / 1000f, this);
+	}
 
-		// The step delta is fixed so box2d isn't affected by frame rate
-		world.step(0.033f, 6, 3);
+	/**
+	 * Wakes a dormant entity, so that it is updated every tick again. Entities that are not
+	 * registered or are not dormant are ignored. During the update the change is deferred to
+	 * the end of the tick.
+	 * 
+	 * @param entity
+	 *            the entity
+	 */
+	public void wake(Entity entity)
+	{
+		// a sleep may still be pending, so the state is checked when the change is applied
+		if (updating)
+			enqueue(entity, WAKE);
+		else
+			doWake(entity);
+	}
 
-		// Process all the objects that touched each other, which was discovered
-		// by {@code Box2d} and then recorded in our contacts list
-		processContacts();
-		processReleases();
+	/**
+	 * Wakes the owner of a body involved in a contact, if it is a dormant {@code Entity}.
+	 * 
+	 * @param owner
+	 *            the owner of the body
+	 */
+	private void wakeOwner(PhysicsEntity owner)
+	{
+		if (owner instanceof Entity) wake((Entity) owner);
 	}
 }
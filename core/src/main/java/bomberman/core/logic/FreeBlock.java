@@ -10,20 +10,18 @@ public class FreeBlock extends Block
 {
 
 	/**
-	 * Instantiates a new free block.
+	 * Instantiates a new free block view.
 	 * 
-	 * @param posX
-	 *            the x position in pixels
-	 * @param posY
-	 *            the y position in pixels
-	 * @param dimension
-	 *            the width and height in pixels
+	 * @param x
+	 *            the x coordinate in grid
+	 * @param y
+	 *            the y coordinate in grid
 	 * @param logicWorld
 	 *            the {@link LogicWorld} in which the {@link Block} is placed
 	 */
-	public FreeBlock(float posX, float posY, float dimension, LogicWorld logicWorld)
+	public FreeBlock(int x, int y, LogicWorld logicWorld)
 	{
-		super(posX, posY, dimension, dimension, true, logicWorld);
+		super(x, y, logicWorld);
 	}
 
 	/* (non-Javadoc)
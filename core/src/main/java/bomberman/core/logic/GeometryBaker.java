@@ -0,0 +1,94 @@
+package bomberman.core.logic;
+
+import org.jbox2d.collision.shapes.PolygonShape;
+import org.jbox2d.common.Vec2;
+import org.jbox2d.dynamics.Body;
+import org.jbox2d.dynamics.BodyDef;
+import org.jbox2d.dynamics.BodyType;
+import org.jbox2d.dynamics.FixtureDef;
+import org.jbox2d.dynamics.World;
+import bomberman.core.util.Constants;
+
+/**
+ * The GeometryBaker class merges the cells of a {@link TileMap} of a given tile type into a
+ * single static {@code Box2d} {@link Body}. Cells are covered by a greedy rectangle merge:
+ * starting from the first uncovered cell in row order, a rectangle is grown as wide as
+ * possible and then as tall as possible, and becomes a single box fixture. The outer walls of
+ * a level become four fixtures and the broadphase holds one proxy per rectangle instead of
+ * one per cell.
+ * <p>
+ * Each box is placed as the one of a single cell would be, centered on the top left corner
+ * of the cell, to match the position of the {@link DynamicPhysicsEntity} bodies.
+ * 
+ * @author Federico Scozzafava
+ */
+public class GeometryBaker
+{
+
+	/**
+	 * Bakes all the cells of the given tile type into a new static {@link Body}.
+	 * 
+	 * @param map
+	 *            the {@link TileMap}
+	 * @param tile
+	 *            the tile type to bake
+	 * @param world
+	 *            the {@code Box2d} {@link World} where to create the {@link Body}
+	 * @param size
+	 *            the size of a cell in pixels
+	 * @return the {@link Body}, with no fixture if no cell has the given type
+	 */
+	public static Body bake(TileMap map, byte tile, World world, float size)
+	{
+		float cell = size / Constants.BOX2D_WORLD_SCALE;
+		int width = map.getWidth();
+		int height = map.getHeight();
+		boolean[] covered = new boolean[width * height];
+		BodyDef bd = new BodyDef();
+		bd.type = BodyType.STATIC;
+		Body body = world.createBody(bd);
+		for (int y = 0; y < height; y++)
+			for (int x = 0; x < width; x++)
+			{
+				if (covered[map.index(x, y)] || map.getTile(x, y) != tile) continue;
+				int w = 1;
+				while (x + w < width && isUncovered(map, covered, tile, x + w, y))
+					w++;
+				int h = 1;
+				while (y + h < height && isRowUncovered(map, covered, tile, x, y + h, w))
+					h++;
+				for (int j = y; j < y + h; j++)
+					for (int i = x; i < x + w; i++)
+						covered[map.index(i, j)] = true;
+				PolygonShape ps = new PolygonShape();
+				ps.setAsBox(w * cell / 2, h * cell / 2, new Vec2((x + (w - 1) / 2f)
+						* cell, (y + (h - 1) / 2f) * cell), 0);
+				FixtureDef fd = new FixtureDef();
+				fd.shape = ps;
+				body.createFixture(fd);
+			}
+		return body;
+	}
+
+	/**
+	 * Returns a boolean value that indicates if the given cell has the given tile type and
+	 * is not covered yet.
+	 */
+	private static boolean isUncovered(TileMap map, boolean[] covered, byte tile,
+			int x, int y)
+	{
+		return map.getTile(x, y) == tile && !covered[map.index(x, y)];
+	}
+
+	/**
+	 * Returns a boolean value that indicates if all the cells of a row span have the given
+	 * tile type and are not covered yet.
+	 */
+	private static boolean isRowUncovered(TileMap map, boolean[] covered, byte tile,
+			int x, int y, int w)
+	{
+		for (int i = x; i < x + w; i++)
+			if (!isUncovered(map, covered, tile, i, y)) return false;
+		return true;
+	}
+}
@@ -0,0 +1,122 @@
+package bomberman.core.logic;
+
+import java.util.Random;
+
+/**
+ * The Level class is the pure data layout of a round, as produced by the
+ * {@link LevelGenerator}: the ground grid, the free cells available for spawning and the
+ * seed everything was generated from. It holds no {@code Box2d} resource, so it can be
+ * filled ahead of time, away from the game loop, and then attached to the
+ * {@link LogicWorld} when the round starts.
+ * 
+ * @author Federico Scozzafava
+ */
+public class Level
+{
+
+	/**
+	 * The number of {@link BrickBlock}s requested.
+	 */
+	private int bricks;
+
+	/**
+	 * The free cells of the ground grid available for spawning.
+	 */
+	private final CellSet freeGround;
+
+	/**
+	 * The ground grid.
+	 */
+	private final TileMap map;
+
+	/**
+	 * The source of randomness of the level, seeded with {@link #seed}.
+	 */
+	private final Random random = new Random();
+
+	/**
+	 * The level's seed.
+	 */
+	private long seed;
+
+	/**
+	 * Instantiates a new empty {@link Level}.
+	 * 
+	 * @param width
+	 *            the grid's width expressed in {@link Block}s
+	 * @param height
+	 *            the grid's height expressed in {@link Block}s
+	 */
+	public Level(int width, int height)
+	{
+		map = new TileMap(width, height);
+		freeGround = new CellSet(width * height);
+	}
+
+	/**
+	 * Gets the number of {@link BrickBlock}s requested.
+	 * 
+	 * @return the number of {@link BrickBlock}s
+	 */
+	public int getBricks()
+	{
+		return bricks;
+	}
+
+	/**
+	 * Gets the free cells of the ground grid available for spawning.
+	 * 
+	 * @return the {@link CellSet} of the free cells
+	 */
+	public CellSet getFreeGround()
+	{
+		return freeGround;
+	}
+
+	/**
+	 * Gets the ground grid.
+	 * 
+	 * @return the {@link TileMap}
+	 */
+	public TileMap getMap()
+	{
+		return map;
+	}
+
+	/**
+	 * Gets the source of randomness of the level. After the generation it keeps drawing
+	 * from the same sequence, so that spawns follow the seed too.
+	 * 
+	 * @return the {@link Random}
+	 */
+	public Random getRandom()
+	{
+		return random;
+	}
+
+	/**
+	 * Gets the level's seed.
+	 * 
+	 * @return the seed
+	 */
+	public long getSeed()
+	{
+		return seed;
+	}
+
+	/**
+	 * Sets the parameters of the next generation of this level and reseeds its
+	 * {@link Random}.
+	 * 
+	 * @param bricks
+	 *            the number of {@link BrickBlock}s
+	 * @param seed
+	 *            the level's seed
+	 */
+	public void reset(int bricks, long seed)
+	{
+		this.bricks = bricks;
+		this.seed = seed;
+		random.setSeed(seed);
+	}
+}
@@ -0,0 +1,105 @@
+package bomberman.core.logic;
+
+import java.util.Random;
+import bomberman.core.logic.powerUp.PowerUpEnum;
+import bomberman.core.util.AliasTable;
+
+/**
+ * The LevelGenerator class lays out the ground grid of a {@link Level}: the outer walls and the
+ * pillars, the {@link BrickBlock}s and the {@link PowerUpEnum} hidden in each of them, and the
+ * free cells available for spawning. Every random choice comes from the {@link Random} of the
+ * {@link Level}, seeded with a single {@code long}, so the same seed always produces the same
+ * level.
+ * <p>
+ * Brick cells are picked with a partial Fisher-Yates shuffle over the candidate cells, so the
+ * generation time does not depend on the bricks density, and power-ups are drawn from an
+ * {@link AliasTable} in constant time.
+ * 
+ * @author Federico Scozzafava
+ */
+public class LevelGenerator
+{
+
+	/**
+	 * The power-ups that can be hidden in a {@link BrickBlock}.
+	 */
+	private static final PowerUpEnum[] POWER_UPS = PowerUpEnum.values();
+
+	/**
+	 * The {@link AliasTable} of the power-ups. The probabilities of {@link PowerUpEnum} are
+	 * consumed in declaration order and their sum is capped to one, as a cumulative walk over
+	 * a uniform value in [0, 1) would do.
+	 */
+	private static final AliasTable POWER_UP_TABLE;
+
+	static
+	{
+		float[] weights = new float[POWER_UPS.length];
+		float cumulative = 0;
+		for (int i = 0; i < POWER_UPS.length; i++)
+		{
+			float next = Math.min(1f, cumulative + POWER_UPS[i].getProbability());
+			weights[i] = next - cumulative;
+			cumulative = next;
+		}
+		POWER_UP_TABLE = new AliasTable(weights);
+	}
+
+	/**
+	 * The candidate cells for the {@link BrickBlock}s, as {@link TileMap} indexes.
+	 */
+	private int[] candidates = new int[0];
+
+	/**
+	 * Lays out the given {@link Level}, replacing its content, with the number of
+	 * {@link BrickBlock}s and the seed set by {@link Level#reset(int, long)}. A generator only
+	 * keeps a scratch buffer between two calls, so it must not be shared between threads.
+	 * 
+	 * @param level
+	 *            the {@link Level} to fill
+	 */
+	public void generate(Level level)
+	{
+		TileMap map = level.getMap();
+		CellSet freeGround = level.getFreeGround();
+		Random random = level.getRandom();
+		map.clear();
+		freeGround.clear();
+		int width = map.getWidth();
+		int height = map.getHeight();
+		if (candidates.length < width * height) candidates = new int[width * height];
+		int count = 0;
+		for (int y = 0; y < height; y++)
+			for (int x = 0; x < width; x++)
+				if (isWall(x, y, width, height))
+					map.setTile(x, y, TileMap.WALL);
+				else if (!(x < 3 && y < 3)) candidates[count++] = map.index(x, y);
+		int n = Math.min(level.getBricks(), count);
+		for (int i = 0; i < n; i++)
+		{
+			int j = i + random.nextInt(count - i);
+			int c = candidates[j];
+			candidates[j] = candidates[i];
+			candidates[i] = c;
+			PowerUpEnum powerUp = POWER_UPS[POWER_UP_TABLE.sample(random)];
+			if (i == n - 1) powerUp = PowerUpEnum.DOOR;
+			map.setTile(c % width, c / width, TileMap.BRICK);
+			map.setPowerUp(c % width, c / width, powerUp);
+		}
+		// enemies spawn away from the player's corner
+		for (int y = 3; y < height; y++)
+			for (int x = 3; x < width; x++)
+				if (map.getTile(x, y) == TileMap.FREE)
+					freeGround.add(map.index(x, y));
+	}
+
+	/**
+	 * Returns a boolean value that indicates if the given cell is a {@link WallBlock}: the
+	 * border of the grid and a pillar on every cell with both coordinates even.
+	 */
+	private static boolean isWall(int x, int y, int width, int height)
+	{
+		return y == 0 || y == height - 1 || x == 0 || x == width - 1 || x % 2 == 0
+				&& y % 2 == 0;
+	}
+}
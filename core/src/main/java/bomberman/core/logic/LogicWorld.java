@@ -1,12 +1,11 @@
 package bomberman.core.logic;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Random;
 import java.util.Set;
-import org.jbox2d.dynamics.World;
 import bomberman.core.logic.enemy.Enemy;
 import bomberman.core.logic.powerUp.PowerUp;
 import bomberman.core.logic.powerUp.PowerUpEnum;
@@ -68,45 +67,131 @@ public class LogicWorld
 	}
 
 	/**
-	 * The list of {@link BrickBlock}s in the ground grid at the moment.
+	 * The time received by {@link #update(int)} and not simulated yet, in milliseconds.
 	 */
-	private List<BrickBlock> dynamicGround;
-	
+	private int accumulator;
+
+	/**
+	 * The {@link Blast} used to compute the explosions footprint.
+	 */
+	private final Blast blast = new Blast();
+
 	/**
-	 * The {@link EntityEngine} instance.
+	 * The cells reached by the explosion chain being resolved, as {@link TileMap} indexes.
 	 */
-	private EntityEngine entityEngine = EntityEngine.getInstance();
+	private int[] reached;
+
+	/**
+	 * The {@link Bomb}s of the explosion chain being resolved.
+	 */
+	private final List<Bomb> chain = new ArrayList<Bomb>();
+
+	/**
+	 * The {@link EntityEngine} of this world.
+	 */
+	private final EntityEngine entityEngine;
 	
 	/**
-	 * The list of {@link FreeBlock}s in the ground grid at the moment.
+	 * Puts out the cell whose fire timer expired, the timer's integer is the
+	 * {@link TileMap} index of the cell.
+	 */
+	private final TimingWheel.Listener extinguisher = new TimingWheel.Listener()
+	{
+		@Override
+		public void expire(int data)
+		{
+			fireTimers[data] = -1;
+			map.extinguish(data % map.getWidth(), data / map.getWidth());
+		}
+	};
+
+	/**
+	 * The timer putting out each burning cell in {@link #wheel}, indexed as the
+	 * {@link TileMap}.
 	 */
-	private List<FreeBlock> freeGround;
+	private int[] fireTimers;
+
+	/**
+	 * The flame that last set each cell on fire, indexed as the {@link TileMap}.
+	 */
+	private int[] flames;
+
+	/**
+	 * The free cells of the ground grid still available for spawning.
+	 */
+	private CellSet freeGround;
+
+	/**
+	 * The layout of the current round.
+	 */
+	private Level level;
 	
+	/**
+	 * The {@link LevelGenerator} that lays out the grid of each round.
+	 */
+	private final LevelGenerator generator;
+
+	/**
+	 * The identifier of the last flame lit.
+	 */
+	private int lastFlame;
+
 	/**
 	 * The ground grid.
 	 */
-	private Block[][] grid;
+	private TileMap map;
+
+	/**
+	 * The layout of the next round, possibly being prepared by {@link #worker}.
+	 */
+	private Level nextLevel;
+
+	/**
+	 * Indicates if {@link #nextLevel} was prepared by {@link #prepareRound(int, long)} and not
+	 * attached yet.
+	 */
+	private boolean prepared;
 	
+	/**
+	 * The explosion by which each cell was last reached, indexed as the {@link TileMap}.
+	 */
+	private int[] stamps;
+
 	/**
 	 * The {@link ScoreManager} responsible of managing the player's score.
 	 */
 	private ScoreManager scoreManager;
 	
+	/**
+	 * The source of the seeds of the rounds not started with an explicit seed.
+	 */
+	private final Random seeds = new Random();
+
 	/**
 	 * The fixed dimension size of the {@link DynamicPhysicsEntity}'s body.
 	 */
 	private final float size;
 	
 	/**
-	 * The list of {@link WallBlock}s in the ground grid at the moment.
+	 * The number of explosions handled, used to stamp the cells reached by each of them.
 	 */
-	private List<WallBlock> staticGround;
-	
+	private int explosions;
+
 	/**
 	 * The game {@link Timer}.
 	 */
 	private Timer timer;
 	
+	/**
+	 * The {@link TimingWheel} running the gameplay timers.
+	 */
+	private final TimingWheel wheel = new TimingWheel();
+
+	/**
+	 * The thread preparing {@link #nextLevel}, null if none.
+	 */
+	private Thread worker;
+
 	/**
 	 * The x position in pixels.
 	 */
@@ -129,10 +214,36 @@ public class LogicWorld
 	 */
 	public LogicWorld(int x, int y, float fixedSize)
 	{
+		this(x, y, fixedSize, new Box2dBackend());
+	}
+
+	/**
+	 * Instantiates a new {@link LogicWorld} simulated by the given {@link PhysicsBackend}.
+	 * 
+	 * @param x
+	 *            the world's width expressed in {@link Block}s.
+	 * @param y
+	 *            the world's height expressed in {@link Block}s.
+	 * @param fixedSize
+	 *            the fixed size dimension
+	 * @param physics
+	 *            the {@link PhysicsBackend}, owned by the world from now on
+	 */
+	public LogicWorld(int x, int y, float fixedSize, PhysicsBackend physics)
+	{
+		entityEngine = new EntityEngine(physics);
 		size = fixedSize;
 		this.x = x;
 		this.y = y;
 		scoreManager = new ScoreManager();
+		generator = new LevelGenerator();
+		level = new Level(x, y);
+		nextLevel = new Level(x, y);
+		stamps = new int[x * y];
+		reached = new int[x * y];
+		flames = new int[x * y];
+		fireTimers = new int[x * y];
+		Arrays.fill(fireTimers, -1);
 	}
 
 	/**
@@ -147,31 +258,122 @@ public class LogicWorld
 	}
 
 	/**
-	 * Initialize the main grid.
+	 * Initialize the main grid from the generated {@link TileMap}, handing it to the
+	 * {@link PhysicsBackend}.
+	 */
+	private void initGrid()
+	{
+		getPhysics().setGrid(map, size);
+	}
+
+	/**
+	 * Waits for the {@link #worker} preparing the next round, if any. If the calling thread
+	 * is interrupted while waiting, the interrupt is kept and the layout being prepared is
+	 * abandoned to the worker: {@link #nextLevel} is replaced by an empty {@link Level}, so the
+	 * next round is generated on the calling thread.
+	 */
+	private void awaitNextLevel()
+	{
+		if (worker == null) return;
+		try
+		{
+			worker.join();
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			nextLevel = new Level(x, y);
+			prepared = false;
+		}
+		worker = null;
+	}
+
+	/**
+	 * Breaks the {@link BrickBlock} hit by an explosion and instantiates the {@link PowerUp}
+	 * it contains. Called by {@link #handleExplosion(Bomb)}.
 	 * 
 	 * @param x
-	 *            the grid's width expressed in {@link Block}s
+	 *            the x coordinate in grid of the {@link BrickBlock}
 	 * @param y
-	 *            the grid's height expressed in {@link Block}s
+	 *            the y coordinate in grid of the {@link BrickBlock}
+	 * @param res
+	 *            the list where to add the instanced {@link PowerUp}
 	 */
-	private void initGrid(int x, int y)
+	private void breakBrick(int x, int y, List<DynamicPhysicsEntity> res)
 	{
-		for (int j = 0; j < x; j++)
-			for (int k = 0; k < y; k++)
-				if (k == 0 || k == y - 1 || j == 0 || j == x - 1 || j % 2 == 0
-						&& k % 2 == 0)
-				{
-					WallBlock cm = new WallBlock(j * size, k * size, size, this);
-					grid[j][k] = cm;
-					staticGround.add(cm);
-				}
-				else
-				{
-					FreeBlock temp = new FreeBlock(j * size, k * size, size,
-							this);
-					grid[j][k] = temp;
-					if (j > 2 && k > 2) freeGround.add(temp);
-				}
+		PowerUpEnum powerUp = map.getPowerUp(x, y);
+		Block c = removeBrick(x, y);
+		if (powerUp == null) return;
+		scoreManager.increaseScore(Constants.BLOCK_SCORE);
+		try
+		{
+			// the PowerUp registers itself in the EntityEngine
+			PowerUp p = powerUp.newInstance(this, c);
+			if (p != null) res.add(p);
+		}
+		catch (Exception e)
+		{
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Marks a cell as reached by the explosion chain being resolved. Called by
+	 * {@link #handleExplosion(Bomb)}.
+	 * 
+	 * @param x
+	 *            the x coordinate in grid
+	 * @param y
+	 *            the y coordinate in grid
+	 * @param n
+	 *            the number of cells reached so far
+	 * @return the number of cells reached, including the given one
+	 */
+	private int reach(int x, int y, int n)
+	{
+		int i = map.index(x, y);
+		if (stamps[i] == explosions) return n;
+		stamps[i] = explosions;
+		reached[n] = i;
+		return n + 1;
+	}
+
+	/**
+	 * Marks a {@link BrickBlock} as hit by the explosion chain being resolved. Hit
+	 * {@link BrickBlock}s are stored backwards from the end of the buffer of the reached
+	 * cells. Called by {@link #handleExplosion(Bomb)}.
+	 * 
+	 * @param x
+	 *            the x coordinate in grid
+	 * @param y
+	 *            the y coordinate in grid
+	 * @param n
+	 *            the buffer index of the last {@link BrickBlock} hit so far
+	 * @return the buffer index of the last {@link BrickBlock} hit, including the given one
+	 */
+	private int breakable(int x, int y, int n)
+	{
+		int i = map.index(x, y);
+		if (stamps[i] == explosions) return n;
+		stamps[i] = explosions;
+		reached[--n] = i;
+		return n;
+	}
+
+	/**
+	 * Appends to the explosion chain the {@link Bomb} placed in the given cell and frees
+	 * the cell. Called by {@link #handleExplosion(Bomb)}.
+	 * 
+	 * @param x
+	 *            the x coordinate in grid
+	 * @param y
+	 *            the y coordinate in grid
+	 */
+	private void chain(int x, int y)
+	{
+		Bomb b = map.getBomb(x, y);
+		map.setBomb(x, y, null);
+		if (b.detonate()) chain.add(b);
 	}
 
 	/**
@@ -184,27 +386,41 @@ public class LogicWorld
 	public List<Block> getAdjacent(Block c)
 	{
 		List<Block> set = new ArrayList<Block>();
-		Coordinate coords = null;
-		try
-		{
-			coords = getCoordinate(c);
-		}
-		catch (RuntimeException e)
-		{
-			coords = getCoordinate(getBlockAt(c.getCenter()));
-		}
+		Coordinate coords = getCoordinate(c);
 		for (int x = coords.x() - 1; x <= coords.x() + 1; x++)
 			for (int y = coords.y() - 1; y <= coords.y() + 1; y++)
 				if (x > 0 && x < this.x && y > 0 && y < this.y
 						&& (x == coords.x() || y == coords.y()))
-					set.add(grid[x][y]);
+					set.add(getBlock(x, y));
 		return set;
 	}
 
+	/**
+	 * Gets the {@link Block} view over the given cell of the grid.
+	 * 
+	 * @param x
+	 *            the x coordinate in grid
+	 * @param y
+	 *            the y coordinate in grid
+	 * @return the {@link Block}
+	 */
+	public Block getBlock(int x, int y)
+	{
+		switch (map.getTile(x, y))
+		{
+		case TileMap.WALL:
+			return new WallBlock(x, y, this);
+		case TileMap.BRICK:
+			return new BrickBlock(x, y, this);
+		default:
+			return new FreeBlock(x, y, this);
+		}
+	}
+
 	/**
 	 * Gets the bombs actually in game.
 	 * 
-	 * @return the bombs
+	 * @return the live read-only view of the bombs
 	 */
 	public List<Bomb> getBombs()
 	{
@@ -223,7 +439,7 @@ public class LogicWorld
 		for (int x = 0; x < this.x; x++)
 			for (int y = 0; y < this.y; y++)
 				if (x == 0 || x == this.x - 1 || y == 0 || y == this.y - 1)
-					set.add(grid[x][y]);
+					set.add(getBlock(x, y));
 		return set;
 	}
 
@@ -236,10 +452,21 @@ public class LogicWorld
 	 */
 	public Block getBlockAt(Vector2 v)
 	{
-		for (Block[] j : grid)
-			for (Block y : j)
-				if (y.contains(v)) return y;
-		return null;
+		if (v.getX() < 0 || v.getY() < 0) return null;
+		int j = (int) (v.getX() / size);
+		int k = (int) (v.getY() / size);
+		if (j >= x || k >= y) return null;
+		return getBlock(j, k);
+	}
+
+	/**
+	 * Gets the size of a {@link Block} side in pixels.
+	 * 
+	 * @return the size in pixels
+	 */
+	public float getBlockSize()
+	{
+		return size;
 	}
 
 	/**
@@ -248,17 +475,15 @@ public class LogicWorld
 	 * @param c
 	 *            the {@link Block}
 	 * @return the coordinate
-	 * @throws RuntimeException if the {@link Block} isn't in grid.
+	 * @throws RuntimeException if the {@link Block} lies outside the grid.
 	 */
 	private Coordinate getCoordinate(Block c)
 	{
-		for (int x = 0; x < this.x; x++)
-			for (int y = 0; y < this.y; y++)
-			{
-				Block target = grid[x][y];
-				if (target == c) return new Coordinate(x, y);
-			}
-		throw new RuntimeException("block not in grid");
+		int j = c.getGridX();
+		int k = c.getGridY();
+		if (j < 0 || j >= x || k < 0 || k >= y)
+			throw new RuntimeException("block not in grid");
+		return new Coordinate(j, k);
 	}
 
 	/**
@@ -268,19 +493,54 @@ public class LogicWorld
 	 */
 	public List<BrickBlock> getDynamicGround()
 	{
-		return dynamicGround;
+		List<BrickBlock> res = new ArrayList<BrickBlock>();
+		for (int j = 0; j < x; j++)
+			for (int k = 0; k < y; k++)
+				if (map.getTile(j, k) == TileMap.BRICK)
+					res.add(new BrickBlock(j, k, this));
+		return res;
 	}
 
 	/**
 	 * Gets the enemies actually in {@link EntityEngine}.
 	 * 
-	 * @return the enemies
+	 * @return the live read-only view of the enemies
 	 */
 	public List<Enemy> getEnemies()
 	{
 		return entityEngine.getEnemies();
 	}
 
+	/**
+	 * Gets the number of enemies actually in {@link EntityEngine}.
+	 * 
+	 * @return the number of enemies
+	 */
+	public int getEnemyCount()
+	{
+		return entityEngine.getEnemyCount();
+	}
+
+	/**
+	 * Gets the {@link EntityEngine} of this world.
+	 * 
+	 * @return the {@link EntityEngine}
+	 */
+	public EntityEngine getEntityEngine()
+	{
+		return entityEngine;
+	}
+
+	/**
+	 * Gets the number of burning cells in grid.
+	 * 
+	 * @return the number of burning cells
+	 */
+	public int getFireCount()
+	{
+		return map.getBurningCount();
+	}
+
 	/**
 	 * Gets the adjacent {@link FreeBlock}s to the given {@link Block}.
 	 * 
@@ -291,24 +551,59 @@ public class LogicWorld
 	public List<Block> getFreeAdjacent(Block c)
 	{
 		List<Block> res = new ArrayList<Block>();
-		for (Block x : getAdjacent(c))
-			if (x instanceof FreeBlock) res.add(x);
+		Coordinate coords = getCoordinate(c);
+		for (int x = coords.x() - 1; x <= coords.x() + 1; x++)
+			for (int y = coords.y() - 1; y <= coords.y() + 1; y++)
+				if (x > 0 && x < this.x && y > 0 && y < this.y
+						&& (x == coords.x() || y == coords.y())
+						&& map.getTile(x, y) == TileMap.FREE)
+					res.add(new FreeBlock(x, y, this));
 		return res;
 	}
 
 	/**
-	 * Gets the a random {@link FreeBlock} in grid.
+	 * Gets the {@link PhysicsBackend} managed in {@link EntityEngine}.
+	 * 
+	 * @return the {@link PhysicsBackend}
+	 */
+	public PhysicsBackend getPhysics()
+	{
+		return entityEngine.getPhysics();
+	}
+
+	/**
+	 * Gets the a random {@link FreeBlock} in grid, which is no longer available for the
+	 * next calls. The choice follows the round's seed.
 	 * 
 	 * @return the random {@link FreeBlock}
 	 */
 	public FreeBlock getRandomFreeBlock()
 	{
-		if (freeGround.size() < 1)
+		if (freeGround.isEmpty())
 			throw new RuntimeException("no free blocks available");
-		Random x = new Random();
-		FreeBlock temp = freeGround.get(x.nextInt(freeGround.size()));
-		freeGround.remove(temp);
-		return temp;
+		int i = freeGround.removeRandom(level.getRandom());
+		return new FreeBlock(i % x, i / x, this);
+	}
+
+	/**
+	 * Gets the source of randomness of the current round. It follows the round's seed, so
+	 * the entities drawing from it behave the same way in every run of the same round.
+	 * 
+	 * @return the {@link Random}
+	 */
+	public Random getRandom()
+	{
+		return level.getRandom();
+	}
+
+	/**
+	 * Gets the seed of the current round.
+	 * 
+	 * @return the seed
+	 */
+	public long getSeed()
+	{
+		return level.getSeed();
 	}
 
 	/**
@@ -329,7 +624,22 @@ public class LogicWorld
 	 */
 	public List<WallBlock> getStaticGround()
 	{
-		return staticGround;
+		List<WallBlock> res = new ArrayList<WallBlock>();
+		for (int j = 0; j < x; j++)
+			for (int k = 0; k < y; k++)
+				if (map.getTile(j, k) == TileMap.WALL)
+					res.add(new WallBlock(j, k, this));
+		return res;
+	}
+
+	/**
+	 * Gets the {@link TileMap} holding the state of the ground grid.
+	 * 
+	 * @return the {@link TileMap}
+	 */
+	public TileMap getTileMap()
+	{
+		return map;
 	}
 
 	/**
@@ -344,66 +654,134 @@ public class LogicWorld
 	}
 
 	/**
-	 * Gets the {@code Box2d}'s {@link World} managed in {@link EntityEngine}.
+	 * Gets the {@link TimingWheel} running the gameplay timers, where the entities schedule
+	 * their expirations.
 	 * 
-	 * @return the {@link World}
+	 * @return the {@link TimingWheel}
 	 */
-	public World getWorld()
+	public TimingWheel getTimingWheel()
 	{
-		return entityEngine.getWorld();
+		return wheel;
 	}
 
 	/**
-	 * Handle {@link Bomb}s explosion. Called by the {@link Bomb}
+	 * Gets the newest flame burning in the cells overlapped by the given box. A box no larger
+	 * than a cell overlaps at most four cells.
+	 * 
+	 * @param left
+	 *            the left side of the box in pixels
+	 * @param top
+	 *            the top side of the box in pixels
+	 * @param right
+	 *            the right side of the box in pixels
+	 * @param bottom
+	 *            the bottom side of the box in pixels
+	 * @return the newest flame's identifier, 0 if none of the cells is burning
+	 */
+	int getFlameIn(float left, float top, float right, float bottom)
+	{
+		int j0 = Math.max(0, (int) (left / size));
+		int k0 = Math.max(0, (int) (top / size));
+		int j1 = Math.min(x - 1, (int) (right / size));
+		int k1 = Math.min(y - 1, (int) (bottom / size));
+		int res = 0;
+		for (int k = k0; k <= k1; k++)
+			for (int j = j0; j <= j1; j++)
+				if (map.isBurning(j, k)) res = Math.max(res, flames[map.index(j, k)]);
+		return res;
+	}
+
+	/**
+	 * Handle {@link Bomb}s explosion. Called by the {@link Bomb}. Every {@link Bomb} reached
+	 * by the explosion goes off in the same tick, so the whole chain is resolved in a
+	 * single pass: the footprints are computed on the grid as it was before the
+	 * explosion, then each reached cell is set on fire once and each hit {@link BrickBlock}
+	 * breaks once, even if the footprints of the chain overlap.
 	 * 
 	 * @param bomb
 	 *            the {@link Bomb}
-	 * @return the list of {@link FireEntity} instances produced by the explosion
+	 * @return the list of {@link PowerUp} instances produced by the explosion
 	 */
 	protected List<DynamicPhysicsEntity> handleExplosion(Bomb bomb)
 	{
 		List<DynamicPhysicsEntity> res = new ArrayList<DynamicPhysicsEntity>();
+		if (!bomb.detonate()) return res;
+		// a new stamp, so no cell reached by an earlier explosion is left out
+		explosions++;
+		chain.clear();
+		chain.add(bomb);
 		Block center = getBlockAt(bomb.getCenter());
-		Coordinate pos = getCoordinate(center);
-		int range = bomb.getRange();
-		for (int x = pos.x(); x >= pos.x() - range; x--)
-			if (0 < x && x < this.x)
-			{
-				DynamicPhysicsEntity f = instanceAt(x, pos.y);
-				if (f == null) break;
-				res.add(f);
-				if (f instanceof PowerUp) break;
-
-			}
-		for (int x = pos.x() + 1; x <= pos.x() + range; x++)
-			if (0 < x && x < this.x)
-			{
-				DynamicPhysicsEntity f = instanceAt(x, pos.y);
-				if (f == null) break;
-				res.add(f);
-				if (f instanceof PowerUp) break;
-
-			}
-		for (int y = pos.y() - 1; y >= pos.y() - range; y--)
-			if (0 < y && y < this.y)
+		if (center != null && center.getBomb() == bomb) center.removeBomb();
+		int fires = 0;
+		int bricks = reached.length;
+		for (int n = 0; n < chain.size(); n++)
+		{
+			Bomb b = chain.get(n);
+			center = getBlockAt(b.getCenter());
+			if (center == null) continue;
+			blast.compute(map, center.getGridX(), center.getGridY(), b.getRange());
+			int x = blast.getX();
+			int y = blast.getY();
+			for (int i = x; i >= blast.getLeft(); i--)
+				fires = reach(i, y, fires);
+			for (int i = x + 1; i <= blast.getRight(); i++)
+				fires = reach(i, y, fires);
+			for (int i = y - 1; i >= blast.getTop(); i--)
+				fires = reach(x, i, fires);
+			for (int i = y + 1; i <= blast.getBottom(); i++)
+				fires = reach(x, i, fires);
+			// bricks are stored from the end of the same buffer
+			if (blast.getLeftBrick() >= 0)
+				bricks = breakable(blast.getLeftBrick(), y, bricks);
+			if (blast.getRightBrick() >= 0)
+				bricks = breakable(blast.getRightBrick(), y, bricks);
+			if (blast.getTopBrick() >= 0)
+				bricks = breakable(x, blast.getTopBrick(), bricks);
+			if (blast.getBottomBrick() >= 0)
+				bricks = breakable(x, blast.getBottomBrick(), bricks);
+			int i = map.firstBombInRow(y, blast.getLeft(), blast.getRight());
+			while (i >= 0)
 			{
-				DynamicPhysicsEntity f = instanceAt(pos.x, y);
-				if (f == null) break;
-				res.add(f);
-				if (f instanceof PowerUp) break;
-
+				chain(i, y);
+				i = map.firstBombInRow(y, i + 1, blast.getRight());
 			}
-		for (int y = pos.y() + 1; y <= pos.y() + range; y++)
-			if (0 < y && y < this.y)
+			i = map.firstBombInColumn(x, blast.getTop(), blast.getBottom());
+			while (i >= 0)
 			{
-				DynamicPhysicsEntity f = instanceAt(pos.x, y);
-				if (f == null) break;
-				res.add(f);
-				if (f instanceof PowerUp) break;
+				chain(x, i);
+				i = map.firstBombInColumn(x, i + 1, blast.getBottom());
 			}
+		}
+		for (Bomb b : chain)
+			b.destroy();
+		chain.clear();
+		int width = map.getWidth();
+		for (int n = 0; n < fires; n++)
+			ignite(reached[n] % width, reached[n] / width);
+		for (int n = reached.length - 1; n >= bricks; n--)
+			breakBrick(reached[n] % width, reached[n] / width, res);
 		return res;
 	}
 
+	/**
+	 * Sets a cell on fire with a new flame. Called by {@link #handleExplosion(Bomb)}.
+	 * 
+	 * @param x
+	 *            the x coordinate in grid
+	 * @param y
+	 *            the y coordinate in grid
+	 * @return true if the cell was not burning
+	 */
+	protected boolean ignite(int x, int y)
+	{
+		int i = map.index(x, y);
+		flames[i] = ++lastFlame;
+		// a cell already burning is rekindled
+		wheel.cancel(fireTimers[i]);
+		fireTimers[i] = wheel.schedule(Constants.FIRE_TIME, extinguisher, i);
+		return map.ignite(x, y);
+	}
+
 	/**
 	 * Increase player's score.
 	 * 
@@ -424,57 +802,49 @@ public class LogicWorld
 	 *            the {@link Timer} initial value
 	 */
 	public void initializeGame(int blocks, int time)
+	{
+		initializeGame(blocks, time, seeds.nextLong());
+	}
+
+	/**
+	 * Initialize a new round with the specified number of {@link BrickBlock}s, {@link Timer}
+	 * value and seed. The same seed always lays out the same grid. If the layout was already
+	 * prepared by {@link #prepareRound(int, long)} with the same parameters, it is just
+	 * attached.
+	 * 
+	 * @param blocks
+	 *            the number of {@link BrickBlock} in grid
+	 * @param time
+	 *            the {@link Timer} initial value
+	 * @param seed
+	 *            the round's seed
+	 */
+	public void initializeGame(int blocks, int time, long seed)
 	{
 		timer = new Timer(time);
-		grid = new Block[x][y];
+		accumulator = 0;
 		// reset the bombs status
 		for (Bomb b : entityEngine.getBombs())
 			b.destroy();
+		// the physics and its grid survive the reset
 		entityEngine.removeAll();
-		entityEngine.clearWorld();
-		dynamicGround = new LinkedList<BrickBlock>();
-		staticGround = new ArrayList<WallBlock>();
-		freeGround = new LinkedList<FreeBlock>();
-		initGrid(x, y);
-		placeBloks(blocks);
-	}
-
-	/**
-	 * Method responsible of instantiating {@link FireEntity} and / or {@link PowerUp} objects
-	 * when an explosion occurs. Called by {@link #handleExplosion(Bomb)}.
-	 * 
-	 * @param x
-	 *            the x coordinate in grid of the {@link Block} 
-	 *            where to instantiate the object
-	 * @param y
-	 *            the y coordinate in grid of the {@link Block} 
-	 *            where to instantiate the object
-	 * @return the adequate {@link DynamicPhysicsEntity}
-	 */
-	private DynamicPhysicsEntity instanceAt(int x, int y)
-	{
-		Block c = grid[x][y];
-		grid[x][y] = c.destroy();
-		dynamicGround.remove(c);
-		if (c instanceof FreeBlock)
-			return new FireEntity(this, c);
-		else if (c instanceof BrickBlock
-				&& ((BrickBlock) c).getPowerUp() != null)
+		// the fire of the last round goes out with its map
+		wheel.clear();
+		Arrays.fill(fireTimers, -1);
+		awaitNextLevel();
+		if (!prepared || nextLevel.getBricks() != blocks
+				|| nextLevel.getSeed() != seed)
 		{
-			scoreManager.increaseScore(Constants.BLOCK_SCORE);
-			try
-			{
-				PowerUp p = ((BrickBlock) c).getPowerUp().newInstance(this, c);
-
-				if (p != null) addEntity(p);
-				return p;
-			}
-			catch (Exception e)
-			{
-				e.printStackTrace();
-			}
+			nextLevel.reset(blocks, seed);
+			generator.generate(nextLevel);
 		}
-		return null;
+		prepared = false;
+		Level l = level;
+		level = nextLevel;
+		nextLevel = l;
+		map = level.getMap();
+		freeGround = level.getFreeGround();
+		initGrid();
 	}
 
 	/**
@@ -486,38 +856,49 @@ public class LogicWorld
 	}
 
 	/**
-	 * Places {@link BrickBlock}s in grid and instantiate the
-	 * relative {@link PowerUp}.
+	 * Starts preparing the layout of the next round on a background thread, so that
+	 * {@link #initializeGame(int, int, long)} only has to attach it. Meant to be called while
+	 * the game loop is not updating this world, between two rounds.
 	 * 
-	 * @param n
-	 *            the number of {@link Block}s to place
+	 * @param blocks
+	 *            the number of {@link BrickBlock} in grid
+	 * @param seed
+	 *            the round's seed
 	 */
-	private void placeBloks(int n)
+	public void prepareRound(int blocks, long seed)
 	{
-		int count = n;
-		while (count > 0)
+		awaitNextLevel();
+		nextLevel.reset(blocks, seed);
+		prepared = true;
+		final Level l = nextLevel;
+		worker = new Thread(new Runnable()
 		{
-			int a = new Random().nextInt(x - 1);
-			int b = new Random().nextInt(y - 1);
-			if (grid[a][b] instanceof FreeBlock && !(a < 3 && b < 3))
+			@Override
+			public void run()
 			{
-				freeGround.remove(grid[a][b]);
-				double rand = new Random().nextDouble();
-				double v = 0.0;
-				PowerUpEnum powerUp = null;
-				for (PowerUpEnum x : PowerUpEnum.values())
-				{
-					powerUp = x;
-					v += powerUp.getProbability();
-					if (v > rand) break;
-				}
-				if (--count == 1) powerUp = PowerUpEnum.DOOR;
-				BrickBlock cm = new BrickBlock(powerUp, a * size, b * size,
-						size, this);
-				grid[a][b] = cm;
-				dynamicGround.add(cm);
+				generator.generate(l);
 			}
-		}
+		}, "level-generator");
+		worker.setDaemon(true);
+		worker.start();
+	}
+
+	/**
+	 * Removes the {@link BrickBlock} in the given cell, clearing it in the
+	 * {@link PhysicsBackend} and leaving free ground. Called by {@link BrickBlock#destroy()}.
+	 * 
+	 * @param x
+	 *            the x coordinate in grid
+	 * @param y
+	 *            the y coordinate in grid
+	 * @return the {@link FreeBlock} left in the cell
+	 */
+	Block removeBrick(int x, int y)
+	{
+		getPhysics().clearTile(x, y);
+		map.setTile(x, y, TileMap.FREE);
+		map.setPowerUp(x, y, null);
+		return new FreeBlock(x, y, this);
 	}
 
 	/**
@@ -532,16 +913,64 @@ public class LogicWorld
 	}
 
 	/**
-	 * Updates the {@link EntityEngine}.
+	 * Makes the entity dormant in the {@link EntityEngine}.
+	 * 
+	 * @param e
+	 *            the {@link Entity}
+	 * @see EntityEngine#sleep(Entity)
+	 */
+	public void sleepEntity(Entity e)
+	{
+		entityEngine.sleep(e);
+	}
+
+	/**
+	 * Advances the simulation by one tick of {@link Constants#TICK_TIME} milliseconds.
+	 */
+	protected void step()
+	{
+		// the timers expiring in this tick go off before the entities are updated
+		wheel.advance();
+		entityEngine.update(Constants.TICK_TIME);
+		timer.update(Constants.TICK_TIME);
+		if (timer.getTimeInt() < 0) lose();
+	}
+
+	/**
+	 * Advances the simulation by the given time. The time is accumulated and consumed in
+	 * fixed ticks by {@link #step()}, at most {@link Constants#MAX_CATCH_UP_TICKS} of them
+	 * per call: the time beyond that is dropped, so a long hitch slows the game down instead
+	 * of freezing it while catching up. The time left over is kept for the next call.
 	 * 
 	 * @param delta
-	 *            the delta time parameter
+	 *            the elapsed time in milliseconds
 	 */
 	public void update(int delta)
 	{
-		entityEngine.update(delta);
-		timer.update(delta);
-		if (timer.getTimeInt() < 0) lose();
+		accumulator += delta;
+		int n = 0;
+		while (accumulator >= Constants.TICK_TIME && timer.getTimeInt() >= 0)
+		{
+			if (n++ == Constants.MAX_CATCH_UP_TICKS)
+			{
+				accumulator %= Constants.TICK_TIME;
+				break;
+			}
+			step();
+			accumulator -= Constants.TICK_TIME;
+		}
+	}
+
+	/**
+	 * Wakes the dormant entity in the {@link EntityEngine}.
+	 * 
+	 * @param e
+	 *            the {@link Entity}
+	 * @see EntityEngine#wake(Entity)
+	 */
+	public void wakeEntity(Entity e)
+	{
+		entityEngine.wake(e);
 	}
 
 	/**
@@ -0,0 +1,189 @@
+package bomberman.core.logic;
+
+import bomberman.core.util.TickProfiler;
+
+/**
+ * The PhysicsBackend interface is the physics engine used by the {@link EntityEngine} to move
+ * the {@link DynamicPhysicsEntity} instances and to detect their contacts. Bodies are addressed
+ * by an id returned by {@link #createBody}; positions are expressed in pixels and velocities in
+ * pixels per second. As the {@link PhysicsEntity} positions, a body position is the center of
+ * its square and a grid cell is centered on its top left corner.
+ * <p>
+ * The solid cells of the ground grid are given as a whole through {@link #setGrid}, each
+ * backend decides how to represent them.
+ * 
+ * @author Federico Scozzafava
+ * @see Box2dBackend
+ * @see TileBackend
+ */
+public interface PhysicsBackend
+{
+
+	/**
+	 * The Listener interface receives the contacts detected by a {@link PhysicsBackend}.
+	 */
+	public interface Listener
+	{
+
+		/**
+		 * Called when two bodies start touching.
+		 * 
+		 * @param a
+		 *            the owner of the first body
+		 * @param b
+		 *            the owner of the second body
+		 */
+		public void beginContact(PhysicsEntity a, PhysicsEntity b);
+
+		/**
+		 * Called when two bodies stop touching.
+		 * 
+		 * @param a
+		 *            the owner of the first body
+		 * @param b
+		 *            the owner of the second body
+		 */
+		public void endContact(PhysicsEntity a, PhysicsEntity b);
+	}
+
+	/**
+	 * Discards the contacts detected and not reported yet.
+	 */
+	public void clearContacts();
+
+	/**
+	 * Makes a cell of the ground grid walkable, after its {@link BrickBlock} is broken.
+	 * 
+	 * @param x
+	 *            the x coordinate in grid
+	 * @param y
+	 *            the y coordinate in grid
+	 */
+	public void clearTile(int x, int y);
+
+	/**
+	 * Creates a new movable body.
+	 * 
+	 * @param owner
+	 *            the {@link PhysicsEntity} reported in the contacts of the body
+	 * @param x
+	 *            the x position of the center in pixels
+	 * @param y
+	 *            the y position of the center in pixels
+	 * @param radius
+	 *            the half size of the body in pixels
+	 * @param sensor
+	 *            true if the body detects contacts without colliding
+	 * @return the id of the body
+	 */
+	public int createBody(PhysicsEntity owner, float x, float y, float radius,
+			boolean sensor);
+
+	/**
+	 * Destroys a body. Its pending contacts are not reported.
+	 * 
+	 * @param body
+	 *            the id of the body
+	 */
+	public void destroyBody(int body);
+
+	/**
+	 * Gets the number of bodies in the backend, the ones of the grid included.
+	 * 
+	 * @return the number of bodies
+	 */
+	public int getBodyCount();
+
+	/**
+	 * Gets the x position of a body.
+	 * 
+	 * @param body
+	 *            the id of the body
+	 * @return the x position of the center in pixels
+	 */
+	public float getX(int body);
+
+	/**
+	 * Gets the y position of a body.
+	 * 
+	 * @param body
+	 *            the id of the body
+	 * @return the y position of the center in pixels
+	 */
+	public float getY(int body);
+
+	/**
+	 * Sets the ground grid the bodies collide with. Every cell that is not
+	 * {@link TileMap#FREE} is solid. Called at the beginning of each round, the walls never
+	 * change between two calls.
+	 * 
+	 * @param map
+	 *            the {@link TileMap}
+	 * @param size
+	 *            the size of a cell in pixels
+	 */
+	public void setGrid(TileMap map, float size);
+
+	/**
+	 * Sets whether a body can be pushed by the other bodies.
+	 * 
+	 * @param body
+	 *            the id of the body
+	 * @param movable
+	 *            true if the body can be pushed, false if it stays in place
+	 */
+	public void setMovable(int body, boolean movable);
+
+	/**
+	 * Moves a body.
+	 * 
+	 * @param body
+	 *            the id of the body
+	 * @param x
+	 *            the x position of the center in pixels
+	 * @param y
+	 *            the y position of the center in pixels
+	 */
+	public void setPosition(int body, float x, float y);
+
+	/**
+	 * Sets the {@link TickProfiler} timing the step, the contacts that began and the ones
+	 * that ended, each as a phase of its own.
+	 * 
+	 * @param profiler
+	 *            the {@link TickProfiler}, null to stop timing
+	 */
+	public void setProfiler(TickProfiler profiler);
+
+	/**
+	 * Sets whether a body detects contacts without colliding.
+	 * 
+	 * @param body
+	 *            the id of the body
+	 * @param sensor
+	 *            true if the body is a sensor
+	 */
+	public void setSensor(int body, boolean sensor);
+
+	/**
+	 * Sets the velocity of a body.
+	 * 
+	 * @param body
+	 *            the id of the body
+	 * @param vx
+	 *            the x velocity in pixels per second
+	 * @param vy
+	 *            the y velocity in pixels per second
+	 */
+	public void setVelocity(int body, float vx, float vy);
+
+	/**
+	 * Advances the simulation and reports the contacts that began and ended, in this order.
+	 * 
+	 * @param dt
+	 *            the time step in seconds
+	 * @param listener
+	 *            the {@link Listener} of the contacts
+	 */
+	public void step(float dt, Listener listener);
+}
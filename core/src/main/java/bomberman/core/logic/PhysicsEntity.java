@@ -1,50 +1,14 @@
 package bomberman.core.logic;
 
-import org.jbox2d.dynamics.Body;
-
 import bomberman.core.util.Vector2;
 
 /**
- * An interface for entities that have an associated {@link Body} for modeling
- * their physical interactions.
+ * An interface for entities that have an associated body in the {@link PhysicsBackend} for
+ * modeling their physical interactions.
  */
 public interface PhysicsEntity
 {
 
-	/**
-	 * A marker interface for whether this physics entity listens for contact
-	 * with other entities.
-	 * 
-	 * @see HasContactEvent
-	 */
-	public interface HasContactListener
-	{
-
-		/**
-		 * Called when this entity contacts another {@link PhysicsEntity}
-		 * instance.
-		 * 
-		 * @param other
-		 *            the other {@link PhysicsEntity}
-		 */
-		public void contact(PhysicsEntity other);
-
-		/**
-		 * Called when this entity release the contact with another {@link PhysicsEntity}.
-		 * 
-		 * @param other
-		 *            the other {@link PhysicsEntity}
-		 */
-		public void release(PhysicsEntity other);
-	}
-
-	/**
-	 * Returns the body used in physics simulation for this entity.
-	 * 
-	 * @return the body
-	 */
-	public Body getBody();
-
 	/**
 	 * Gets the body dimensions in pixels.
 	 * 
@@ -80,6 +44,14 @@ public interface PhysicsEntity
 	 */
 	public Vector2 getCenter();
 
+	/**
+	 * Gets the {@link CollisionKind} of the entity, which tells the entities it comes in
+	 * contact with and the {@link CollisionRules} it follows.
+	 * 
+	 * @return the {@link CollisionKind}
+	 */
+	public CollisionKind getCollisionKind();
+
 	/**
 	 * Gets the entity width and height dimension (assuming square reference system}.
 	 * 
@@ -0,0 +1,83 @@
+package bomberman.core.logic;
+
+/**
+ * The PhysicsKind enum lists the {@link PhysicsBackend}s a {@link LogicWorld} can be simulated
+ * by, so that the headless runs and the benchmarks can select one by name.
+ * 
+ * @author Federico Scozzafava
+ */
+public enum PhysicsKind
+{
+
+	/**
+	 * The {@link Box2dBackend}, the one of the game.
+	 */
+	BOX2D("box2d")
+	{
+		@Override
+		public PhysicsBackend create()
+		{
+			return new Box2dBackend();
+		}
+	},
+
+	/**
+	 * The {@link TileBackend}.
+	 */
+	TILE("tile")
+	{
+		@Override
+		public PhysicsBackend create()
+		{
+			return new TileBackend();
+		}
+	};
+
+	/**
+	 * Gets the {@link PhysicsKind} with the given name.
+	 * 
+	 * @param name
+	 *            the name, "box2d" or "tile"
+	 * @return the {@link PhysicsKind}
+	 * @throws RuntimeException
+	 *             if no {@link PhysicsKind} has that name
+	 */
+	public static PhysicsKind parse(String name)
+	{
+		for (PhysicsKind k : values())
+			if (k.name.equals(name)) return k;
+		throw new RuntimeException("unknown physics " + name);
+	}
+
+	/**
+	 * The name of the {@link PhysicsKind}.
+	 */
+	private final String name;
+
+	/**
+	 * Instantiates a new {@link PhysicsKind}.
+	 * 
+	 * @param name
+	 *            the name
+	 */
+	private PhysicsKind(String name)
+	{
+		this.name = name;
+	}
+
+	/**
+	 * Creates a new {@link PhysicsBackend} of this kind.
+	 * 
+	 * @return the {@link PhysicsBackend}
+	 */
+	public abstract PhysicsBackend create();
+
+	/* (non-Javadoc)
+	 * @see java.lang.Enum#toString()
+	 */
+	@Override
+	public String toString()
+	{
+		return name;
+	}
+}
@@ -60,7 +60,7 @@ public class Strategy1 implements MoveStrategy
 		if (entity == null)
 			throw new RuntimeException(
 					"Strategy class not correctly initialized");
-		Random x = new Random();
+		Random x = logicWorld.getRandom();
 		visited.push(current);
 		List<Block> adjacents = logicWorld.getFreeAdjacent(current);
 		adjacents.size();
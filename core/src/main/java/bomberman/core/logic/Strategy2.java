@@ -78,7 +78,7 @@ public class Strategy2 implements MoveStrategy
 			throw new RuntimeException(
 					"Strategy class not correctly initialized");
 		oldIndex = currentIndex;
-		Random x = new Random();
+		Random x = logicWorld.getRandom();
 		visited.push(current);
 		List<Block> adjacents = logicWorld.getAdjacent(current);
 		adjacents.removeAll(border);
@@ -0,0 +1,659 @@
+package bomberman.core.logic;
+
+import java.util.Arrays;
+
+import bomberman.core.util.TickProfiler;
+
+/**
+ * The TileBackend class is a {@link PhysicsBackend} made for the ground grid, with no
+ * {@code Box2d} involved. Bodies are axis aligned squares stored in parallel arrays; the grid is
+ * read straight from the {@link TileMap}, so breaking a {@link BrickBlock} costs nothing.
+ * <p>
+ * Each step moves the bodies one axis at a time, in sub steps no longer than their half size:
+ * a solid body stops against the solid cells and against the other solid bodies, pushing them
+ * if they are movable, while a sensor goes through everything. A body blocked by the corner of
+ * a cell slides around it, as a circle would. The bodies are then bucketed by cell in a
+ * spatial hash and each body is tested against the ones in the 3x3 cells around it, as no body
+ * is larger than a cell. The touching pairs are sorted and compared with the ones of the
+ * previous step to report the contacts that began and ended.
+ * <p>
+ * As in {@code Box2d}, two bodies that cannot be pushed never touch each other, and neither
+ * do two bodies whose {@link CollisionKind}s are not paired. A body whose kind is not paired
+ * with {@link CollisionKind#GRID} goes through the solid cells.
+ * <p>
+ * The contacts reported are the same ones the {@link Box2dBackend} reports, but the bodies do
+ * not move quite the same: a body here is a square where {@code Box2d} has a circle, so it
+ * stops a little earlier against a corner and slides around it by this class's own rule rather
+ * than by rolling; and a push hands the pushing velocity over at once, with no impulse to
+ * spread over the solver iterations. A round played with a seed may therefore end differently
+ * on each backend, so the results of the headless runs are only comparable within a backend,
+ * which is selected by {@link PhysicsKind}.
+ * 
+ * @author Federico Scozzafava
+ */
+public class TileBackend implements PhysicsBackend
+{
+
+	/**
+	 * The tolerance in pixels used to let bodies slide along the solid cells and bodies they
+	 * touch, and to detect the contact of two touching bodies.
+	 */
+	private static final float EPSILON = 1f;
+
+	/**
+	 * Whether each body exists.
+	 */
+	private boolean[] alive = new boolean[64];
+
+	/**
+	 * The number of ids handed out so far.
+	 */
+	private int bodyCount;
+
+	/**
+	 * The category bit of the {@link CollisionKind} of each body.
+	 */
+	private int[] category = new int[64];
+
+	/**
+	 * The first body of each cell of the spatial hash, -1 if none.
+	 */
+	private int[] cellHead = new int[0];
+
+	/**
+	 * The ids of the destroyed bodies, available for reuse.
+	 */
+	private int[] freeIds = new int[64];
+
+	/**
+	 * The number of ids in {@link #freeIds}.
+	 */
+	private int freeIdCount;
+
+	/**
+	 * The number of bodies alive.
+	 */
+	private int liveCount;
+
+	/**
+	 * The ground grid.
+	 */
+	private TileMap map;
+
+	/**
+	 * The categories each body comes in contact with.
+	 */
+	private int[] mask = new int[64];
+
+	/**
+	 * Whether each body can be pushed and moves by its velocity.
+	 */
+	private boolean[] movable = new boolean[64];
+
+	/**
+	 * The next body in the same cell of the spatial hash, -1 if none.
+	 */
+	private int[] next = new int[64];
+
+	/**
+	 * The {@link PhysicsEntity} owning each body.
+	 */
+	private PhysicsEntity[] owner = new PhysicsEntity[64];
+
+	/**
+	 * The touching pairs of the current step, as sorted keys.
+	 */
+	private long[] pairs = new long[64];
+
+	/**
+	 * The number of pairs in {@link #pairs}.
+	 */
+	private int pairCount;
+
+	/**
+	 * The touching pairs of the previous step, as sorted keys.
+	 */
+	private long[] previousPairs = new long[64];
+
+	/**
+	 * The {@link TickProfiler} timing the steps, null if none.
+	 */
+	private TickProfiler profiler;
+
+	/**
+	 * The number of pairs in {@link #previousPairs}.
+	 */
+	private int previousPairCount;
+
+	/**
+	 * The half size of each body.
+	 */
+	private float[] radius = new float[64];
+
+	/**
+	 * Whether each body is a sensor.
+	 */
+	private boolean[] sensor = new boolean[64];
+
+	/**
+	 * The size of a cell in pixels.
+	 */
+	private float size;
+
+	/**
+	 * The x velocity of each body in pixels per second.
+	 */
+	private float[] vx = new float[64];
+
+	/**
+	 * The y velocity of each body in pixels per second.
+	 */
+	private float[] vy = new float[64];
+
+	/**
+	 * The x position of each body in pixels.
+	 */
+	private float[] x = new float[64];
+
+	/**
+	 * The y position of each body in pixels.
+	 */
+	private float[] y = new float[64];
+
+	/**
+	 * Appends a pair to {@link #pairs}.
+	 */
+	private void addPair(int a, int b)
+	{
+		if (pairCount == pairs.length) pairs = Arrays.copyOf(pairs, pairCount * 2);
+		pairs[pairCount++] = (long) a << 32 | b;
+	}
+
+	/**
+	 * Gets the coordinate of a body along the axis of movement.
+	 */
+	private float along(int i, boolean horizontal)
+	{
+		return horizontal ? x[i] : y[i];
+	}
+
+	/**
+	 * Fills the spatial hash with the bodies alive, bucketed by the cell of their center.
+	 */
+	private void buildHash()
+	{
+		Arrays.fill(cellHead, -1);
+		for (int i = 0; i < bodyCount; i++)
+		{
+			if (!alive[i]) continue;
+			int c = hashCell(x[i], y[i]);
+			next[i] = cellHead[c];
+			cellHead[c] = i;
+		}
+	}
+
+	/**
+	 * Gets the grid coordinate of the cell containing the given pixel coordinate.
+	 */
+	private int cellOf(float p)
+	{
+		return (int) Math.floor((p + size / 2) / size);
+	}
+
+	/**
+	 * Clamps a grid coordinate between 0 and the given bound excluded.
+	 */
+	private static int clamp(int c, int bound)
+	{
+		return c < 0 ? 0 : c >= bound ? bound - 1 : c;
+	}
+
+	/**
+	 * Returns a boolean value that indicates if the {@link CollisionKind}s of two bodies are
+	 * paired.
+	 */
+	private boolean collides(int i, int j)
+	{
+		return (mask[i] & category[j]) != 0;
+	}
+
+	/* (non-Javadoc)
+	 * @see bomberman.core.logic.PhysicsBackend#clearContacts()
+	 */
+	@Override
+	public void clearContacts()
+	{
+		previousPairCount = 0;
+	}
+
+	/**
+	 * Reads the grid straight from the {@link TileMap}, so a broken {@link BrickBlock} is
+	 * already walkable.
+	 * 
+	 * @see bomberman.core.logic.PhysicsBackend#clearTile(int, int)
+	 */
+	@Override
+	public void clearTile(int x, int y)
+	{}
+
+	/* (non-Javadoc)
+	 * @see bomberman.core.logic.PhysicsBackend#createBody(bomberman.core.logic.PhysicsEntity, float, float, float, boolean)
+	 */
+	@Override
+	public int createBody(PhysicsEntity owner, float x, float y, float radius,
+			boolean sensor)
+	{
+		int id;
+		if (freeIdCount > 0)
+			id = freeIds[--freeIdCount];
+		else
+		{
+			id = bodyCount++;
+			if (id == alive.length) grow(id * 2);
+		}
+		alive[id] = true;
+		this.owner[id] = owner;
+		this.x[id] = x;
+		this.y[id] = y;
+		this.radius[id] = radius;
+		this.sensor[id] = sensor;
+		CollisionKind kind = owner.getCollisionKind();
+		category[id] = kind.getCategory();
+		mask[id] = kind.getMask();
+		movable[id] = true;
+		vx[id] = vy[id] = 0;
+		liveCount++;
+		return id;
+	}
+
+	/* (non-Javadoc)
+	 * @see bomberman.core.logic.PhysicsBackend#destroyBody(int)
+	 */
+	@Override
+	public void destroyBody(int body)
+	{
+		alive[body] = false;
+		owner[body] = null;
+		liveCount--;
+		// forget its contacts, so that a new body with the same id starts clean
+		int n = 0;
+		for (int i = 0; i < previousPairCount; i++)
+		{
+			long p = previousPairs[i];
+			if ((int) (p >>> 32) != body && (int) p != body) previousPairs[n++] = p;
+		}
+		previousPairCount = n;
+		if (freeIdCount == freeIds.length)
+			freeIds = Arrays.copyOf(freeIds, freeIdCount * 2);
+		freeIds[freeIdCount++] = body;
+	}
+
+	/**
+	 * Finds the touching pairs of bodies into {@link #pairs}, sorted.
+	 */
+	private void findPairs()
+	{
+		pairCount = 0;
+		int w = map.getWidth();
+		int h = map.getHeight();
+		for (int i = 0; i < bodyCount; i++)
+		{
+			if (!alive[i]) continue;
+			int cx = clamp(cellOf(x[i]), w);
+			int cy = clamp(cellOf(y[i]), h);
+			for (int gy = Math.max(cy - 1, 0); gy <= Math.min(cy + 1, h - 1); gy++)
+				for (int gx = Math.max(cx - 1, 0); gx <= Math.min(cx + 1, w - 1); gx++)
+					for (int j = cellHead[gy * w + gx]; j >= 0; j = next[j])
+						if (j > i && (movable[i] || movable[j]) && collides(i, j)
+								&& touch(i, j))
+							addPair(i, j);
+		}
+		Arrays.sort(pairs, 0, pairCount);
+	}
+
+	/* (non-Javadoc)
+	 * @see bomberman.core.logic.PhysicsBackend#getBodyCount()
+	 */
+	@Override
+	public int getBodyCount()
+	{
+		return liveCount;
+	}
+
+	/* (non-Javadoc)
+	 * @see bomberman.core.logic.PhysicsBackend#getX(int)
+	 */
+	@Override
+	public float getX(int body)
+	{
+		return x[body];
+	}
+
+	/* (non-Javadoc)
+	 * @see bomberman.core.logic.PhysicsBackend#getY(int)
+	 */
+	@Override
+	public float getY(int body)
+	{
+		return y[body];
+	}
+
+	/**
+	 * Grows the arrays of the bodies to the given capacity.
+	 */
+	private void grow(int n)
+	{
+		alive = Arrays.copyOf(alive, n);
+		category = Arrays.copyOf(category, n);
+		mask = Arrays.copyOf(mask, n);
+		movable = Arrays.copyOf(movable, n);
+		next = Arrays.copyOf(next, n);
+		owner = Arrays.copyOf(owner, n);
+		radius = Arrays.copyOf(radius, n);
+		sensor = Arrays.copyOf(sensor, n);
+		vx = Arrays.copyOf(vx, n);
+		vy = Arrays.copyOf(vy, n);
+		x = Arrays.copyOf(x, n);
+		y = Arrays.copyOf(y, n);
+	}
+
+	/**
+	 * Gets the index in the spatial hash of the cell containing the given point, clamped to
+	 * the grid.
+	 */
+	private int hashCell(float px, float py)
+	{
+		int w = map.getWidth();
+		return clamp(cellOf(py), map.getHeight()) * w + clamp(cellOf(px), w);
+	}
+
+	/**
+	 * Returns a boolean value that indicates if the given pixel coordinates fall in a solid
+	 * cell. Everything out of the grid is solid.
+	 */
+	private boolean isSolidAt(float px, float py)
+	{
+		int cx = cellOf(px);
+		int cy = cellOf(py);
+		if (cx < 0 || cy < 0 || cx >= map.getWidth() || cy >= map.getHeight())
+			return true;
+		return map.getTile(cx, cy) != TileMap.FREE;
+	}
+
+	/**
+	 * Moves a solid body along one axis, stopping it against the solid cells and bodies.
+	 * 
+	 * @param i
+	 *            the body
+	 * @param d
+	 *            the displacement in pixels
+	 * @param horizontal
+	 *            true to move along the x axis, false along the y axis
+	 */
+	private void moveAxis(int i, float d, boolean horizontal)
+	{
+		float r = radius[i];
+		while (d != 0)
+		{
+			float s = Math.abs(d) > r ? Math.signum(d) * r : d;
+			d -= s;
+			if (!moveStep(i, s, horizontal)) return;
+		}
+	}
+
+	/**
+	 * Moves a solid body along one axis by a single sub step.
+	 * 
+	 * @return true if the body moved freely
+	 */
+	private boolean moveStep(int i, float s, boolean horizontal)
+	{
+		float r = radius[i];
+		float along = (horizontal ? x[i] : y[i]) + s;
+		float across = horizontal ? y[i] : x[i];
+		float front = along + Math.signum(s) * (r - EPSILON);
+		// the solid cells met by the leading edge, on the two sides of the center
+		boolean low = solid(horizontal, front, across - r + EPSILON);
+		boolean high = solid(horizontal, front, across + r - EPSILON);
+		if (low || high)
+		{
+			int cell = cellOf(front);
+			float edge = cell * size - Math.signum(s) * size / 2;
+			setAlong(i, horizontal, edge - Math.signum(s) * r);
+			// blocked by a corner only: slide around it towards the free side
+			if (low != high && !solid(horizontal, front, across))
+			{
+				float center = cellOf(across) * size;
+				float slide = Math.min(Math.abs(s), Math.abs(center - across));
+				setAcross(i, horizontal, across + Math.signum(center - across) * slide);
+			}
+			return false;
+		}
+		setAlong(i, horizontal, along);
+		return !pushBodies(i, s, horizontal);
+	}
+
+	/**
+	 * Returns a boolean value that indicates if two bodies overlap, both shrunk by the given
+	 * margin.
+	 */
+	private boolean overlap(int i, int j, float margin)
+	{
+		float d = radius[i] + radius[j] - margin;
+		return Math.abs(x[i] - x[j]) < d && Math.abs(y[i] - y[j]) < d;
+	}
+
+	/**
+	 * Returns a boolean value that indicates if a body placed at the given position would
+	 * overlap another body.
+	 */
+	private boolean overlapAt(int i, int j, float px, float py)
+	{
+		float d = radius[i] + radius[j];
+		return Math.abs(px - x[j]) < d && Math.abs(py - y[j]) < d;
+	}
+
+	/**
+	 * Stops a solid body that moved into another solid body, pushing the latter if it is
+	 * movable. Bodies that were overlapping already are ignored, so that they can part.
+	 * 
+	 * @return true if the body was stopped
+	 */
+	private boolean pushBodies(int i, float s, boolean horizontal)
+	{
+		int w = map.getWidth();
+		int h = map.getHeight();
+		int cx = clamp(cellOf(x[i]), w);
+		int cy = clamp(cellOf(y[i]), h);
+		boolean stopped = false;
+		for (int gy = Math.max(cy - 1, 0); gy <= Math.min(cy + 1, h - 1); gy++)
+			for (int gx = Math.max(cx - 1, 0); gx <= Math.min(cx + 1, w - 1); gx++)
+				for (int j = cellHead[gy * w + gx]; j >= 0; j = next[j])
+				{
+					if (j == i || sensor[j] || !collides(i, j) || !overlap(i, j, 0))
+						continue;
+					// overlapping before the sub step too
+					if (horizontal ? overlapAt(i, j, x[i] - s, y[i])
+							: overlapAt(i, j, x[i], y[i] - s)) continue;
+					float limit = along(j, horizontal) - Math.signum(s) * (radius[j] + radius[i]);
+					setAlong(i, horizontal, limit);
+					if (movable[j])
+					{
+						float v = horizontal ? vx[i] : vy[i];
+						if (horizontal)
+							vx[j] = v;
+						else
+							vy[j] = v;
+					}
+					stopped = true;
+				}
+		return stopped;
+	}
+
+	/**
+	 * Reports the contact of a pair, if both its bodies are still alive.
+	 */
+	private void report(Listener listener, long pair, boolean begin)
+	{
+		int a = (int) (pair >>> 32);
+		int b = (int) pair;
+		if (!alive[a] || !alive[b]) return;
+		if (begin)
+			listener.beginContact(owner[a], owner[b]);
+		else
+			listener.endContact(owner[a], owner[b]);
+	}
+
+	/**
+	 * Sets the coordinate of a body across the axis of movement.
+	 */
+	private void setAcross(int i, boolean horizontal, float v)
+	{
+		if (horizontal)
+			y[i] = v;
+		else
+			x[i] = v;
+	}
+
+	/**
+	 * Sets the coordinate of a body along the axis of movement.
+	 */
+	private void setAlong(int i, boolean horizontal, float v)
+	{
+		if (horizontal)
+			x[i] = v;
+		else
+			y[i] = v;
+	}
+
+	/* (non-Javadoc)
+	 * @see bomberman.core.logic.PhysicsBackend#setGrid(bomberman.core.logic.TileMap, float)
+	 */
+	@Override
+	public void setGrid(TileMap map, float size)
+	{
+		this.map = map;
+		this.size = size;
+		int n = map.getWidth() * map.getHeight();
+		if (cellHead.length != n) cellHead = new int[n];
+	}
+
+	/* (non-Javadoc)
+	 * @see bomberman.core.logic.PhysicsBackend#setMovable(int, boolean)
+	 */
+	@Override
+	public void setMovable(int body, boolean movable)
+	{
+		this.movable[body] = movable;
+		if (!movable) vx[body] = vy[body] = 0;
+	}
+
+	/* (non-Javadoc)
+	 * @see bomberman.core.logic.PhysicsBackend#setPosition(int, float, float)
+	 */
+	@Override
+	public void setPosition(int body, float x, float y)
+	{
+		this.x[body] = x;
+		this.y[body] = y;
+	}
+
+	/* (non-Javadoc)
+	 * @see bomberman.core.logic.PhysicsBackend#setProfiler(bomberman.core.util.TickProfiler)
+	 */
+	@Override
+	public void setProfiler(TickProfiler profiler)
+	{
+		this.profiler = profiler;
+	}
+
+	/* (non-Javadoc)
+	 * @see bomberman.core.logic.PhysicsBackend#setSensor(int, boolean)
+	 */
+	@Override
+	public void setSensor(int body, boolean sensor)
+	{
+		this.sensor[body] = sensor;
+	}
+
+	/* (non-Javadoc)
+	 * @see bomberman.core.logic.PhysicsBackend#setVelocity(int, float, float)
+	 */
+	@Override
+	public void setVelocity(int body, float vx, float vy)
+	{
+		if (!movable[body]) return;
+		this.vx[body] = vx;
+		this.vy[body] = vy;
+	}
+
+	/**
+	 * Returns a boolean value that indicates if the point at the given distance along the axis
+	 * of movement and across it falls in a solid cell.
+	 */
+	private boolean solid(boolean horizontal, float along, float across)
+	{
+		return horizontal ? isSolidAt(along, across) : isSolidAt(across, along);
+	}
+
+	/* (non-Javadoc)
+	 * @see bomberman.core.logic.PhysicsBackend#step(float, bomberman.core.logic.PhysicsBackend.Listener)
+	 */
+	@Override
+	public void step(float dt, Listener listener)
+	{
+		TickProfiler p = profiler;
+		long time = p == null ? 0 : System.nanoTime();
+		int grid = CollisionKind.GRID.getCategory();
+		buildHash();
+		for (int i = 0; i < bodyCount; i++)
+		{
+			if (!alive[i] || !movable[i]) continue;
+			if (sensor[i] || (mask[i] & grid) == 0)
+			{
+				x[i] += vx[i] * dt;
+				y[i] += vy[i] * dt;
+				continue;
+			}
+			float dx = vx[i] * dt;
+			float dy = vy[i] * dt;
+			if (dx != 0) moveAxis(i, dx, true);
+			if (dy != 0) moveAxis(i, dy, false);
+		}
+		buildHash();
+		findPairs();
+		if (p != null) time = p.record(TickProfiler.STEP, time);
+		// the pairs that began
+		for (int i = 0, j = 0; i < pairCount; i++)
+		{
+			while (j < previousPairCount && previousPairs[j] < pairs[i])
+				j++;
+			if (j == previousPairCount || previousPairs[j] != pairs[i])
+				report(listener, pairs[i], true);
+		}
+		if (p != null) time = p.record(TickProfiler.CONTACTS, time);
+		// the pairs that ended
+		for (int i = 0, j = 0; i < previousPairCount; i++)
+		{
+			while (j < pairCount && pairs[j] < previousPairs[i])
+				j++;
+			if (j == pairCount || pairs[j] != previousPairs[i])
+				report(listener, previousPairs[i], false);
+		}
+		long[] t = previousPairs;
+		previousPairs = pairs;
+		previousPairCount = pairCount;
+		pairs = t;
+		pairCount = 0;
+		if (p != null) p.record(TickProfiler.RELEASES, time);
+	}
+
+	/**
+	 * Returns a boolean value that indicates if two bodies touch, with a tolerance of
+	 * {@link #EPSILON}.
+	 */
+	private boolean touch(int i, int j)
+	{
+		return overlap(i, j, -EPSILON);
+	}
+}
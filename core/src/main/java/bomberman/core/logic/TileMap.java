@@ -0,0 +1,532 @@
+package bomberman.core.logic;
+
+import bomberman.core.logic.powerUp.PowerUpEnum;
+
+/**
+ * The TileMap class is the compact model of the ground grid managed by the {@link LogicWorld}.
+ * Each cell is stored as a single byte tile type, while the {@link PowerUpEnum} hidden in a
+ * {@link BrickBlock} and the {@link Bomb} placed on a {@link FreeBlock} are kept in side arrays.
+ * {@link Block} instances are just views over a cell of this map.
+ * <p>
+ * The map also mirrors the walls, bricks and bombs in row and column bit masks (one bit per
+ * cell, 64 cells per {@code long}), so that a whole arm of an explosion can be resolved with
+ * a few mask operations instead of a cell by cell walk.
+ * <p>
+ * The fire layer marks the burning cells, so that flames cost neither an entity nor a
+ * {@code Box2d} body. The {@link LogicWorld} puts a cell out when its timer expires.
+ * 
+ * @author Federico Scozzafava
+ */
+public class TileMap
+{
+
+	/**
+	 * The tile type of a free piece of ground.
+	 * 
+	 * @see FreeBlock
+	 */
+	public static final byte FREE = 0;
+
+	/**
+	 * The tile type of a rigid unbreakable piece of ground.
+	 * 
+	 * @see WallBlock
+	 */
+	public static final byte WALL = 1;
+
+	/**
+	 * The tile type of a rigid breakable piece of ground.
+	 * 
+	 * @see BrickBlock
+	 */
+	public static final byte BRICK = 2;
+
+	/**
+	 * The {@link PowerUpEnum} values, indexed by ordinal.
+	 */
+	private static final PowerUpEnum[] POWER_UPS = PowerUpEnum.values();
+
+	/**
+	 * The {@link Bomb} placed in each cell, if any.
+	 */
+	private final Bomb[] bombs;
+
+	/**
+	 * The number of burning cells.
+	 */
+	private int burningCount;
+
+	/**
+	 * The column bit masks of the cells containing a {@link Bomb}.
+	 */
+	private final long[] columnBombs;
+
+	/**
+	 * The column bit masks of the {@link BrickBlock} cells.
+	 */
+	private final long[] columnBricks;
+
+	/**
+	 * The column bit masks of the {@link WallBlock} cells.
+	 */
+	private final long[] columnWalls;
+
+	/**
+	 * The number of {@code long} words of a column bit mask.
+	 */
+	private final int columnWords;
+
+	/**
+	 * Whether each cell is burning.
+	 */
+	private final boolean[] fire;
+
+	/**
+	 * The map's height expressed in cells.
+	 */
+	private final int height;
+
+	/**
+	 * The {@link PowerUpEnum} ordinal contained in each cell plus one, zero means no
+	 * {@link PowerUpEnum}.
+	 */
+	private final byte[] powerUps;
+
+	/**
+	 * The row bit masks of the cells containing a {@link Bomb}.
+	 */
+	private final long[] rowBombs;
+
+	/**
+	 * The row bit masks of the {@link BrickBlock} cells.
+	 */
+	private final long[] rowBricks;
+
+	/**
+	 * The row bit masks of the {@link WallBlock} cells.
+	 */
+	private final long[] rowWalls;
+
+	/**
+	 * The number of {@code long} words of a row bit mask.
+	 */
+	private final int rowWords;
+
+	/**
+	 * The tile type of each cell.
+	 */
+	private final byte[] tiles;
+
+	/**
+	 * The map's width expressed in cells.
+	 */
+	private final int width;
+
+	/**
+	 * Instantiates a new {@link TileMap} made of free cells.
+	 * 
+	 * @param width
+	 *            the map's width expressed in cells
+	 * @param height
+	 *            the map's height expressed in cells
+	 */
+	public TileMap(int width, int height)
+	{
+		this.width = width;
+		this.height = height;
+		tiles = new byte[width * height];
+		powerUps = new byte[width * height];
+		bombs = new Bomb[width * height];
+		fire = new boolean[width * height];
+		rowWords = (width + 63) >>> 6;
+		columnWords = (height + 63) >>> 6;
+		rowWalls = new long[rowWords * height];
+		rowBricks = new long[rowWords * height];
+		rowBombs = new long[rowWords * height];
+		columnWalls = new long[columnWords * width];
+		columnBricks = new long[columnWords * width];
+		columnBombs = new long[columnWords * width];
+	}
+
+	/**
+	 * Finds the first set bit of {@code a | b} in the mask starting at {@code base}, between
+	 * {@code from} and {@code to} (both inclusive, {@code from <= to}).
+	 * 
+	 * @return the bit position, -1 if no bit is set in range
+	 */
+	private static int nextSetBit(long[] a, long[] b, int base, int from,
+			int to)
+	{
+		if (from > to) return -1;
+		int w = from >>> 6;
+		int last = to >>> 6;
+		long word = (a[base + w] | b[base + w]) & -1L << (from & 63);
+		while (word == 0)
+		{
+			if (++w > last) return -1;
+			word = a[base + w] | b[base + w];
+		}
+		int i = (w << 6) + Long.numberOfTrailingZeros(word);
+		return i <= to ? i : -1;
+	}
+
+	/**
+	 * Finds the last set bit of {@code a | b} in the mask starting at {@code base}, between
+	 * {@code from} and {@code to} (both inclusive, {@code from >= to}).
+	 * 
+	 * @return the bit position, -1 if no bit is set in range
+	 */
+	private static int previousSetBit(long[] a, long[] b, int base, int from,
+			int to)
+	{
+		if (from < to) return -1;
+		int w = from >>> 6;
+		int last = to >>> 6;
+		long word = (a[base + w] | b[base + w]) & -1L >>> 63 - (from & 63);
+		while (word == 0)
+		{
+			if (--w < last) return -1;
+			word = a[base + w] | b[base + w];
+		}
+		int i = (w << 6) + 63 - Long.numberOfLeadingZeros(word);
+		return i >= to ? i : -1;
+	}
+
+	/**
+	 * Sets or clears the bit of a cell in both its row and column masks.
+	 */
+	private void setBit(long[] row, long[] column, int x, int y, boolean value)
+	{
+		long rowBit = 1L << (x & 63);
+		long columnBit = 1L << (y & 63);
+		int r = y * rowWords + (x >>> 6);
+		int c = x * columnWords + (y >>> 6);
+		if (value)
+		{
+			row[r] |= rowBit;
+			column[c] |= columnBit;
+		}
+		else
+		{
+			row[r] &= ~rowBit;
+			column[c] &= ~columnBit;
+		}
+	}
+
+	/**
+	 * Resets every cell to free ground, without power ups and bombs.
+	 */
+	public void clear()
+	{
+		for (int i = 0; i < tiles.length; i++)
+		{
+			tiles[i] = FREE;
+			powerUps[i] = 0;
+			bombs[i] = null;
+			fire[i] = false;
+		}
+		burningCount = 0;
+		for (int i = 0; i < rowWalls.length; i++)
+			rowWalls[i] = rowBricks[i] = rowBombs[i] = 0;
+		for (int i = 0; i < columnWalls.length; i++)
+			columnWalls[i] = columnBricks[i] = columnBombs[i] = 0;
+	}
+
+	/**
+	 * Returns a boolean value that indicates if the given coordinates are inside the map.
+	 * 
+	 * @param x
+	 *            the x coordinate
+	 * @param y
+	 *            the y coordinate
+	 * @return true, if the cell exists
+	 */
+	public boolean contains(int x, int y)
+	{
+		return x >= 0 && x < width && y >= 0 && y < height;
+	}
+
+	/**
+	 * Puts out the fire of the given cell.
+	 * 
+	 * @param x
+	 *            the x coordinate
+	 * @param y
+	 *            the y coordinate
+	 */
+	public void extinguish(int x, int y)
+	{
+		int i = index(x, y);
+		if (!fire[i]) return;
+		fire[i] = false;
+		burningCount--;
+	}
+
+	/**
+	 * Gets the {@link Bomb} placed in the given cell.
+	 * 
+	 * @param x
+	 *            the x coordinate
+	 * @param y
+	 *            the y coordinate
+	 * @return the {@link Bomb}, if nothing found null
+	 */
+	public Bomb getBomb(int x, int y)
+	{
+		return bombs[index(x, y)];
+	}
+
+	/**
+	 * Gets the number of burning cells.
+	 * 
+	 * @return the number of burning cells
+	 */
+	public int getBurningCount()
+	{
+		return burningCount;
+	}
+
+	/**
+	 * Sets the given cell on fire.
+	 * 
+	 * @param x
+	 *            the x coordinate
+	 * @param y
+	 *            the y coordinate
+	 * @return true if the cell was not burning
+	 */
+	public boolean ignite(int x, int y)
+	{
+		int i = index(x, y);
+		if (fire[i]) return false;
+		fire[i] = true;
+		burningCount++;
+		return true;
+	}
+
+	/**
+	 * Finds the first cell containing a {@link Bomb} in a column, scanning downward.
+	 * 
+	 * @param x
+	 *            the column
+	 * @param from
+	 *            the first y coordinate to check
+	 * @param to
+	 *            the last y coordinate to check
+	 * @return the y coordinate of the {@link Bomb}, -1 if none
+	 */
+	public int firstBombInColumn(int x, int from, int to)
+	{
+		return nextSetBit(columnBombs, columnBombs, x * columnWords, from, to);
+	}
+
+	/**
+	 * Finds the first cell containing a {@link Bomb} in a row, scanning rightward.
+	 * 
+	 * @param y
+	 *            the row
+	 * @param from
+	 *            the first x coordinate to check
+	 * @param to
+	 *            the last x coordinate to check
+	 * @return the x coordinate of the {@link Bomb}, -1 if none
+	 */
+	public int firstBombInRow(int y, int from, int to)
+	{
+		return nextSetBit(rowBombs, rowBombs, y * rowWords, from, to);
+	}
+
+	/**
+	 * Finds the first rigid ({@link WallBlock} or {@link BrickBlock}) cell in a column,
+	 * scanning downward.
+	 * 
+	 * @param x
+	 *            the column
+	 * @param from
+	 *            the first y coordinate to check
+	 * @param to
+	 *            the last y coordinate to check
+	 * @return the y coordinate of the rigid cell, -1 if none
+	 */
+	public int firstRigidInColumn(int x, int from, int to)
+	{
+		return nextSetBit(columnWalls, columnBricks, x * columnWords, from, to);
+	}
+
+	/**
+	 * Finds the first rigid ({@link WallBlock} or {@link BrickBlock}) cell in a row,
+	 * scanning rightward.
+	 * 
+	 * @param y
+	 *            the row
+	 * @param from
+	 *            the first x coordinate to check
+	 * @param to
+	 *            the last x coordinate to check
+	 * @return the x coordinate of the rigid cell, -1 if none
+	 */
+	public int firstRigidInRow(int y, int from, int to)
+	{
+		return nextSetBit(rowWalls, rowBricks, y * rowWords, from, to);
+	}
+
+	/**
+	 * Gets the map's height.
+	 * 
+	 * @return the height expressed in cells
+	 */
+	public int getHeight()
+	{
+		return height;
+	}
+
+	/**
+	 * Gets the {@link PowerUpEnum} contained in the given cell.
+	 * 
+	 * @param x
+	 *            the x coordinate
+	 * @param y
+	 *            the y coordinate
+	 * @return the {@link PowerUpEnum}, if nothing found null
+	 */
+	public PowerUpEnum getPowerUp(int x, int y)
+	{
+		int p = powerUps[index(x, y)];
+		return p == 0 ? null : POWER_UPS[p - 1];
+	}
+
+	/**
+	 * Gets the tile type of the given cell.
+	 * 
+	 * @param x
+	 *            the x coordinate
+	 * @param y
+	 *            the y coordinate
+	 * @return the tile type
+	 */
+	public byte getTile(int x, int y)
+	{
+		return tiles[index(x, y)];
+	}
+
+	/**
+	 * Gets the map's width.
+	 * 
+	 * @return the width expressed in cells
+	 */
+	public int getWidth()
+	{
+		return width;
+	}
+
+	/**
+	 * Gets the index of the given cell in the map's arrays.
+	 * 
+	 * @param x
+	 *            the x coordinate
+	 * @param y
+	 *            the y coordinate
+	 * @return the index
+	 */
+	public int index(int x, int y)
+	{
+		return y * width + x;
+	}
+
+	/**
+	 * Returns a boolean value that indicates if the given cell is burning.
+	 * 
+	 * @param x
+	 *            the x coordinate
+	 * @param y
+	 *            the y coordinate
+	 * @return true if the cell is burning
+	 */
+	public boolean isBurning(int x, int y)
+	{
+		return fire[index(x, y)];
+	}
+
+	/**
+	 * Finds the last rigid ({@link WallBlock} or {@link BrickBlock}) cell in a column,
+	 * scanning upward.
+	 * 
+	 * @param x
+	 *            the column
+	 * @param from
+	 *            the first y coordinate to check
+	 * @param to
+	 *            the last y coordinate to check, not greater than {@code from}
+	 * @return the y coordinate of the rigid cell, -1 if none
+	 */
+	public int lastRigidInColumn(int x, int from, int to)
+	{
+		return previousSetBit(columnWalls, columnBricks, x * columnWords,
+				from, to);
+	}
+
+	/**
+	 * Finds the last rigid ({@link WallBlock} or {@link BrickBlock}) cell in a row,
+	 * scanning leftward.
+	 * 
+	 * @param y
+	 *            the row
+	 * @param from
+	 *            the first x coordinate to check
+	 * @param to
+	 *            the last x coordinate to check, not greater than {@code from}
+	 * @return the x coordinate of the rigid cell, -1 if none
+	 */
+	public int lastRigidInRow(int y, int from, int to)
+	{
+		return previousSetBit(rowWalls, rowBricks, y * rowWords, from, to);
+	}
+
+	/**
+	 * Sets the {@link Bomb} placed in the given cell.
+	 * 
+	 * @param x
+	 *            the x coordinate
+	 * @param y
+	 *            the y coordinate
+	 * @param b
+	 *            the {@link Bomb}, null to remove it
+	 */
+	public void setBomb(int x, int y, Bomb b)
+	{
+		bombs[index(x, y)] = b;
+		setBit(rowBombs, columnBombs, x, y, b != null);
+	}
+
+	/**
+	 * Sets the {@link PowerUpEnum} contained in the given cell.
+	 * 
+	 * @param x
+	 *            the x coordinate
+	 * @param y
+	 *            the y coordinate
+	 * @param p
+	 *            the {@link PowerUpEnum}, null to remove it
+	 */
+	public void setPowerUp(int x, int y, PowerUpEnum p)
+	{
+		powerUps[index(x, y)] = (byte) (p == null ? 0 : p.ordinal() + 1);
+	}
+
+	/**
+	 * Sets the tile type of the given cell.
+	 * 
+	 * @param x
+	 *            the x coordinate
+	 * @param y
+	 *            the y coordinate
+	 * @param type
+	 *            the tile type
+	 */
+	public void setTile(int x, int y, byte type)
+	{
+		tiles[index(x, y)] = type;
+		setBit(rowWalls, columnWalls, x, y, type == WALL);
+		setBit(rowBricks, columnBricks, x, y, type == BRICK);
+	}
+}
@@ -0,0 +1,398 @@
+package bomberman.core.logic;
+
+/**
+ * The TimingWheel class schedules the gameplay timers of a {@link LogicWorld}: the fuses of
+ * the {@link Bomb}s, the lifetime of the power ups, the fire of the cells and the dying
+ * animations. A timer is a {@link Listener} called, with an integer of its own, once a given
+ * number of ticks has passed.
+ * <p>
+ * The wheel is hierarchical: each of its {@link #LEVELS} levels has {@link #SLOTS} slots, a
+ * slot of the first level holds the timers expiring in one tick, a slot of the next level the
+ * timers expiring in a span of {@link #SLOTS} ticks, and so on. A timer is linked in the slot
+ * of the level matching its distance and moves down a level each time the wheel below
+ * completes a turn, so scheduling, cancelling and expiring a timer cost O(1), and a tick in
+ * which no timer expires costs nothing however many timers are pending.
+ * <p>
+ * The timers are kept in preallocated parallel arrays and identified by a handle, made of
+ * their index and of a generation, so that the handle of an expired or cancelled timer is
+ * never confused with a newer one. The timers expiring in the same tick are called in the
+ * order they reached their slot, which only depends on the sequence of calls to the wheel.
+ * 
+ * @author Federico Scozzafava
+ */
+public class TimingWheel
+{
+
+	/**
+	 * The Listener interface is the action of a timer.
+	 */
+	public interface Listener
+	{
+
+		/**
+		 * Called when the timer expires.
+		 * 
+		 * @param data
+		 *            the integer given when the timer was scheduled
+		 */
+		public void expire(int data);
+	}
+
+	/**
+	 * The number of bits of the slot index of a level.
+	 */
+	private static final int SLOT_BITS = 6;
+
+	/**
+	 * The number of slots of a level.
+	 */
+	private static final int SLOTS = 1 << SLOT_BITS;
+
+	/**
+	 * The mask of the slot index of a level.
+	 */
+	private static final int SLOT_MASK = SLOTS - 1;
+
+	/**
+	 * The number of levels of the wheel.
+	 */
+	private static final int LEVELS = 4;
+
+	/**
+	 * The longest delay of a timer, in ticks.
+	 */
+	public static final int MAX_DELAY = (1 << SLOT_BITS * LEVELS) - 1;
+
+	/**
+	 * The number of bits of the index of a timer in a handle.
+	 */
+	private static final int INDEX_BITS = 20;
+
+	/**
+	 * The mask of the index bits of a handle.
+	 */
+	private static final int INDEX_MASK = (1 << INDEX_BITS) - 1;
+
+	/**
+	 * The mask of the generation of a timer, kept positive.
+	 */
+	private static final int GENERATION_MASK = (1 << 31 - INDEX_BITS) - 1;
+
+	/**
+	 * The integer passed to the {@link Listener} of each timer.
+	 */
+	private int[] data = new int[64];
+
+	/**
+	 * The tick in which each timer expires.
+	 */
+	private int[] deadlines = new int[64];
+
+	/**
+	 * The first free timer, -1 if none. The free timers are chained through {@link #next}.
+	 */
+	private int free = -1;
+
+	/**
+	 * The current generation of each timer, increased every time the timer is released.
+	 */
+	private int[] generations = new int[64];
+
+	/**
+	 * The first timer of each slot, -1 if the slot is empty. The slots of a level follow
+	 * the ones of the level below.
+	 */
+	private final int[] heads = new int[LEVELS * SLOTS];
+
+	/**
+	 * The {@link Listener} of each timer, null if the timer is free.
+	 */
+	private Listener[] listeners = new Listener[64];
+
+	/**
+	 * The next timer in the same slot, -1 if last.
+	 */
+	private int[] next = new int[64];
+
+	/**
+	 * The current tick, the number of calls to {@link #advance()}.
+	 */
+	private int now;
+
+	/**
+	 * The number of pending timers.
+	 */
+	private int pending;
+
+	/**
+	 * The previous timer in the same slot, -1 if first.
+	 */
+	private int[] previous = new int[64];
+
+	/**
+	 * The slot in which each pending timer is linked.
+	 */
+	private int[] slots = new int[64];
+
+	/**
+	 * The last timer of each slot, -1 if the slot is empty.
+	 */
+	private final int[] tails = new int[LEVELS * SLOTS];
+
+	/**
+	 * The number of timers ever used.
+	 */
+	private int used;
+
+	/**
+	 * Instantiates a new {@link TimingWheel} with no timers, at tick 0.
+	 */
+	public TimingWheel()
+	{
+		for (int i = 0; i < heads.length; i++)
+			heads[i] = tails[i] = -1;
+	}
+
+	/**
+	 * Advances the wheel by one tick and calls the {@link Listener}s of the timers expiring
+	 * in the new tick. A {@link Listener} may schedule and cancel timers.
+	 */
+	public void advance()
+	{
+		now++;
+		int slot = now & SLOT_MASK;
+		if (slot == 0) cascade(1);
+		while (heads[slot] >= 0)
+		{
+			int t = heads[slot];
+			Listener l = listeners[t];
+			int d = data[t];
+			unlink(t);
+			release(t);
+			l.expire(d);
+		}
+	}
+
+	/**
+	 * Cancels a timer, so that its {@link Listener} is never called.
+	 * 
+	 * @param handle
+	 *            the handle of the timer
+	 * @return true if the timer was pending, false if it already expired or was cancelled,
+	 *         or if the handle is invalid
+	 */
+	public boolean cancel(int handle)
+	{
+		if (!isPending(handle)) return false;
+		int t = handle & INDEX_MASK;
+		unlink(t);
+		release(t);
+		return true;
+	}
+
+	/**
+	 * Moves down the timers of the current slot of a level, and of the levels above when the
+	 * level completed a turn.
+	 * 
+	 * @param level
+	 *            the level, greater than 0
+	 */
+	private void cascade(int level)
+	{
+		int slot = now >>> SLOT_BITS * level & SLOT_MASK;
+		int t = heads[level * SLOTS + slot];
+		heads[level * SLOTS + slot] = tails[level * SLOTS + slot] = -1;
+		while (t >= 0)
+		{
+			int n = next[t];
+			link(t);
+			t = n;
+		}
+		if (slot == 0 && level + 1 < LEVELS) cascade(level + 1);
+	}
+
+	/**
+	 * Cancels all the pending timers. The current tick is kept.
+	 */
+	public void clear()
+	{
+		for (int i = 0; i < heads.length; i++)
+			while (heads[i] >= 0)
+			{
+				int t = heads[i];
+				unlink(t);
+				release(t);
+			}
+	}
+
+	/**
+	 * Gets the number of pending timers.
+	 * 
+	 * @return the number of pending timers
+	 */
+	public int getPendingCount()
+	{
+		return pending;
+	}
+
+	/**
+	 * Gets the number of ticks left before a timer expires.
+	 * 
+	 * @param handle
+	 *            the handle of the timer
+	 * @return the ticks left, at least 1, or -1 if the timer is not pending
+	 */
+	public int getRemaining(int handle)
+	{
+		if (!isPending(handle)) return -1;
+		return deadlines[handle & INDEX_MASK] - now;
+	}
+
+	/**
+	 * Gets the current tick, the number of calls to {@link #advance()}.
+	 * 
+	 * @return the current tick
+	 */
+	public int getTick()
+	{
+		return now;
+	}
+
+	/**
+	 * Doubles the capacity of the timer arrays.
+	 */
+	private void grow()
+	{
+		int n = used * 2;
+		if (n > INDEX_MASK + 1) throw new RuntimeException("too many timers");
+		int[] a = new int[n];
+		System.arraycopy(data, 0, a, 0, used);
+		data = a;
+		a = new int[n];
+		System.arraycopy(deadlines, 0, a, 0, used);
+		deadlines = a;
+		a = new int[n];
+		System.arraycopy(generations, 0, a, 0, used);
+		generations = a;
+		Listener[] l = new Listener[n];
+		System.arraycopy(listeners, 0, l, 0, used);
+		listeners = l;
+		a = new int[n];
+		System.arraycopy(next, 0, a, 0, used);
+		next = a;
+		a = new int[n];
+		System.arraycopy(previous, 0, a, 0, used);
+		previous = a;
+		a = new int[n];
+		System.arraycopy(slots, 0, a, 0, used);
+		slots = a;
+	}
+
+	/**
+	 * Returns a boolean value that indicates if a timer is pending.
+	 * 
+	 * @param handle
+	 *            the handle of the timer
+	 * @return true if the timer neither expired nor was cancelled
+	 */
+	public boolean isPending(int handle)
+	{
+		if (handle < 0) return false;
+		int t = handle & INDEX_MASK;
+		return t < used && listeners[t] != null
+				&& generations[t] == handle >>> INDEX_BITS;
+	}
+
+	/**
+	 * Links a timer in the slot matching its distance from the current tick, after the
+	 * timers already there.
+	 * 
+	 * @param t
+	 *            the timer
+	 */
+	private void link(int t)
+	{
+		int delay = deadlines[t] - now;
+		int level = 0;
+		while (level + 1 < LEVELS && delay >= 1 << SLOT_BITS * (level + 1))
+			level++;
+		int slot = level * SLOTS + (deadlines[t] >>> SLOT_BITS * level & SLOT_MASK);
+		slots[t] = slot;
+		next[t] = -1;
+		previous[t] = tails[slot];
+		if (tails[slot] >= 0)
+			next[tails[slot]] = t;
+		else
+			heads[slot] = t;
+		tails[slot] = t;
+	}
+
+	/**
+	 * Frees a timer that is no longer linked, so that its handle becomes stale.
+	 * 
+	 * @param t
+	 *            the timer
+	 */
+	private void release(int t)
+	{
+		listeners[t] = null;
+		generations[t] = generations[t] + 1 & GENERATION_MASK;
+		next[t] = free;
+		free = t;
+		pending--;
+	}
+
+	/**
+	 * Schedules a timer.
+	 * 
+	 * @param ticks
+	 *            the number of calls to {@link #advance()} after which the timer expires,
+	 *            between 1 and {@link #MAX_DELAY}
+	 * @param listener
+	 *            the {@link Listener} called when the timer expires
+	 * @param d
+	 *            the integer passed to the {@link Listener}
+	 * @return the handle of the timer
+	 */
+	public int schedule(int ticks, Listener listener, int d)
+	{
+		if (ticks < 1 || ticks > MAX_DELAY)
+			throw new RuntimeException("invalid timer delay " + ticks);
+		int t;
+		if (free >= 0)
+		{
+			t = free;
+			free = next[t];
+		}
+		else
+		{
+			if (used == listeners.length) grow();
+			t = used++;
+		}
+		deadlines[t] = now + ticks;
+		listeners[t] = listener;
+		data[t] = d;
+		pending++;
+		link(t);
+		return generations[t] << INDEX_BITS | t;
+	}
+
+	/**
+	 * Removes a timer from its slot.
+	 * 
+	 * @param t
+	 *            the timer
+	 */
+	private void unlink(int t)
+	{
+		int slot = slots[t];
+		if (previous[t] >= 0)
+			next[previous[t]] = next[t];
+		else
+			heads[slot] = next[t];
+		if (next[t] >= 0)
+			previous[next[t]] = previous[t];
+		else
+			tails[slot] = previous[t];
+	}
+}
@@ -10,20 +10,18 @@ public class WallBlock extends Block
 {
 
 	/**
-	 * Instantiates a new {@link WallBlock}.
+	 * Instantiates a new {@link WallBlock} view.
 	 * 
 	 * @param x
-	 *            the x position in pixels
+	 *            the x coordinate in grid
 	 * @param y
-	 *            the y position in pixels
-	 * @param dimension
-	 *            the dimension (width and height) in pixels
+	 *            the y coordinate in grid
 	 * @param logicWorld
 	 *            the {@link LogicWorld}
 	 */
-	public WallBlock(float x, float y, float dimension, LogicWorld logicWorld)
+	public WallBlock(int x, int y, LogicWorld logicWorld)
 	{
-		super(x, y, dimension, dimension, false, logicWorld);
+		super(x, y, logicWorld);
 	}
 
 	/* (non-Javadoc)
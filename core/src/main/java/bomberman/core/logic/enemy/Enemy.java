@@ -1,11 +1,10 @@
 package bomberman.core.logic.enemy;
 
 import bomberman.core.logic.Block;
+import bomberman.core.logic.CollisionKind;
 import bomberman.core.logic.DynamicPhysicsEntity;
-import bomberman.core.logic.FireEntity;
 import bomberman.core.logic.LogicWorld;
 import bomberman.core.logic.MoveStrategy;
-import bomberman.core.logic.PhysicsEntity;
 
 /**
  * The Enemy class extends {@link DynamicPhysicsEntity} and defines the class of all enemies.
@@ -15,21 +14,9 @@ import bomberman.core.logic.PhysicsEntity;
  * @see {@link MoveStrategy}
  * @see http://en.wikipedia.org/wiki/Strategy_pattern
  */
-public abstract class Enemy extends DynamicPhysicsEntity implements
-		PhysicsEntity.HasContactListener
+public abstract class Enemy extends DynamicPhysicsEntity
 {
 
-	/**
-	 * The contact boolean value helps when more enemies collide with each other.
-	 */
-	private boolean contact = false;
-	
-	/**
-	 * The {@link MoveStrategy} strategy pattern.
-	 * @see http://en.wikipedia.org/wiki/Strategy_pattern
-	 */
-	private MoveStrategy strategy;
-
 	/**
 	 * Instantiates a new {@link Enemy}.
 	 * 
@@ -47,28 +34,33 @@ public abstract class Enemy extends DynamicPhysicsEntity implements
 			MoveStrategy strategy)
 	{
 		super(logicWorld, c.getPosition(), 1, speed, true);
-		this.strategy = strategy.setEntity(this);
+		setMoveStrategy(strategy.setEntity(this));
 	}
 
 	/* (non-Javadoc)
-	 * @see bomberman.core.logic.PhysicsEntity.HasContactListener#contact(bomberman.core.logic.PhysicsEntity)
+	 * @see bomberman.core.logic.DynamicPhysicsEntity#burn()
 	 */
 	@Override
-	public void contact(PhysicsEntity other)
+	protected void burn()
+	{
+		die();
+	}
+
+	/**
+	 * Makes the enemy change direction. Called when it runs into another entity.
+	 */
+	public void changeDirection()
 	{
-		if (other instanceof FireEntity)
-			die();
-		else if (other instanceof DynamicPhysicsEntity)
-			strategy.changeDirection();// contact = true;
+		getMoveStrategy().changeDirection();
 	}
 
 	/* (non-Javadoc)
-	 * @see bomberman.core.logic.PhysicsEntity.HasContactListener#release(bomberman.core.logic.PhysicsEntity)
+	 * @see bomberman.core.logic.PhysicsEntity#getCollisionKind()
 	 */
 	@Override
-	public void release(PhysicsEntity other)
+	public CollisionKind getCollisionKind()
 	{
-		if (other instanceof Enemy) contact = false;
+		return CollisionKind.ENEMY;
 	}
 
 	/* (non-Javadoc)
@@ -77,8 +69,7 @@ public abstract class Enemy extends DynamicPhysicsEntity implements
 	@Override
 	public void update(int delta)
 	{
-		if (contact) strategy.changeDirection();
-		strategy.move();
+		getMoveStrategy().move();
 		super.update(delta);
 	}
 
@@ -38,16 +38,28 @@ public class Door extends PowerUp
 	@Override
 	public void apply(Bomber b)
 	{
-		if (!l.getEnemies().isEmpty()) return;
+		if (l.getEnemyCount() > 0) return;
 		l.win();
 		destroy();
 	}
 
+	/* (non-Javadoc)
+	 * @see bomberman.core.logic.Entity#countdownExpired()
+	 */
+	@Override
+	protected void countdownExpired()
+	{
+		// the door stays until it is reached, even when its time is over
+	}
+
 	/* (non-Javadoc)
 	 * @see bomberman.core.logic.powerUp.PowerUp#update(int)
 	 */
 	@Override
 	public void update(int delta)
-	{}
+	{
+		// the door only waits to be reached
+		sleep();
+	}
 
 }
@@ -2,6 +2,7 @@ package bomberman.core.logic.powerUp;
 
 import bomberman.core.logic.Block;
 import bomberman.core.logic.Bomber;
+import bomberman.core.logic.CollisionKind;
 import bomberman.core.logic.DynamicPhysicsEntity;
 import bomberman.core.logic.LogicWorld;
 import bomberman.core.util.Constants;
@@ -16,11 +17,6 @@ import bomberman.core.util.Constants;
 public abstract class PowerUp extends DynamicPhysicsEntity
 {
 
-	/**
-	 * The time {@link PowerUp} should be visible in milliseconds.
-	 */
-	private int timer = Constants.POWERUP_TIME;
-
 	/**
 	 * Instantiates a new generic {@link PowerUp}.
 	 * 
@@ -32,6 +28,7 @@ public abstract class PowerUp extends DynamicPhysicsEntity
 	public PowerUp(LogicWorld l, Block c)
 	{
 		super(l, c.getPosition().getX(), c.getPosition().getY(), 1, 0, true);
+		setCountdown(Constants.POWERUP_TIME);
 	}
 
 	/**
@@ -42,23 +39,42 @@ public abstract class PowerUp extends DynamicPhysicsEntity
 	 */
 	abstract public void apply(Bomber b);
 
+	/* (non-Javadoc)
+	 * @see bomberman.core.logic.Entity#countdownExpired()
+	 */
+	@Override
+	protected void countdownExpired()
+	{
+		super.destroy();
+	}
+
 	/* (non-Javadoc)
 	 * @see bomberman.core.logic.Entity#destroy()
 	 */
 	@Override
 	public void destroy()
 	{
-		timer = 0;
+		setCountdown(0);
+	}
+
+	/* (non-Javadoc)
+	 * @see bomberman.core.logic.PhysicsEntity#getCollisionKind()
+	 */
+	@Override
+	public CollisionKind getCollisionKind()
+	{
+		return CollisionKind.POWER_UP;
 	}
 
 	/**
-	 * Gets the time the {@link PowerUp} will be visible.
+	 * Gets the time the {@link PowerUp} will be visible, kept by the countdown of the
+	 * {@link bomberman.core.logic.Entity}.
 	 * 
 	 * @return the time in milliseconds
 	 */
 	public int getTimer()
 	{
-		return timer;
+		return getCountdown();
 	}
 
 	/* (non-Javadoc)
@@ -67,6 +83,7 @@ public abstract class PowerUp extends DynamicPhysicsEntity
 	@Override
 	public void update(int delta)
 	{
-		if (timer-- < 0) super.destroy();
+		// only woken when picked up
+		sleep();
 	}
 }
@@ -1,7 +1,5 @@
 package bomberman.core.logic.powerUp;
 
-import org.jbox2d.dynamics.BodyType;
-
 import bomberman.core.logic.Block;
 import bomberman.core.logic.Bomb;
 import bomberman.core.logic.Bomber;
@@ -45,8 +43,8 @@ public class PowerUpBombKick extends PowerUp
 		b.setBombKick(true);
 		for (Bomb x : l.getBombs())
 		{
-			x.getBody().getFixtureList().setSensor(false);
-			x.getBody().setType(BodyType.DYNAMIC);
+			x.setSensor(false);
+			x.setMovable(true);
 		}
 		destroy();
 	}
@@ -42,7 +42,7 @@ public class PowerUpBombPass extends PowerUp
 	{
 		b.setBombPass(true);
 		for (Bomb x : l.getBombs())
-			x.getBody().getFixtureList().setSensor(true);
+			x.setSensor(true);
 		destroy();
 	}
 
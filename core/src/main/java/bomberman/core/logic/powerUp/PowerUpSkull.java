@@ -1,7 +1,5 @@
 package bomberman.core.logic.powerUp;
 
-import java.util.Random;
-
 import bomberman.core.logic.Block;
 import bomberman.core.logic.Bomber;
 import bomberman.core.logic.LogicWorld;
@@ -41,7 +39,7 @@ public class PowerUpSkull extends PowerUp
 	@Override
 	public void apply(Bomber b)
 	{
-		switch (new Random().nextInt(6))
+		switch (l.getRandom().nextInt(6))
 		{
 		case 0:
 			b.removeBomb();
@@ -58,6 +58,26 @@ public class GameScreen implements UIScreen
 	 */
 	private TextGuiComponent livesGfxComponent;
 
+	/**
+	 * The number of breakable blocks of the next round.
+	 */
+	private int nextBlocks;
+
+	/**
+	 * The number of enemies of the next round.
+	 */
+	private int nextEnemies;
+
+	/**
+	 * The seed of the next round.
+	 */
+	private long nextSeed;
+
+	/**
+	 * Indicates if the next round was prepared by {@link #prepareNextRound()}.
+	 */
+	private boolean prepared;
+
 	/**
 	 * The game screen responsible of displaying the game, score, time and lives overlays.
 	 * 
@@ -76,16 +96,30 @@ public class GameScreen implements UIScreen
 	}
 
 	/**
-	 * Generate new random round.
+	 * Chooses the parameters of the next random round and lets the world prepare its layout
+	 * in background. Called while the win, lose and start screens are displayed.
+	 */
+	public void prepareNextRound()
+	{
+		Random x = new Random();
+		nextBlocks = Constants.MIN_BRICK_BLOCKS + x.nextInt(30);
+		nextEnemies = Constants.MIN_ENEMIES + x.nextInt(4);
+		nextSeed = x.nextLong();
+		world.prepareRound(nextBlocks, nextSeed);
+		prepared = true;
+	}
+
+	/**
+	 * Generate new random round, using the one prepared by {@link #prepareNextRound()} if any.
 	 * 
 	 * @param newLevel If true resets all character's parameters.
 	 */
 	public void startNewRandomRound(boolean newLevel)
 	{
-		Random x = new Random();
-		startNewRound(Constants.MIN_BRICK_BLOCKS + x.nextInt(30),
-				Constants.MIN_ENEMIES + x.nextInt(4), Constants.INIT_TIMER_VALUE,
-				newLevel);
+		if (!prepared) prepareNextRound();
+		prepared = false;
+		startNewRound(nextBlocks, nextEnemies, Constants.INIT_TIMER_VALUE,
+				newLevel, nextSeed);
 	}
 
 	/**
@@ -99,8 +133,24 @@ public class GameScreen implements UIScreen
 	public void startNewRound(int blocks, int enemies, int time,
 			boolean newLevel)
 	{
-		Random x = new Random();
-		world.initializeGame(blocks, time);
+		startNewRound(blocks, enemies, time, newLevel, new Random().nextLong());
+	}
+
+	/**
+	 * Generate new round from a seed.
+	 * 
+	 * @param blocks The number of breakable blocks in this round.
+	 * @param enemies The number of enemies in this round
+	 * @param time The timer initial value.
+	 * @param newLevel If true resets all character's parameters.
+	 * @param seed The round's seed.
+	 */
+	public void startNewRound(int blocks, int enemies, int time,
+			boolean newLevel, long seed)
+	{
+		world.initializeGame(blocks, time, seed);
+		// the enemies follow the round's seed as well
+		Random x = world.getRandom();
 		if (newLevel)
 			bomber = new BomberDecorator(world, 32, 32);
 		else
@@ -0,0 +1,106 @@
+package bomberman.core.util;
+
+import java.util.Random;
+
+/**
+ * The AliasTable class samples a discrete distribution in constant time using Walker's alias
+ * method: each outcome owns a column that holds its own probability and an alias outcome for the
+ * remaining part, so a sample costs a single column pick and a single coin flip.
+ * 
+ * @author Federico Scozzafava
+ * @see http://en.wikipedia.org/wiki/Alias_method
+ */
+public class AliasTable
+{
+
+	/**
+	 * The alias outcome of each column.
+	 */
+	private final int[] alias;
+
+	/**
+	 * The probability of each column to return its own outcome instead of the alias.
+	 */
+	private final float[] probability;
+
+	/**
+	 * Instantiates a new {@link AliasTable} over the given weights, built with Vose's
+	 * algorithm. Weights do not need to sum to one.
+	 * 
+	 * @param weights
+	 *            the weight of each outcome
+	 */
+	public AliasTable(float[] weights)
+	{
+		int n = weights.length;
+		double sum = 0;
+		for (float w : weights)
+		{
+			if (w < 0) throw new RuntimeException("negative weight");
+			sum += w;
+		}
+		if (sum <= 0) throw new RuntimeException("weights must have a positive sum");
+		alias = new int[n];
+		probability = new float[n];
+		double[] scaled = new double[n];
+		int[] small = new int[n];
+		int[] large = new int[n];
+		int smallCount = 0, largeCount = 0;
+		for (int i = 0; i < n; i++)
+		{
+			scaled[i] = weights[i] * n / sum;
+			if (scaled[i] < 1)
+				small[smallCount++] = i;
+			else
+				large[largeCount++] = i;
+		}
+		while (smallCount > 0 && largeCount > 0)
+		{
+			int s = small[--smallCount];
+			int l = large[--largeCount];
+			probability[s] = (float) scaled[s];
+			alias[s] = l;
+			scaled[l] += scaled[s] - 1;
+			if (scaled[l] < 1)
+				small[smallCount++] = l;
+			else
+				large[largeCount++] = l;
+		}
+		// leftovers are full columns, up to rounding errors
+		while (largeCount > 0)
+		{
+			int l = large[--largeCount];
+			probability[l] = 1;
+			alias[l] = l;
+		}
+		while (smallCount > 0)
+		{
+			int s = small[--smallCount];
+			probability[s] = 1;
+			alias[s] = s;
+		}
+	}
+
+	/**
+	 * Draws an outcome.
+	 * 
+	 * @param random
+	 *            the source of randomness
+	 * @return the index of the outcome
+	 */
+	public int sample(Random random)
+	{
+		int i = random.nextInt(probability.length);
+		return random.nextFloat() < probability[i] ? i : alias[i];
+	}
+
+	/**
+	 * Gets the number of outcomes.
+	 * 
+	 * @return the number of outcomes
+	 */
+	public int size()
+	{
+		return probability.length;
+	}
+}
@@ -17,7 +17,7 @@ public abstract class Constants
 
 	/**
 	 * The Constant BOMB_TIME defines the time that passes from the when {@link Bomb} 
-	 * was triggered and when it explodes in milliseconds.
+	 * was triggered and when it explodes in ticks.
 	 */
 	public static final int BOMB_TIME = 100;
 
@@ -45,7 +45,10 @@ public abstract class Constants
 	 */
 	public static final float BOX2D_WORLD_SCALE = 100f;
 
-	public static final int DIE_TIME = 50;
+	/**
+	 * The Constant DIE_TIME defines how long the dying animation of an entity lasts in ticks.
+	 */
+	public static final int DIE_TIME = 25;
 
 	public static final int ENEMY_BAROM_DIE_SCORE = 500;
 
@@ -57,6 +60,13 @@ public abstract class Constants
 
 	public static final int ENEMY_PONTAN_DIE_SCORE = 250;
 
+	/**
+	 * The Constant ENTITY_FRAME_TIME defines how long each frame of the animations of the
+	 * decorated entities is displayed in milliseconds. Those animations used to advance twice
+	 * per update, so their frames last half the {@link #SPRITE_FRAME_TIME} to keep their speed.
+	 */
+	public static final float ENTITY_FRAME_TIME = Constants.SPRITE_FRAME_TIME / 2;
+
 	public static final int FIRE_MAX_RANGE = 10;
 
 	public static final int FIRE_RANGE_INCREMENT = 1;
@@ -78,6 +88,12 @@ public abstract class Constants
 
 	public static final int INIT_TIMER_VALUE = 150;
 
+	/**
+	 * The Constant MAX_CATCH_UP_TICKS defines how many ticks the simulation may run in a
+	 * single update to catch up after a hitch, the time beyond that is dropped.
+	 */
+	public static final int MAX_CATCH_UP_TICKS = 5;
+
 	public static final float MARON_SPEED = 1f;
 
 	public static final int MIN_BRICK_BLOCKS = 25;
@@ -112,5 +128,11 @@ public abstract class Constants
 			"PowerUpSpeedUp", "PowerUpSpeedDown", "PowerUpTimeUp",
 			"PowerUpTimeDown", "dynamicGroundImage" };
 
+	/**
+	 * The Constant TICK_TIME defines the fixed length of a simulation tick in milliseconds.
+	 * All the game timers count ticks and the physics world is stepped by this amount.
+	 */
+	public static final int TICK_TIME = 33;
+
 	public static final int TIMER_INCREMENT = 30;
 }
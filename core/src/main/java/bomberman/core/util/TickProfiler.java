@@ -0,0 +1,248 @@
+package bomberman.core.util;
+
+/**
+ * The TickProfiler class collects the time taken by each phase of a frame: the update of the
+ * entities, the draining of the added and removed ones, the physics step, the contacts and
+ * releases it reports, the update and paint of the decorators, the accelerated draw and the
+ * whole update and paint of the game.
+ * <p>
+ * The times of each phase are counted in a histogram of power of two buckets allocated
+ * together with the profiler, so recording a time costs a few operations and no allocation,
+ * and the percentiles are known within a factor of two. A phase is timed by passing to
+ * {@link #record(int, long)} the {@code System.nanoTime()} it started at; the time it ended
+ * at is returned, so that the phases following each other can be timed with a single clock
+ * read each.
+ * 
+ * @author Federico Scozzafava
+ */
+public class TickProfiler
+{
+
+	/**
+	 * The update of the {@link bomberman.core.logic.Entity}s.
+	 */
+	public static final int ENTITIES = 0;
+
+	/**
+	 * The draining of the entities added and removed during the update.
+	 */
+	public static final int FLUSH = 1;
+
+	/**
+	 * The step of the physics engine.
+	 */
+	public static final int STEP = 2;
+
+	/**
+	 * The dispatch of the contacts begun during the step.
+	 */
+	public static final int CONTACTS = 3;
+
+	/**
+	 * The dispatch of the contacts ended during the step.
+	 */
+	public static final int RELEASES = 4;
+
+	/**
+	 * The update of the decorators.
+	 */
+	public static final int DECORATORS = 5;
+
+	/**
+	 * The paint of the decorators, interpolating between two ticks.
+	 */
+	public static final int INTERPOLATE = 6;
+
+	/**
+	 * The accelerated draw of the decorators.
+	 */
+	public static final int DRAW = 7;
+
+	/**
+	 * The whole update of the game.
+	 */
+	public static final int UPDATE = 8;
+
+	/**
+	 * The whole paint of the game.
+	 */
+	public static final int PAINT = 9;
+
+	/**
+	 * The number of phases.
+	 */
+	public static final int PHASES = 10;
+
+	/**
+	 * The number of buckets of a histogram, one per bit of a positive time in nanoseconds.
+	 */
+	private static final int BUCKETS = 64;
+
+	/**
+	 * The header line of the csv.
+	 */
+	public static final String CSV_HEADER = "phase,count,total,mean,p50,p99,max";
+
+	/**
+	 * The names of the phases.
+	 */
+	private static final String[] NAMES = { "entities", "flush", "step", "contacts",
+			"releases", "decorators", "interpolate", "draw", "update", "paint" };
+
+	/**
+	 * Gets the name of a phase.
+	 * 
+	 * @param phase
+	 *            the phase
+	 * @return the name
+	 */
+	public static String getName(int phase)
+	{
+		return NAMES[phase];
+	}
+
+	/**
+	 * The histogram of each phase, the bucket {@code i} counts the times with {@code i}
+	 * significant bits.
+	 */
+	private final long[][] buckets = new long[PHASES][BUCKETS];
+
+	/**
+	 * The number of times recorded for each phase.
+	 */
+	private final long[] count = new long[PHASES];
+
+	/**
+	 * The longest time of each phase, in nanoseconds.
+	 */
+	private final long[] max = new long[PHASES];
+
+	/**
+	 * The total time of each phase, in nanoseconds.
+	 */
+	private final long[] total = new long[PHASES];
+
+	/**
+	 * Removes all the recorded times.
+	 */
+	public void clear()
+	{
+		for (int p = 0; p < PHASES; p++)
+		{
+			for (int i = 0; i < BUCKETS; i++)
+				buckets[p][i] = 0;
+			count[p] = 0;
+			max[p] = 0;
+			total[p] = 0;
+		}
+	}
+
+	/**
+	 * Gets the number of times recorded for a phase.
+	 * 
+	 * @param phase
+	 *            the phase
+	 * @return the count
+	 */
+	public long getCount(int phase)
+	{
+		return count[phase];
+	}
+
+	/**
+	 * Gets the longest time of a phase.
+	 * 
+	 * @param phase
+	 *            the phase
+	 * @return the time, in nanoseconds
+	 */
+	public long getMax(int phase)
+	{
+		return max[phase];
+	}
+
+	/**
+	 * Gets the average time of a phase.
+	 * 
+	 * @param phase
+	 *            the phase
+	 * @return the time, in nanoseconds, 0 if no time was recorded
+	 */
+	public long getMean(int phase)
+	{
+		return count[phase] == 0 ? 0 : total[phase] / count[phase];
+	}
+
+	/**
+	 * Gets an upper bound of a percentile of the times of a phase.
+	 * 
+	 * @param phase
+	 *            the phase
+	 * @param percent
+	 *            the percentile, between 0 and 100
+	 * @return the time, in nanoseconds, within which that share of the times took
+	 */
+	public long getPercentile(int phase, int percent)
+	{
+		long[] b = buckets[phase];
+		long rank = (count[phase] * percent + 99) / 100;
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++)
+		{
+			seen += b[i];
+			if (seen >= rank && seen > 0)
+				return Math.min(max[phase], i == BUCKETS - 1 ? Long.MAX_VALUE : (1L << i) - 1);
+		}
+		return max[phase];
+	}
+
+	/**
+	 * Gets the total time of a phase.
+	 * 
+	 * @param phase
+	 *            the phase
+	 * @return the time, in nanoseconds
+	 */
+	public long getTotal(int phase)
+	{
+		return total[phase];
+	}
+
+	/**
+	 * Records the time of a phase that has just ended.
+	 * 
+	 * @param phase
+	 *            the phase
+	 * @param start
+	 *            the {@code System.nanoTime()} the phase started at
+	 * @return the {@code System.nanoTime()} the phase ended at, the start of the next one
+	 */
+	public long record(int phase, long start)
+	{
+		long now = System.nanoTime();
+		long nanos = now - start;
+		if (nanos < 0) nanos = 0;
+		buckets[phase][64 - Long.numberOfLeadingZeros(nanos)]++;
+		count[phase]++;
+		total[phase] += nanos;
+		if (nanos > max[phase]) max[phase] = nanos;
+		return now;
+	}
+
+	/**
+	 * Writes the recorded times as lines of comma separated values, one per phase after the
+	 * {@link #CSV_HEADER}, all the times in nanoseconds.
+	 * 
+	 * @return the csv
+	 */
+	public String toCsv()
+	{
+		StringBuilder s = new StringBuilder(CSV_HEADER).append('\n');
+		for (int p = 0; p < PHASES; p++)
+			s.append(NAMES[p]).append(',').append(count[p]).append(',').append(total[p])
+					.append(',').append(getMean(p)).append(',').append(getPercentile(p, 50))
+					.append(',').append(getPercentile(p, 99)).append(',').append(max[p])
+					.append('\n');
+		return s.toString();
+	}
+}
@@ -0,0 +1,97 @@
+package bomberman.core.logic;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests the {@link Blast}: the footprint computed on the bit masks of the {@link TileMap} is
+ * the one found by walking the cells from the centre, stopping at the first wall or brick.
+ * 
+ * @author Federico Scozzafava
+ */
+public class BlastTest
+{
+
+	/**
+	 * Walks the cells from the centre of a blast in a direction.
+	 * 
+	 * @param map
+	 *            the {@link TileMap}
+	 * @param x
+	 *            the x coordinate of the centre
+	 * @param y
+	 *            the y coordinate of the centre
+	 * @param dx
+	 *            the x step
+	 * @param dy
+	 *            the y step
+	 * @param range
+	 *            the range
+	 * @return the distance reached by the fire, and the distance of the brick stopping it or
+	 *         -1
+	 */
+	private static int[] walk(TileMap map, int x, int y, int dx, int dy, int range)
+	{
+		for (int d = 1; d <= range; d++)
+		{
+			byte t = map.getTile(x + dx * d, y + dy * d);
+			if (t != TileMap.FREE) return new int[] { d - 1, t == TileMap.BRICK ? d : -1 };
+		}
+		return new int[] { range, -1 };
+	}
+
+	/**
+	 * Checks a side of a footprint against a walk of the cells.
+	 */
+	private static void check(TileMap map, Blast blast, int dx, int dy, int range, int end,
+			int brick)
+	{
+		int x = blast.getX();
+		int y = blast.getY();
+		int[] w = walk(map, x, y, dx, dy, range);
+		String at = "(" + x + "," + y + ") range " + range + " direction " + dx + "," + dy;
+		assertEquals(at, w[0], Math.abs(dx != 0 ? end - x : end - y));
+		int expected = w[1] < 0 ? -1 : dx != 0 ? x + dx * w[1] : y + dy * w[1];
+		assertEquals(at, expected, brick);
+	}
+
+	/**
+	 * The footprints of blasts of every range, in random walled grids with walls and bricks,
+	 * stop where a walk of the cells stops, on a grid wider than a word of the masks.
+	 */
+	@Test
+	public void stopsAtTheFirstRigidCell()
+	{
+		Random random = new Random(11);
+		for (int n = 0; n < 20; n++)
+		{
+			int width = 5 + random.nextInt(90);
+			int height = 5 + random.nextInt(70);
+			TileMap map = new TileMap(width, height);
+			for (int x = 0; x < width; x++)
+				for (int y = 0; y < height; y++)
+					if (x == 0 || y == 0 || x == width - 1 || y == height - 1
+							|| x % 2 == 0 && y % 2 == 0)
+						map.setTile(x, y, TileMap.WALL);
+					else if (random.nextInt(4) == 0) map.setTile(x, y, TileMap.BRICK);
+			Blast blast = new Blast();
+			for (int k = 0; k < 200; k++)
+			{
+				int x = 1 + random.nextInt(width - 2);
+				int y = 1 + random.nextInt(height - 2);
+				if (map.getTile(x, y) != TileMap.FREE) continue;
+				int range = 1 + random.nextInt(12);
+				blast.compute(map, x, y, range);
+				assertEquals(x, blast.getX());
+				assertEquals(y, blast.getY());
+				check(map, blast, -1, 0, range, blast.getLeft(), blast.getLeftBrick());
+				check(map, blast, 1, 0, range, blast.getRight(), blast.getRightBrick());
+				check(map, blast, 0, -1, range, blast.getTop(), blast.getTopBrick());
+				check(map, blast, 0, 1, range, blast.getBottom(), blast.getBottomBrick());
+			}
+		}
+	}
+}
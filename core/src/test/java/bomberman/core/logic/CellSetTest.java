@@ -0,0 +1,112 @@
+package bomberman.core.logic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+/**
+ * Tests the {@link CellSet}: it holds the same cells as a {@link Set} through any sequence of
+ * additions and removals, and draws each of its cells once.
+ * 
+ * @author Federico Scozzafava
+ */
+public class CellSetTest
+{
+
+	/**
+	 * The capacity of the sets, the cells of a grid of the game.
+	 */
+	private static final int CAPACITY = 19 * 15;
+
+	/**
+	 * Checks that a {@link CellSet} holds the same cells as a {@link Set}.
+	 */
+	private static void checkSame(Set<Integer> expected, CellSet cells)
+	{
+		assertEquals(expected.size(), cells.size());
+		assertEquals(expected.isEmpty(), cells.isEmpty());
+		Set<Integer> listed = new HashSet<Integer>();
+		for (int n = 0; n < cells.size(); n++)
+			assertTrue(listed.add(cells.get(n)));
+		assertEquals(expected, listed);
+		for (int c = 0; c < CAPACITY; c++)
+			assertEquals(expected.contains(c), cells.contains(c));
+	}
+
+	/**
+	 * Random additions and removals, swapping the last cell in the hole left, keep the same
+	 * cells as a {@link Set}, and the duplicates and missing cells are reported.
+	 */
+	@Test
+	public void holdsTheSameCellsAsASet()
+	{
+		Random random = new Random(13);
+		CellSet cells = new CellSet(CAPACITY);
+		Set<Integer> expected = new HashSet<Integer>();
+		for (int n = 0; n < 20000; n++)
+		{
+			int c = random.nextInt(CAPACITY);
+			if (random.nextInt(3) == 0)
+				assertEquals(expected.remove(c), cells.remove(c));
+			else
+				assertEquals(expected.add(c), cells.add(c));
+			if (n % 500 == 0) checkSame(expected, cells);
+		}
+		checkSame(expected, cells);
+		cells.clear();
+		expected.clear();
+		checkSame(expected, cells);
+		assertTrue(cells.add(7));
+		expected.add(7);
+		checkSame(expected, cells);
+	}
+
+	/**
+	 * Drawing until the set is empty returns every cell once, the same sequence for the same
+	 * seed, and drawing from an empty set fails.
+	 */
+	@Test
+	public void drawsEveryCellOnce()
+	{
+		CellSet a = new CellSet(CAPACITY);
+		CellSet b = new CellSet(CAPACITY);
+		for (int c = 0; c < CAPACITY; c += 3)
+		{
+			a.add(c);
+			b.add(c);
+		}
+		Random ra = new Random(21);
+		Random rb = new Random(21);
+		Set<Integer> drawn = new HashSet<Integer>();
+		while (!a.isEmpty())
+		{
+			int c = a.removeRandom(ra);
+			assertEquals(c, b.removeRandom(rb));
+			assertEquals(0, c % 3);
+			assertFalse(a.contains(c));
+			assertTrue(drawn.add(c));
+		}
+		assertEquals((CAPACITY + 2) / 3, drawn.size());
+		try
+		{
+			a.removeRandom(ra);
+			fail("drew from an empty set");
+		}
+		catch (RuntimeException e)
+		{}
+		try
+		{
+			a.get(0);
+			fail("got a cell of an empty set");
+		}
+		catch (RuntimeException e)
+		{}
+	}
+}
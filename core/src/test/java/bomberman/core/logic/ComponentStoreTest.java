@@ -0,0 +1,205 @@
+package bomberman.core.logic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+import bomberman.core.util.Constants;
+
+/**
+ * Tests the {@link ComponentStore}: the components kept while it grows, the slots reset when
+ * cleared, and the systems moving the positions and the velocities between the store and a
+ * {@link TileBackend}.
+ * 
+ * @author Federico Scozzafava
+ */
+public class ComponentStoreTest
+{
+
+	/**
+	 * The length of a step in seconds.
+	 */
+	private static final float STEP = Constants.TICK_TIME / 1000f;
+
+	/**
+	 * The {@link PhysicsBackend.Listener} ignoring the contacts.
+	 */
+	private static final PhysicsBackend.Listener IGNORE = new PhysicsBackend.Listener()
+	{
+		@Override
+		public void beginContact(PhysicsEntity a, PhysicsEntity b)
+		{}
+
+		@Override
+		public void endContact(PhysicsEntity a, PhysicsEntity b)
+		{}
+	};
+
+	/**
+	 * Creates a {@link TileBackend} on an empty {@link TileMap}.
+	 * 
+	 * @return the {@link TileBackend}
+	 */
+	private static TileBackend physics()
+	{
+		TileBackend physics = new TileBackend();
+		physics.setGrid(new TileMap(13, 11), Constants.FIXED_SQUARE_SIZE);
+		return physics;
+	}
+
+	/**
+	 * Creates a body going through the walls at the given position.
+	 * 
+	 * @param physics
+	 *            the {@link TileBackend}
+	 * @param x
+	 *            the x position in pixels
+	 * @param y
+	 *            the y position in pixels
+	 * @return the id of the body
+	 */
+	private static int body(TileBackend physics, float x, float y)
+	{
+		return physics.createBody(new StubEntity("enemy", CollisionKind.ENEMY), x, y, 10,
+				false);
+	}
+
+	/**
+	 * The slots never used have no body, and growing the store keeps the components of the
+	 * slots in use.
+	 */
+	@Test
+	public void growsKeepingTheComponents()
+	{
+		ComponentStore c = new ComponentStore();
+		for (int i = 0; i < 16; i++)
+		{
+			c.reserve(i);
+			assertEquals(-1, c.getBody(i));
+			c.setBody(i, i * 2);
+			c.placeAt(i, i, -i);
+			c.setLives(i, i + 1);
+			c.setSpeed(i, i * 0.5f);
+			c.setState(i, State.values()[i % State.values().length]);
+			c.setDormant(i, i % 3 == 0);
+		}
+		c.reserve(100);
+		for (int i = 0; i < 16; i++)
+		{
+			assertEquals(i * 2, c.getBody(i));
+			assertEquals(i, c.getX(i), 0);
+			assertEquals(-i, c.getY(i), 0);
+			assertEquals(i + 1, c.getLives(i));
+			assertEquals(i * 0.5f, c.getSpeed(i), 0);
+			assertSame(State.values()[i % State.values().length], c.getState(i));
+			assertEquals(i % 3 == 0, c.isDormant(i));
+		}
+		for (int i = 16; i <= 100; i++)
+		{
+			assertEquals(-1, c.getBody(i));
+			assertFalse(c.isDormant(i));
+		}
+	}
+
+	/**
+	 * A cleared slot has no body, strategy, velocity to hand out or dormancy left over for the
+	 * next entity taking it.
+	 */
+	@Test
+	public void clearsTheSlot()
+	{
+		TileBackend physics = physics();
+		int b = body(physics, 100, 100);
+		ComponentStore c = new ComponentStore();
+		c.reserve(0);
+		c.setBody(0, b);
+		c.setDormant(0, true);
+		c.setStrategy(0, new Strategy1());
+		c.setVelocity(0, 60, 0);
+		c.clear(0);
+		assertEquals(-1, c.getBody(0));
+		assertFalse(c.isDormant(0));
+		assertNull(c.getStrategy(0));
+		c.setBody(0, b);
+		c.applyVelocities(physics);
+		physics.step(STEP, IGNORE);
+		assertEquals(100, physics.getX(b), 0);
+	}
+
+	/**
+	 * The velocities set during a tick are handed to the bodies once, the ones not set again
+	 * are left to the bodies.
+	 */
+	@Test
+	public void handsTheVelocitiesOnce()
+	{
+		TileBackend physics = physics();
+		int b = body(physics, 100, 100);
+		ComponentStore c = new ComponentStore();
+		c.reserve(0);
+		c.setBody(0, b);
+		c.setVelocity(0, 60, -30);
+		assertEquals(60, c.getVelocityX(0), 0);
+		assertEquals(-30, c.getVelocityY(0), 0);
+		c.applyVelocities(physics);
+		physics.step(1, IGNORE);
+		assertEquals(160, physics.getX(b), 0.01f);
+		assertEquals(70, physics.getY(b), 0.01f);
+		physics.setVelocity(b, 0, 0);
+		c.applyVelocities(physics);
+		physics.step(1, IGNORE);
+		assertEquals(160, physics.getX(b), 0.01f);
+		assertEquals(70, physics.getY(b), 0.01f);
+	}
+
+	/**
+	 * The positions follow the bodies rounded to the pixel, the bodies snapped with them,
+	 * except for the dormant slots and the ones with no body.
+	 */
+	@Test
+	public void followsTheBodies()
+	{
+		TileBackend physics = physics();
+		ComponentStore c = new ComponentStore();
+		for (int i = 0; i < 3; i++)
+		{
+			c.reserve(i);
+			c.placeAt(i, 1, 2);
+		}
+		int a = body(physics, 40.4f, 50.6f);
+		int d = body(physics, 80.4f, 90.6f);
+		c.setBody(0, a);
+		c.setBody(1, d);
+		c.setDormant(1, true);
+		c.followBodies(physics);
+		assertEquals(40, c.getX(0), 0);
+		assertEquals(51, c.getY(0), 0);
+		assertEquals(40, physics.getX(a), 0);
+		assertEquals(51, physics.getY(a), 0);
+		assertEquals(1, c.getX(1), 0);
+		assertEquals(80.4f, physics.getX(d), 0);
+		assertEquals(1, c.getX(2), 0);
+		assertEquals(2, c.getY(2), 0);
+	}
+
+	/**
+	 * The positions saved at the start of a tick are interpolated with the current ones.
+	 */
+	@Test
+	public void interpolatesFromTheSavedPositions()
+	{
+		ComponentStore c = new ComponentStore();
+		c.reserve(0);
+		c.placeAt(0, 10, 20);
+		assertEquals(10, c.getX(0, 0.5f), 0);
+		c.savePositions();
+		c.setPosition(0, 30, 0);
+		assertEquals(10, c.getX(0, 0), 0);
+		assertEquals(20, c.getX(0, 0.5f), 0);
+		assertEquals(30, c.getX(0, 1), 0);
+		assertEquals(10, c.getY(0, 0.5f), 0);
+	}
+}
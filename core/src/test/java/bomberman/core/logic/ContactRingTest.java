@@ -0,0 +1,186 @@
+package bomberman.core.logic;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Tests the {@link ContactRing}: the pairs it leaves out as duplicates and the order it
+ * dispatches the others in, while it grows and while it is drained.
+ * 
+ * @author Federico Scozzafava
+ */
+public class ContactRingTest
+{
+
+	/**
+	 * The {@link PhysicsBackend.Listener} writing down the pairs dispatched.
+	 */
+	private static class Recorder implements PhysicsBackend.Listener
+	{
+
+		/**
+		 * The pairs dispatched so far.
+		 */
+		final List<String> pairs = new ArrayList<String>();
+
+		/* (non-Javadoc)
+		 * @see bomberman.core.logic.PhysicsBackend.Listener#beginContact(bomberman.core.logic.PhysicsEntity, bomberman.core.logic.PhysicsEntity)
+		 */
+		@Override
+		public void beginContact(PhysicsEntity a, PhysicsEntity b)
+		{
+			pairs.add(a + "-" + b);
+		}
+
+		/* (non-Javadoc)
+		 * @see bomberman.core.logic.PhysicsBackend.Listener#endContact(bomberman.core.logic.PhysicsEntity, bomberman.core.logic.PhysicsEntity)
+		 */
+		@Override
+		public void endContact(PhysicsEntity a, PhysicsEntity b)
+		{
+			pairs.add("end " + a + "-" + b);
+		}
+	}
+
+	/**
+	 * Creates entities named after their index.
+	 * 
+	 * @param n
+	 *            the number of entities
+	 * @return the entities
+	 */
+	private static StubEntity[] entities(int n)
+	{
+		StubEntity[] e = new StubEntity[n];
+		for (int i = 0; i < n; i++)
+			e[i] = new StubEntity(String.valueOf(i), CollisionKind.ENEMY);
+		return e;
+	}
+
+	/**
+	 * A pair already queued is left out in either order, and so are the pairs with a null
+	 * entity.
+	 */
+	@Test
+	public void leavesOutTheDuplicates()
+	{
+		StubEntity[] e = entities(3);
+		ContactRing ring = new ContactRing();
+		ring.push(e[0], e[1]);
+		ring.push(e[1], e[0]);
+		ring.push(e[0], e[1]);
+		ring.push(e[0], null);
+		ring.push(null, e[2]);
+		ring.push(e[1], e[2]);
+		Recorder recorder = new Recorder();
+		ring.drain(recorder, true);
+		assertEquals(Arrays.asList("0-1", "1-2"), recorder.pairs);
+	}
+
+	/**
+	 * A pair dispatched can be queued again, also by the listener during the drain.
+	 */
+	@Test
+	public void queuesAgainTheDispatchedPairs()
+	{
+		final StubEntity[] e = entities(3);
+		final ContactRing ring = new ContactRing();
+		ring.push(e[0], e[1]);
+		ring.push(e[1], e[2]);
+		Recorder recorder = new Recorder()
+		{
+			@Override
+			public void beginContact(PhysicsEntity a, PhysicsEntity b)
+			{
+				super.beginContact(a, b);
+				// the first pair again, and the second one that is still queued
+				if (pairs.size() == 1)
+				{
+					ring.push(e[1], e[0]);
+					ring.push(e[2], e[1]);
+				}
+			}
+		};
+		ring.drain(recorder, true);
+		assertEquals(Arrays.asList("0-1", "1-2", "1-0"), recorder.pairs);
+		ring.push(e[0], e[1]);
+		ring.drain(recorder, false);
+		assertEquals(Arrays.asList("0-1", "1-2", "1-0", "end 0-1"), recorder.pairs);
+	}
+
+	/**
+	 * The ring grows past its initial capacity keeping the order of the pairs and still
+	 * leaving out the duplicates.
+	 */
+	@Test
+	public void growsKeepingTheOrder()
+	{
+		StubEntity[] e = entities(41);
+		ContactRing ring = new ContactRing();
+		List<String> expected = new ArrayList<String>();
+		// start from the middle of the ring, so that the pairs wrap around when it grows
+		for (int i = 0; i < 30; i++)
+			ring.push(e[0], e[i + 1]);
+		ring.drain(new Recorder(), true);
+		for (int i = 0; i < 40; i++)
+			for (int j = i + 1; j < 41 && j < i + 6; j++)
+			{
+				ring.push(e[i], e[j]);
+				ring.push(e[j], e[i]);
+				expected.add(i + "-" + j);
+			}
+		Recorder recorder = new Recorder();
+		ring.drain(recorder, true);
+		assertEquals(expected, recorder.pairs);
+	}
+
+	/**
+	 * A pair dispatched and queued again by the listener, many more times than the set has
+	 * slots, is never left out: the dead slots are reclaimed while the ring never empties.
+	 */
+	@Test
+	public void reclaimsTheDeadSlots()
+	{
+		StubEntity[] e = entities(4);
+		final ContactRing ring = new ContactRing();
+		// two pairs taking turns, so that one is always queued
+		ring.push(e[0], e[1]);
+		ring.push(e[2], e[3]);
+		Recorder recorder = new Recorder()
+		{
+			@Override
+			public void beginContact(PhysicsEntity a, PhysicsEntity b)
+			{
+				super.beginContact(a, b);
+				if (pairs.size() < 1000) ring.push(a, b);
+			}
+		};
+		ring.drain(recorder, true);
+		assertEquals(1001, recorder.pairs.size());
+		for (int i = 0; i < recorder.pairs.size(); i++)
+			assertEquals(i % 2 == 0 ? "0-1" : "2-3", recorder.pairs.get(i));
+	}
+
+	/**
+	 * A cleared ring dispatches nothing and takes the same pairs again.
+	 */
+	@Test
+	public void clearsThePairs()
+	{
+		StubEntity[] e = entities(2);
+		ContactRing ring = new ContactRing();
+		ring.push(e[0], e[1]);
+		ring.clear();
+		Recorder recorder = new Recorder();
+		ring.drain(recorder, true);
+		assertEquals(0, recorder.pairs.size());
+		ring.push(e[1], e[0]);
+		ring.drain(recorder, true);
+		assertEquals(Arrays.asList("1-0"), recorder.pairs);
+	}
+}
@@ -0,0 +1,82 @@
+package bomberman.core.logic;
+
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import bomberman.core.logic.powerUp.PowerUp;
+import bomberman.core.logic.powerUp.PowerUpLife;
+import bomberman.core.util.Constants;
+
+/**
+ * Tests the entities left out of the update of the {@link EntityEngine} while dormant: a
+ * {@link PowerUp} falls asleep after its first update and the explosions leave it asleep.
+ * 
+ * @author Federico Scozzafava
+ */
+public class DormantEntityTest
+{
+
+	/**
+	 * The {@link Bomber} placing the bombs.
+	 */
+	private Bomber bomber;
+
+	/**
+	 * The world of the test, a round with no bricks.
+	 */
+	private LogicWorld world;
+
+	/**
+	 * Lays out a round with no bricks and the {@link Bomber} in its corner.
+	 */
+	@Before
+	public void setUp()
+	{
+		world = new LogicWorld(13, 11, Constants.FIXED_SQUARE_SIZE);
+		world.initializeGame(0, Constants.INIT_TIMER_VALUE, 42);
+		float size = world.getBlockSize();
+		bomber = new Bomber(world, size, size);
+		bomber.reset();
+	}
+
+	/**
+	 * Sets off a {@link Bomb} of range 3 in the given cell.
+	 * 
+	 * @param x
+	 *            the x coordinate in grid
+	 * @param y
+	 *            the y coordinate in grid
+	 */
+	private void explode(int x, int y)
+	{
+		Block c = world.getBlock(x, y);
+		Bomb bomb = new Bomb(world, bomber, c, 3);
+		c.setBomb(bomb);
+		world.handleExplosion(bomb);
+	}
+
+	/**
+	 * Runs the two ticks a new entity takes to fall asleep: the first one adds it to the
+	 * engine, the second one updates it.
+	 */
+	private void settle()
+	{
+		world.step();
+		world.step();
+	}
+
+	/**
+	 * A {@link PowerUp} sleeps after its first update and stays asleep out of the fire.
+	 */
+	@Test
+	public void sleepsOutOfTheFire()
+	{
+		PowerUp p = new PowerUpLife(world, world.getBlock(9, 1));
+		settle();
+		assertTrue(p.isDormant());
+		explode(1, 1);
+		assertTrue(p.isDormant());
+	}
+}
@@ -0,0 +1,249 @@
+package bomberman.core.logic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import bomberman.core.util.Constants;
+
+/**
+ * Tests the {@link EntityBucket} and the handles of the {@link EntityEngine} it is indexed
+ * by: the order the bucket is left in by the swap-remove, and the handles going stale when
+ * their entity is removed while the slot is handed out again.
+ * 
+ * @author Federico Scozzafava
+ */
+public class EntityBucketTest
+{
+
+	/**
+	 * The {@link Entity} doing nothing, named after the order it was created in.
+	 */
+	private static class Marker extends Entity
+	{
+
+		/**
+		 * The name of the entity, reported by {@link #toString()}.
+		 */
+		private final String name;
+
+		/**
+		 * Instantiates a new {@link Marker}.
+		 * 
+		 * @param l
+		 *            the {@link LogicWorld}
+		 * @param name
+		 *            the name
+		 */
+		Marker(LogicWorld l, String name)
+		{
+			super(l, 0, 0, 1);
+			this.name = name;
+		}
+
+		/* (non-Javadoc)
+		 * @see java.lang.Object#toString()
+		 */
+		@Override
+		public String toString()
+		{
+			return name;
+		}
+
+		/* (non-Javadoc)
+		 * @see bomberman.core.logic.Entity#update(int)
+		 */
+		@Override
+		public void update(int delta)
+		{}
+	}
+
+	/**
+	 * The world the entities are created in, never stepped: its own engine is left alone.
+	 */
+	private LogicWorld world;
+
+	/**
+	 * Creates the world of the entities.
+	 */
+	@Before
+	public void setUp()
+	{
+		world = new LogicWorld(13, 11, Constants.FIXED_SQUARE_SIZE, new TileBackend());
+	}
+
+	/**
+	 * Creates entities named after their index, each with the handle of its own slot.
+	 * 
+	 * @param n
+	 *            the number of entities
+	 * @return the entities
+	 */
+	private Marker[] markers(int n)
+	{
+		Marker[] e = new Marker[n];
+		for (int i = 0; i < n; i++)
+		{
+			e[i] = new Marker(world, String.valueOf(i));
+			e[i].setHandle(i);
+		}
+		return e;
+	}
+
+	/**
+	 * Creates an {@link EntityEngine} on an empty {@link TileMap}.
+	 * 
+	 * @return the {@link EntityEngine}
+	 */
+	private static EntityEngine engine()
+	{
+		TileBackend physics = new TileBackend();
+		physics.setGrid(new TileMap(13, 11), Constants.FIXED_SQUARE_SIZE);
+		return new EntityEngine(physics);
+	}
+
+	/**
+	 * A deleted entity is replaced by the last one, the others keeping their place.
+	 */
+	@Test
+	public void movesTheLastInPlaceOfTheDeleted()
+	{
+		Marker[] e = markers(5);
+		EntityBucket<Entity> bucket = new EntityBucket<Entity>();
+		for (Marker m : e)
+			bucket.insert(m);
+		bucket.delete(e[1]);
+		assertEquals("[0, 4, 2, 3]", bucket.toString());
+		bucket.delete(e[3]);
+		assertEquals("[0, 4, 2]", bucket.toString());
+		bucket.delete(e[0]);
+		bucket.delete(e[2]);
+		assertEquals("[4]", bucket.toString());
+		bucket.delete(e[4]);
+		assertTrue(bucket.isEmpty());
+	}
+
+	/**
+	 * A long run of random insertions and deletions leaves the bucket as a list doing the
+	 * same swap-remove, also past its initial capacity.
+	 */
+	@Test
+	public void matchesASwapRemoveList()
+	{
+		Random random = new Random(12);
+		Marker[] e = markers(200);
+		EntityBucket<Entity> bucket = new EntityBucket<Entity>();
+		List<Entity> expected = new ArrayList<Entity>();
+		boolean[] in = new boolean[e.length];
+		for (int i = 0; i < 20000; i++)
+		{
+			int k = random.nextInt(e.length);
+			if (in[k])
+			{
+				bucket.delete(e[k]);
+				int p = expected.indexOf(e[k]);
+				Entity last = expected.remove(expected.size() - 1);
+				if (p < expected.size()) expected.set(p, last);
+			}
+			else
+			{
+				bucket.insert(e[k]);
+				expected.add(e[k]);
+			}
+			in[k] = !in[k];
+			assertEquals(expected.size(), bucket.size());
+		}
+		assertEquals(expected, bucket);
+		bucket.clearAll();
+		assertTrue(bucket.isEmpty());
+	}
+
+	/**
+	 * Reading out of the bucket is rejected.
+	 */
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void rejectsTheIndicesOutOfRange()
+	{
+		EntityBucket<Entity> bucket = new EntityBucket<Entity>();
+		bucket.insert(markers(1)[0]);
+		bucket.get(1);
+	}
+
+	/**
+	 * An entity gets its handle when the engine registers it, and is found by it until it is
+	 * removed: then the handle is stale, also once its slot is handed out again.
+	 */
+	@Test
+	public void staleHandlesFindNothing()
+	{
+		EntityEngine engine = engine();
+		Marker a = new Marker(world, "a");
+		Marker b = new Marker(world, "b");
+		engine.add(a);
+		engine.add(b);
+		assertEquals(-1, a.getHandle());
+		engine.update(0);
+		int ha = a.getHandle();
+		int hb = b.getHandle();
+		assertTrue(ha >= 0 && hb >= 0 && ha != hb);
+		assertSame(a, engine.getEntity(ha));
+		assertSame(b, engine.getEntity(hb));
+		engine.remove(a);
+		engine.update(0);
+		assertEquals(-1, a.getHandle());
+		assertNull(engine.getEntity(ha));
+		assertSame(b, engine.getEntity(hb));
+		Marker c = new Marker(world, "c");
+		engine.add(c);
+		engine.update(0);
+		int hc = c.getHandle();
+		assertEquals(EntityEngine.slot(ha), EntityEngine.slot(hc));
+		assertFalse(ha == hc);
+		assertNull(engine.getEntity(ha));
+		assertSame(c, engine.getEntity(hc));
+		assertNull(engine.getEntity(-1));
+		assertNull(engine.getEntity(hb + 100));
+	}
+
+	/**
+	 * An entity registered again gets a new handle, and the handles of the entities removed all
+	 * at once are stale.
+	 */
+	@Test
+	public void removingAllMakesTheHandlesStale()
+	{
+		EntityEngine engine = engine();
+		Marker[] e = new Marker[100];
+		for (int i = 0; i < e.length; i++)
+		{
+			e[i] = new Marker(world, String.valueOf(i));
+			engine.add(e[i]);
+		}
+		engine.update(0);
+		assertEquals(e.length, engine.getEntityCount());
+		int[] handles = new int[e.length];
+		for (int i = 0; i < e.length; i++)
+			handles[i] = e[i].getHandle();
+		engine.removeAll();
+		assertEquals(0, engine.getEntityCount());
+		for (int i = 0; i < e.length; i++)
+		{
+			assertEquals(-1, e[i].getHandle());
+			assertNull(engine.getEntity(handles[i]));
+		}
+		engine.add(e[0]);
+		engine.update(0);
+		assertFalse(e[0].getHandle() == handles[0]);
+		assertSame(e[0], engine.getEntity(e[0].getHandle()));
+		assertNull(engine.getEntity(handles[0]));
+	}
+}
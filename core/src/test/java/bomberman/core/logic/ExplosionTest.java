@@ -0,0 +1,122 @@
+package bomberman.core.logic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+import bomberman.core.util.Constants;
+
+/**
+ * Tests the explosions handled by the {@link LogicWorld}: the cells each of them sets on
+ * fire, whatever the explosions handled before it in the same tick or in an earlier round.
+ * 
+ * @author Federico Scozzafava
+ */
+public class ExplosionTest
+{
+
+	/**
+	 * Creates a world with the bricks laid out from the given seed.
+	 * 
+	 * @param seed
+	 *            the seed of the layout
+	 * @return the {@link LogicWorld}
+	 */
+	private static LogicWorld world(long seed)
+	{
+		LogicWorld world = new LogicWorld(13, 11, Constants.FIXED_SQUARE_SIZE);
+		world.initializeGame(40, Constants.INIT_TIMER_VALUE, seed);
+		return world;
+	}
+
+	/**
+	 * Sets off a {@link Bomb} in the given cell.
+	 * 
+	 * @param world
+	 *            the {@link LogicWorld}
+	 * @param x
+	 *            the x coordinate in grid
+	 * @param y
+	 *            the y coordinate in grid
+	 * @param range
+	 *            the range of the bomb
+	 */
+	private static void explode(LogicWorld world, int x, int y, int range)
+	{
+		float size = world.getBlockSize();
+		Bomber bomber = new Bomber(world, size, size);
+		Block c = world.getBlock(x, y);
+		Bomb bomb = new Bomb(world, bomber, c, range);
+		c.setBomb(bomb);
+		world.handleExplosion(bomb);
+	}
+
+	/**
+	 * Counts the cells on fire.
+	 * 
+	 * @param map
+	 *            the {@link TileMap}
+	 * @return the number of burning cells
+	 */
+	private static int burning(TileMap map)
+	{
+		int n = 0;
+		for (int x = 0; x < map.getWidth(); x++)
+			for (int y = 0; y < map.getHeight(); y++)
+				if (map.isBurning(x, y)) n++;
+		return n;
+	}
+
+	/**
+	 * The same explosion on the same layout lights the same cells in every round, the world
+	 * never stepped in between.
+	 */
+	@Test
+	public void lightsTheCellsInEveryRound()
+	{
+		LogicWorld world = world(42);
+		int first = -1;
+		for (int round = 0; round < 3; round++)
+		{
+			world.initializeGame(40, Constants.INIT_TIMER_VALUE, 42);
+			explode(world, 1, 1, 5);
+			int n = burning(world.getTileMap());
+			assertTrue(n > 0);
+			if (first < 0) first = n;
+			assertEquals("round " + round, first, n);
+		}
+	}
+
+	/**
+	 * A brick broken by an explosion catches fire from a second explosion of the same tick
+	 * running through it, the two bombs out of each other's range.
+	 */
+	@Test
+	public void lightsABrickBrokenInTheSameTick()
+	{
+		for (long seed = 1; seed < 200; seed++)
+		{
+			LogicWorld world = world(seed);
+			TileMap map = world.getTileMap();
+			// a brick with a free cell on its left and two on its right
+			for (int y = 1; y < map.getHeight() - 1; y++)
+				for (int x = 2; x < map.getWidth() - 3; x++)
+				{
+					if (map.getTile(x, y) != TileMap.BRICK
+							|| map.getTile(x - 1, y) != TileMap.FREE
+							|| map.getTile(x + 1, y) != TileMap.FREE
+							|| map.getTile(x + 2, y) != TileMap.FREE) continue;
+					explode(world, x - 1, y, 1);
+					assertFalse(map.isBurning(x, y));
+					explode(world, x + 2, y, 2);
+					assertTrue(map.isBurning(x + 1, y));
+					assertTrue("seed " + seed, map.isBurning(x, y));
+					return;
+				}
+		}
+		fail("no brick to break");
+	}
+}
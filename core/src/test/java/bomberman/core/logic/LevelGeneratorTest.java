@@ -0,0 +1,154 @@
+package bomberman.core.logic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import bomberman.core.logic.powerUp.PowerUpEnum;
+
+/**
+ * Tests the {@link LevelGenerator}: a seed always lays out the same {@link Level}, whichever
+ * generator lays it out, and the layout keeps the walls, the bricks and the free ground the
+ * game expects.
+ * 
+ * @author Federico Scozzafava
+ */
+public class LevelGeneratorTest
+{
+
+	/**
+	 * Lays out a {@link Level}.
+	 * 
+	 * @param generator
+	 *            the {@link LevelGenerator}
+	 * @param width
+	 *            the width of the grid
+	 * @param height
+	 *            the height of the grid
+	 * @param bricks
+	 *            the number of bricks
+	 * @param seed
+	 *            the seed
+	 * @return the {@link Level}
+	 */
+	private static Level generate(LevelGenerator generator, int width, int height, int bricks,
+			long seed)
+	{
+		Level level = new Level(width, height);
+		level.reset(bricks, seed);
+		generator.generate(level);
+		return level;
+	}
+
+	/**
+	 * Describes the whole content of a {@link Level}: the tiles, the power ups and the free
+	 * ground in its order.
+	 * 
+	 * @param level
+	 *            the {@link Level}
+	 * @return the description
+	 */
+	private static String describe(Level level)
+	{
+		TileMap map = level.getMap();
+		StringBuilder s = new StringBuilder();
+		for (int y = 0; y < map.getHeight(); y++)
+		{
+			for (int x = 0; x < map.getWidth(); x++)
+			{
+				PowerUpEnum p = map.getPowerUp(x, y);
+				s.append(map.getTile(x, y)).append(p == null ? "-" : p.name()).append(' ');
+			}
+			s.append('\n');
+		}
+		CellSet free = level.getFreeGround();
+		for (int i = 0; i < free.size(); i++)
+			s.append(free.get(i)).append(' ');
+		return s.toString();
+	}
+
+	/**
+	 * The same seed lays out the same level, with a new generator or with one that laid out
+	 * other levels, of other sizes, in between; another seed lays out another level.
+	 */
+	@Test
+	public void laysOutTheSameLevelForASeed()
+	{
+		LevelGenerator reused = new LevelGenerator();
+		for (long seed = 1; seed <= 20; seed++)
+		{
+			String expected = describe(generate(new LevelGenerator(), 19, 15, 40, seed));
+			generate(reused, 31, 25, 120, seed + 1000);
+			assertEquals(expected, describe(generate(reused, 19, 15, 40, seed)));
+			assertFalse(expected.equals(describe(generate(reused, 19, 15, 40, seed + 1))));
+		}
+	}
+
+	/**
+	 * A level laid out again over an older one, in the same {@link Level}, keeps nothing of
+	 * it.
+	 */
+	@Test
+	public void replacesTheContentOfTheLevel()
+	{
+		LevelGenerator generator = new LevelGenerator();
+		Level level = generate(generator, 19, 15, 80, 5);
+		level.reset(40, 6);
+		generator.generate(level);
+		assertEquals(describe(generate(new LevelGenerator(), 19, 15, 40, 6)), describe(level));
+	}
+
+	/**
+	 * The walls frame the grid with a pillar on every even cell, the bricks are as many as
+	 * asked with the door in exactly one of them, the player's corner is free and the free
+	 * ground holds the free cells away from it.
+	 */
+	@Test
+	public void keepsTheLayoutOfTheGame()
+	{
+		for (long seed = 1; seed <= 20; seed++)
+		{
+			Level level = generate(new LevelGenerator(), 19, 15, 40, seed);
+			TileMap map = level.getMap();
+			int bricks = 0, doors = 0, free = 0;
+			for (int y = 0; y < map.getHeight(); y++)
+				for (int x = 0; x < map.getWidth(); x++)
+				{
+					byte t = map.getTile(x, y);
+					boolean wall = x == 0 || y == 0 || x == map.getWidth() - 1
+							|| y == map.getHeight() - 1 || x % 2 == 0 && y % 2 == 0;
+					assertEquals(wall, t == TileMap.WALL);
+					if (t == TileMap.BRICK)
+					{
+						bricks++;
+						assertTrue(map.getPowerUp(x, y) != null);
+						if (map.getPowerUp(x, y) == PowerUpEnum.DOOR) doors++;
+					}
+					if (x < 3 && y < 3 && !wall) assertEquals(TileMap.FREE, t);
+					boolean ground = x >= 3 && y >= 3 && t == TileMap.FREE;
+					assertEquals(ground, level.getFreeGround().contains(map.index(x, y)));
+					if (ground) free++;
+				}
+			assertEquals(40, bricks);
+			assertEquals(1, doors);
+			assertEquals(free, level.getFreeGround().size());
+		}
+	}
+
+	/**
+	 * More bricks than candidate cells fill every candidate.
+	 */
+	@Test
+	public void capsTheBricksToTheCandidates()
+	{
+		Level level = generate(new LevelGenerator(), 9, 7, 1000, 3);
+		TileMap map = level.getMap();
+		for (int y = 1; y < map.getHeight() - 1; y++)
+			for (int x = 1; x < map.getWidth() - 1; x++)
+				if (map.getTile(x, y) != TileMap.WALL && !(x < 3 && y < 3))
+					assertEquals(TileMap.BRICK, map.getTile(x, y));
+		assertTrue(level.getFreeGround().isEmpty());
+	}
+}
@@ -0,0 +1,141 @@
+package bomberman.core.logic;
+
+import bomberman.core.util.Vector2;
+
+/**
+ * The StubEntity class is a {@link PhysicsEntity} with a name and a {@link CollisionKind} and
+ * nothing else, the owner of the bodies created by the tests of the physics.
+ * 
+ * @author Federico Scozzafava
+ */
+class StubEntity implements PhysicsEntity
+{
+
+	/**
+	 * The {@link CollisionKind} of the entity.
+	 */
+	private final CollisionKind kind;
+
+	/**
+	 * The name of the entity, reported by {@link #toString()}.
+	 */
+	private final String name;
+
+	/**
+	 * Instantiates a new {@link StubEntity}.
+	 * 
+	 * @param name
+	 *            the name
+	 * @param kind
+	 *            the {@link CollisionKind}
+	 */
+	StubEntity(String name, CollisionKind kind)
+	{
+		this.name = name;
+		this.kind = kind;
+	}
+
+	/* (non-Javadoc)
+	 * @see bomberman.core.logic.PhysicsEntity#getBodyDimensions()
+	 */
+	@Override
+	public Vector2 getBodyDimensions()
+	{
+		return Vector2.Zero;
+	}
+
+	/* (non-Javadoc)
+	 * @see bomberman.core.logic.PhysicsEntity#getBodyPosition()
+	 */
+	@Override
+	public Vector2 getBodyPosition()
+	{
+		return Vector2.Zero;
+	}
+
+	/* (non-Javadoc)
+	 * @see bomberman.core.logic.PhysicsEntity#getBodyRealPosition()
+	 */
+	@Override
+	public Vector2 getBodyRealPosition()
+	{
+		return Vector2.Zero;
+	}
+
+	/* (non-Javadoc)
+	 * @see bomberman.core.logic.PhysicsEntity#getBottomCenter()
+	 */
+	@Override
+	public Vector2 getBottomCenter()
+	{
+		return Vector2.Zero;
+	}
+
+	/* (non-Javadoc)
+	 * @see bomberman.core.logic.PhysicsEntity#getCenter()
+	 */
+	@Override
+	public Vector2 getCenter()
+	{
+		return Vector2.Zero;
+	}
+
+	/* (non-Javadoc)
+	 * @see bomberman.core.logic.PhysicsEntity#getCollisionKind()
+	 */
+	@Override
+	public CollisionKind getCollisionKind()
+	{
+		return kind;
+	}
+
+	/* (non-Javadoc)
+	 * @see bomberman.core.logic.PhysicsEntity#getDimension()
+	 */
+	@Override
+	public float getDimension()
+	{
+		return 0;
+	}
+
+	/* (non-Javadoc)
+	 * @see bomberman.core.logic.PhysicsEntity#getPosition()
+	 */
+	@Override
+	public Vector2 getPosition()
+	{
+		return Vector2.Zero;
+	}
+
+	/* (non-Javadoc)
+	 * @see bomberman.core.logic.PhysicsEntity#getScaledPosition()
+	 */
+	@Override
+	public Vector2 getScaledPosition()
+	{
+		return Vector2.Zero;
+	}
+
+	/* (non-Javadoc)
+	 * @see bomberman.core.logic.PhysicsEntity#setCenter(bomberman.core.util.Vector2)
+	 */
+	@Override
+	public void setCenter(Vector2 pos)
+	{}
+
+	/* (non-Javadoc)
+	 * @see bomberman.core.logic.PhysicsEntity#setPosition(bomberman.core.util.Vector2)
+	 */
+	@Override
+	public void setPosition(Vector2 v)
+	{}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString()
+	{
+		return name;
+	}
+}
@@ -0,0 +1,262 @@
+package bomberman.core.logic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import bomberman.core.util.Constants;
+
+/**
+ * Tests the {@link TileBackend}: the bodies it stops, pushes and lets through, and the
+ * contacts it reports, which must be the same ones the {@link Box2dBackend} reports on the
+ * same round.
+ * 
+ * @author Federico Scozzafava
+ */
+public class TileBackendTest
+{
+
+	/**
+	 * The half size of a body, the radius the game gives its dynamic entities.
+	 */
+	private static final float RADIUS = Constants.FIXED_SQUARE_SIZE / 2.5f;
+
+	/**
+	 * The size of a cell in pixels.
+	 */
+	private static final float SIZE = Constants.FIXED_SQUARE_SIZE;
+
+	/**
+	 * The speed of the moving bodies, three cells per second.
+	 */
+	private static final float SPEED = SIZE * 3;
+
+	/**
+	 * The length of a step in seconds.
+	 */
+	private static final float STEP = Constants.TICK_TIME / 1000f;
+
+	/**
+	 * The {@link PhysicsBackend.Listener} writing down the contacts reported, each pair sorted
+	 * by name so that the order of its entities does not matter.
+	 */
+	private static class Recorder implements PhysicsBackend.Listener
+	{
+
+		/**
+		 * The contacts reported so far.
+		 */
+		final List<String> contacts = new ArrayList<String>();
+
+		/**
+		 * Writes down a contact.
+		 */
+		private void add(String event, PhysicsEntity a, PhysicsEntity b)
+		{
+			String[] names = { a.toString(), b.toString() };
+			Arrays.sort(names);
+			contacts.add(event + " " + names[0] + " " + names[1]);
+		}
+
+		/* (non-Javadoc)
+		 * @see bomberman.core.logic.PhysicsBackend.Listener#beginContact(bomberman.core.logic.PhysicsEntity, bomberman.core.logic.PhysicsEntity)
+		 */
+		@Override
+		public void beginContact(PhysicsEntity a, PhysicsEntity b)
+		{
+			add("begin", a, b);
+		}
+
+		/* (non-Javadoc)
+		 * @see bomberman.core.logic.PhysicsBackend.Listener#endContact(bomberman.core.logic.PhysicsEntity, bomberman.core.logic.PhysicsEntity)
+		 */
+		@Override
+		public void endContact(PhysicsEntity a, PhysicsEntity b)
+		{
+			add("end", a, b);
+		}
+	}
+
+	/**
+	 * Builds a corridor one cell high, walled all around.
+	 * 
+	 * @param length
+	 *            the number of free cells
+	 * @return the {@link TileMap}
+	 */
+	private static TileMap corridor(int length)
+	{
+		TileMap map = new TileMap(length + 2, 3);
+		for (int j = 0; j < map.getWidth(); j++)
+		{
+			map.setTile(j, 0, TileMap.WALL);
+			map.setTile(j, 2, TileMap.WALL);
+		}
+		map.setTile(0, 1, TileMap.WALL);
+		map.setTile(length + 1, 1, TileMap.WALL);
+		return map;
+	}
+
+	/**
+	 * Runs the round compared between the backends: a bomber walks along a corridor through a
+	 * power up and up to a bomb that cannot be pushed.
+	 * 
+	 * @param physics
+	 *            the {@link PhysicsBackend}
+	 * @return the contacts reported
+	 */
+	private static List<String> runRound(PhysicsBackend physics)
+	{
+		physics.setGrid(corridor(5), SIZE);
+		int bomber = physics.createBody(new StubEntity("bomber", CollisionKind.BOMBER), SIZE,
+				SIZE, RADIUS, false);
+		physics.createBody(new StubEntity("powerUp", CollisionKind.POWER_UP), SIZE * 3, SIZE,
+				RADIUS, true);
+		int bomb = physics.createBody(new StubEntity("bomb", CollisionKind.BOMB), SIZE * 5,
+				SIZE, RADIUS, false);
+		physics.setMovable(bomb, false);
+		Recorder recorder = new Recorder();
+		for (int i = 0; i < 60; i++)
+		{
+			physics.setVelocity(bomber, SPEED, 0);
+			physics.step(STEP, recorder);
+		}
+		return recorder.contacts;
+	}
+
+	/**
+	 * Steps a {@link TileBackend} with a body moving at {@link #SPEED} along the x axis.
+	 * 
+	 * @param physics
+	 *            the {@link TileBackend}
+	 * @param body
+	 *            the moving body
+	 * @param steps
+	 *            the number of steps
+	 * @return the contacts reported
+	 */
+	private static List<String> walk(TileBackend physics, int body, int steps)
+	{
+		Recorder recorder = new Recorder();
+		for (int i = 0; i < steps; i++)
+		{
+			physics.setVelocity(body, SPEED, 0);
+			physics.step(STEP, recorder);
+		}
+		return recorder.contacts;
+	}
+
+	/**
+	 * Both backends report the same contacts, in the same order, on the same round.
+	 */
+	@Test
+	public void reportsTheContactsOfBox2d()
+	{
+		List<String> expected = Arrays.asList("begin bomber powerUp", "end bomber powerUp",
+				"begin bomb bomber");
+		assertEquals(expected, runRound(new Box2dBackend()));
+		assertEquals(expected, runRound(new TileBackend()));
+	}
+
+	/**
+	 * A solid body stops against the wall closing the corridor.
+	 */
+	@Test
+	public void stopsAgainstTheWalls()
+	{
+		TileBackend physics = new TileBackend();
+		physics.setGrid(corridor(3), SIZE);
+		int bomber = physics.createBody(new StubEntity("bomber", CollisionKind.BOMBER), SIZE,
+				SIZE, RADIUS, false);
+		walk(physics, bomber, 60);
+		assertEquals(SIZE * 4 - SIZE / 2 - RADIUS, physics.getX(bomber), 0.01f);
+		assertEquals(SIZE, physics.getY(bomber), 0.01f);
+	}
+
+	/**
+	 * A body whose kind is not paired with the grid goes through the walls.
+	 */
+	@Test
+	public void letsThroughTheKindsNotPairedWithTheGrid()
+	{
+		TileBackend physics = new TileBackend();
+		physics.setGrid(corridor(3), SIZE);
+		int enemy = physics.createBody(new StubEntity("enemy", CollisionKind.ENEMY), SIZE,
+				SIZE, RADIUS, false);
+		walk(physics, enemy, 60);
+		assertEquals(SIZE + SPEED * STEP * 60, physics.getX(enemy), 0.01f);
+	}
+
+	/**
+	 * A solid body stops against a movable one and pushes it along, never overlapping it.
+	 */
+	@Test
+	public void pushesTheMovableBodies()
+	{
+		TileBackend physics = new TileBackend();
+		physics.setGrid(corridor(6), SIZE);
+		int bomber = physics.createBody(new StubEntity("bomber", CollisionKind.BOMBER), SIZE,
+				SIZE, RADIUS, false);
+		int bomb = physics.createBody(new StubEntity("bomb", CollisionKind.BOMB), SIZE * 3,
+				SIZE, RADIUS, false);
+		List<String> contacts = walk(physics, bomber, 20);
+		// the bomb keeps the velocity it was pushed with and may run ahead
+		assertEquals("begin bomb bomber", contacts.get(0));
+		assertTrue(physics.getX(bomb) > SIZE * 3);
+		assertTrue(physics.getX(bomber) <= physics.getX(bomb) - 2 * RADIUS + 0.01f);
+	}
+
+	/**
+	 * A brick stops a body until it is broken, the grid being read from the {@link TileMap}.
+	 */
+	@Test
+	public void walksThroughABrokenBrick()
+	{
+		TileBackend physics = new TileBackend();
+		TileMap map = corridor(4);
+		map.setTile(3, 1, TileMap.BRICK);
+		physics.setGrid(map, SIZE);
+		int bomber = physics.createBody(new StubEntity("bomber", CollisionKind.BOMBER), SIZE,
+				SIZE, RADIUS, false);
+		walk(physics, bomber, 30);
+		assertEquals(SIZE * 2 + SIZE / 2 - RADIUS, physics.getX(bomber), 0.01f);
+		map.setTile(3, 1, TileMap.FREE);
+		physics.clearTile(3, 1);
+		walk(physics, bomber, 30);
+		assertEquals(SIZE * 5 - SIZE / 2 - RADIUS, physics.getX(bomber), 0.01f);
+	}
+
+	/**
+	 * A destroyed body reports no contact and its id is handed out again, with no contact
+	 * left over.
+	 */
+	@Test
+	public void reusesTheIdsOfTheDestroyedBodies()
+	{
+		TileBackend physics = new TileBackend();
+		physics.setGrid(corridor(3), SIZE);
+		StubEntity bomber = new StubEntity("bomber", CollisionKind.BOMBER);
+		int a = physics.createBody(bomber, SIZE, SIZE, RADIUS, false);
+		int b = physics.createBody(new StubEntity("powerUp", CollisionKind.POWER_UP), SIZE,
+				SIZE, RADIUS, true);
+		Recorder recorder = new Recorder();
+		physics.step(STEP, recorder);
+		assertEquals(Arrays.asList("begin bomber powerUp"), recorder.contacts);
+		physics.destroyBody(b);
+		assertEquals(1, physics.getBodyCount());
+		int c = physics.createBody(new StubEntity("door", CollisionKind.POWER_UP), SIZE * 3,
+				SIZE, RADIUS, true);
+		assertEquals(b, c);
+		physics.step(STEP, recorder);
+		assertEquals(Arrays.asList("begin bomber powerUp"), recorder.contacts);
+		physics.setPosition(a, SIZE * 3, SIZE);
+		physics.step(STEP, recorder);
+		assertEquals(Arrays.asList("begin bomber powerUp", "begin bomber door"),
+				recorder.contacts);
+	}
+}
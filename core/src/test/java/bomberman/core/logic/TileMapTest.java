@@ -0,0 +1,190 @@
+package bomberman.core.logic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import bomberman.core.logic.powerUp.PowerUpEnum;
+import bomberman.core.util.Constants;
+
+/**
+ * Tests the {@link TileMap}: the row and column bit masks answer the searches for rigid cells
+ * and bombs as a scan of the cells would, also on a grid wider and higher than a word.
+ * 
+ * @author Federico Scozzafava
+ */
+public class TileMapTest
+{
+
+	/**
+	 * The width of the grid, three words and a bit.
+	 */
+	private static final int WIDTH = 131;
+
+	/**
+	 * The height of the grid, two words and a bit.
+	 */
+	private static final int HEIGHT = 70;
+
+	/**
+	 * Returns a boolean value that indicates if a cell is rigid, the way a scan sees it.
+	 */
+	private static boolean isRigid(TileMap map, int x, int y)
+	{
+		return map.getTile(x, y) != TileMap.FREE;
+	}
+
+	/**
+	 * Fills a grid with random walls, bricks and bombs, all the bombs being the same one.
+	 * 
+	 * @param random
+	 *            the {@link Random} laying out the grid
+	 * @param bomb
+	 *            the {@link Bomb}
+	 * @return the {@link TileMap}
+	 */
+	private static TileMap randomMap(Random random, Bomb bomb)
+	{
+		TileMap map = new TileMap(WIDTH, HEIGHT);
+		for (int x = 0; x < WIDTH; x++)
+			for (int y = 0; y < HEIGHT; y++)
+			{
+				int r = random.nextInt(10);
+				if (r == 0)
+					map.setTile(x, y, TileMap.WALL);
+				else if (r == 1) map.setTile(x, y, TileMap.BRICK);
+				if (random.nextInt(12) == 0) map.setBomb(x, y, bomb);
+			}
+		return map;
+	}
+
+	/**
+	 * Creates a {@link Bomb} to put in the grids, only its reference being stored.
+	 * 
+	 * @return the {@link Bomb}
+	 */
+	private static Bomb createBomb()
+	{
+		LogicWorld world = new LogicWorld(13, 11, Constants.FIXED_SQUARE_SIZE);
+		world.initializeGame(0, Constants.INIT_TIMER_VALUE, 1);
+		Block c = world.getBlock(1, 1);
+		return new Bomb(world, null, c, 1);
+	}
+
+	/**
+	 * The searches along the rows agree with a scan of the cells, in both directions and
+	 * over any range.
+	 */
+	@Test
+	public void searchesTheRows()
+	{
+		Random random = new Random(3);
+		Bomb bomb = createBomb();
+		TileMap map = randomMap(random, bomb);
+		for (int n = 0; n < 5000; n++)
+		{
+			int y = random.nextInt(HEIGHT);
+			int a = random.nextInt(WIDTH);
+			int b = random.nextInt(WIDTH);
+			int from = Math.min(a, b);
+			int to = Math.max(a, b);
+			int rigid = -1, bombs = -1, last = -1;
+			for (int x = from; x <= to; x++)
+			{
+				if (rigid < 0 && isRigid(map, x, y)) rigid = x;
+				if (bombs < 0 && map.getBomb(x, y) != null) bombs = x;
+				if (isRigid(map, x, y)) last = x;
+			}
+			assertEquals(rigid, map.firstRigidInRow(y, from, to));
+			assertEquals(bombs, map.firstBombInRow(y, from, to));
+			assertEquals(last, map.lastRigidInRow(y, to, from));
+		}
+	}
+
+	/**
+	 * The searches along the columns agree with a scan of the cells, in both directions and
+	 * over any range.
+	 */
+	@Test
+	public void searchesTheColumns()
+	{
+		Random random = new Random(5);
+		Bomb bomb = createBomb();
+		TileMap map = randomMap(random, bomb);
+		for (int n = 0; n < 5000; n++)
+		{
+			int x = random.nextInt(WIDTH);
+			int a = random.nextInt(HEIGHT);
+			int b = random.nextInt(HEIGHT);
+			int from = Math.min(a, b);
+			int to = Math.max(a, b);
+			int rigid = -1, bombs = -1, last = -1;
+			for (int y = from; y <= to; y++)
+			{
+				if (rigid < 0 && isRigid(map, x, y)) rigid = y;
+				if (bombs < 0 && map.getBomb(x, y) != null) bombs = y;
+				if (isRigid(map, x, y)) last = y;
+			}
+			assertEquals(rigid, map.firstRigidInColumn(x, from, to));
+			assertEquals(bombs, map.firstBombInColumn(x, from, to));
+			assertEquals(last, map.lastRigidInColumn(x, to, from));
+		}
+	}
+
+	/**
+	 * The masks follow the changes of the cells: a broken brick, a removed bomb and a wall
+	 * turned into a brick, and an empty or reversed range finds nothing.
+	 */
+	@Test
+	public void followsTheChangesOfTheCells()
+	{
+		Bomb bomb = createBomb();
+		TileMap map = new TileMap(WIDTH, HEIGHT);
+		map.setTile(100, 65, TileMap.BRICK);
+		map.setBomb(64, 65, bomb);
+		assertEquals(100, map.firstRigidInRow(65, 0, WIDTH - 1));
+		assertEquals(65, map.lastRigidInColumn(100, HEIGHT - 1, 0));
+		assertEquals(64, map.firstBombInRow(65, 0, WIDTH - 1));
+		assertEquals(65, map.firstBombInColumn(64, 0, HEIGHT - 1));
+		assertSame(bomb, map.getBomb(64, 65));
+		map.setTile(100, 65, TileMap.WALL);
+		assertEquals(TileMap.WALL, map.getTile(100, 65));
+		assertEquals(100, map.firstRigidInRow(65, 0, WIDTH - 1));
+		map.setTile(100, 65, TileMap.FREE);
+		map.setBomb(64, 65, null);
+		assertEquals(-1, map.firstRigidInRow(65, 0, WIDTH - 1));
+		assertEquals(-1, map.lastRigidInColumn(100, HEIGHT - 1, 0));
+		assertEquals(-1, map.firstBombInRow(65, 0, WIDTH - 1));
+		assertEquals(-1, map.firstBombInColumn(64, 0, HEIGHT - 1));
+		map.setTile(10, 10, TileMap.WALL);
+		assertEquals(-1, map.firstRigidInRow(10, 11, 10));
+		assertEquals(-1, map.lastRigidInRow(10, 9, 10));
+	}
+
+	/**
+	 * The fire and the power ups of the cells are kept, and cleared with the grid.
+	 */
+	@Test
+	public void clearsTheCells()
+	{
+		TileMap map = new TileMap(WIDTH, HEIGHT);
+		map.setTile(70, 3, TileMap.BRICK);
+		map.setPowerUp(70, 3, PowerUpEnum.values()[0]);
+		assertTrue(map.ignite(70, 4));
+		assertFalse(map.ignite(70, 4));
+		assertEquals(1, map.getBurningCount());
+		assertSame(PowerUpEnum.values()[0], map.getPowerUp(70, 3));
+		map.clear();
+		assertEquals(TileMap.FREE, map.getTile(70, 3));
+		assertNull(map.getPowerUp(70, 3));
+		assertFalse(map.isBurning(70, 4));
+		assertEquals(0, map.getBurningCount());
+		assertEquals(-1, map.firstRigidInColumn(70, 0, HEIGHT - 1));
+	}
+}
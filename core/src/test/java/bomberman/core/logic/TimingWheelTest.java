@@ -0,0 +1,243 @@
+package bomberman.core.logic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Tests the {@link TimingWheel}: the tick each timer expires in across the levels of the
+ * wheel, the order of the timers expiring together, and the handles of the timers expired,
+ * cancelled and reused.
+ * 
+ * @author Federico Scozzafava
+ */
+public class TimingWheelTest
+{
+
+	/**
+	 * The {@link TimingWheel.Listener} writing down the tick each timer expires in, as
+	 * "data@tick".
+	 */
+	private static class Recorder implements TimingWheel.Listener
+	{
+
+		/**
+		 * The timers expired so far.
+		 */
+		final List<String> expired = new ArrayList<String>();
+
+		/**
+		 * The wheel the timers run in.
+		 */
+		final TimingWheel wheel;
+
+		/**
+		 * Instantiates a new {@link Recorder}.
+		 * 
+		 * @param wheel
+		 *            the wheel the timers run in
+		 */
+		Recorder(TimingWheel wheel)
+		{
+			this.wheel = wheel;
+		}
+
+		/* (non-Javadoc)
+		 * @see bomberman.core.logic.TimingWheel.Listener#expire(int)
+		 */
+		@Override
+		public void expire(int data)
+		{
+			expired.add(data + "@" + wheel.getTick());
+		}
+	}
+
+	/**
+	 * Advances a wheel by a number of ticks.
+	 * 
+	 * @param wheel
+	 *            the wheel
+	 * @param ticks
+	 *            the number of ticks
+	 */
+	private static void advance(TimingWheel wheel, int ticks)
+	{
+		for (int i = 0; i < ticks; i++)
+			wheel.advance();
+	}
+
+	/**
+	 * Each timer expires in the very tick it was scheduled for, whichever level of the wheel
+	 * it starts in and however many times it cascades down, also when the wheel does not start
+	 * on a turn.
+	 */
+	@Test
+	public void expiresOnTimeAcrossTheLevels()
+	{
+		int[] delays = { 1, 2, 63, 64, 65, 127, 128, 4095, 4096, 4097, 262143, 262144,
+				262145, 300000 };
+		for (int start : new int[] { 0, 1, 37, 63, 4095 })
+		{
+			TimingWheel wheel = new TimingWheel();
+			Recorder recorder = new Recorder(wheel);
+			advance(wheel, start);
+			List<String> expected = new ArrayList<String>();
+			for (int d : delays)
+			{
+				wheel.schedule(d, recorder, d);
+				expected.add(d + "@" + (start + d));
+			}
+			assertEquals(delays.length, wheel.getPendingCount());
+			advance(wheel, 300000);
+			assertEquals("start " + start, expected, recorder.expired);
+			assertEquals(0, wheel.getPendingCount());
+		}
+	}
+
+	/**
+	 * The longest delay is accepted and expires on time, the delays out of range are
+	 * rejected.
+	 */
+	@Test
+	public void boundsTheDelay()
+	{
+		TimingWheel wheel = new TimingWheel();
+		Recorder recorder = new Recorder(wheel);
+		advance(wheel, 5);
+		int h = wheel.schedule(TimingWheel.MAX_DELAY, recorder, 1);
+		assertEquals(TimingWheel.MAX_DELAY, wheel.getRemaining(h));
+		for (int d : new int[] { 0, -1, TimingWheel.MAX_DELAY + 1 })
+			try
+			{
+				wheel.schedule(d, recorder, 0);
+				fail("delay " + d + " accepted");
+			}
+			catch (RuntimeException e)
+			{}
+		advance(wheel, TimingWheel.MAX_DELAY - 1);
+		assertEquals(1, wheel.getRemaining(h));
+		assertTrue(recorder.expired.isEmpty());
+		wheel.advance();
+		assertEquals(Arrays.asList("1@" + (TimingWheel.MAX_DELAY + 5)), recorder.expired);
+	}
+
+	/**
+	 * The timers expiring in the same tick are called in the order they were scheduled, and a
+	 * timer scheduled by a listener runs in a later tick.
+	 */
+	@Test
+	public void keepsTheOrderOfTheTimersOfATick()
+	{
+		final TimingWheel wheel = new TimingWheel();
+		final Recorder recorder = new Recorder(wheel);
+		for (int i = 0; i < 5; i++)
+			wheel.schedule(100, recorder, i);
+		wheel.schedule(100, new TimingWheel.Listener()
+		{
+			@Override
+			public void expire(int data)
+			{
+				wheel.schedule(1, recorder, 9);
+			}
+		}, 0);
+		wheel.schedule(100, recorder, 5);
+		advance(wheel, 101);
+		assertEquals(Arrays.asList("0@100", "1@100", "2@100", "3@100", "4@100", "5@100",
+				"9@101"), recorder.expired);
+	}
+
+	/**
+	 * A cancelled timer is never called, and its handle, as the one of an expired timer,
+	 * stays stale when the timer is reused: cancelling it again leaves the new timer alone.
+	 */
+	@Test
+	public void cancelsOnlyTheLiveHandles()
+	{
+		TimingWheel wheel = new TimingWheel();
+		Recorder recorder = new Recorder(wheel);
+		int a = wheel.schedule(10, recorder, 1);
+		assertTrue(wheel.isPending(a));
+		assertEquals(10, wheel.getRemaining(a));
+		assertTrue(wheel.cancel(a));
+		assertFalse(wheel.cancel(a));
+		assertFalse(wheel.isPending(a));
+		assertEquals(-1, wheel.getRemaining(a));
+		int b = wheel.schedule(3, recorder, 2);
+		assertFalse(a == b);
+		assertFalse(wheel.cancel(a));
+		assertTrue(wheel.isPending(b));
+		advance(wheel, 3);
+		assertFalse(wheel.isPending(b));
+		assertFalse(wheel.cancel(b));
+		int c = wheel.schedule(1, recorder, 3);
+		assertFalse(wheel.cancel(b));
+		assertFalse(wheel.cancel(-1));
+		wheel.advance();
+		assertFalse(wheel.isPending(c));
+		assertEquals(Arrays.asList("2@3", "3@4"), recorder.expired);
+	}
+
+	/**
+	 * The generation of a timer wraps around after many reuses: the handles stay positive and
+	 * only the last one is pending.
+	 */
+	@Test
+	public void wrapsTheGeneration()
+	{
+		TimingWheel wheel = new TimingWheel();
+		Recorder recorder = new Recorder(wheel);
+		int first = wheel.schedule(1, recorder, 0);
+		wheel.cancel(first);
+		int previous = first;
+		boolean wrapped = false;
+		for (int i = 1; i <= 5000; i++)
+		{
+			int h = wheel.schedule(1, recorder, i);
+			assertTrue(h >= 0);
+			assertTrue(wheel.isPending(h));
+			assertFalse(wheel.isPending(previous));
+			wrapped |= h == first;
+			previous = h;
+			if (i % 2 == 0)
+				wheel.cancel(h);
+			else
+				wheel.advance();
+		}
+		assertTrue(wrapped);
+		assertEquals(2500, recorder.expired.size());
+	}
+
+	/**
+	 * Clearing the wheel cancels every timer without calling it, keeps the tick and makes the
+	 * handles stale.
+	 */
+	@Test
+	public void clearsThePendingTimers()
+	{
+		TimingWheel wheel = new TimingWheel();
+		Recorder recorder = new Recorder(wheel);
+		advance(wheel, 7);
+		int[] handles = new int[100];
+		for (int i = 0; i < handles.length; i++)
+			handles[i] = wheel.schedule(1 + i * 97, recorder, i);
+		wheel.clear();
+		assertEquals(0, wheel.getPendingCount());
+		assertEquals(7, wheel.getTick());
+		for (int h : handles)
+			assertFalse(wheel.cancel(h));
+		advance(wheel, 10000);
+		assertTrue(recorder.expired.isEmpty());
+		int h = wheel.schedule(2, recorder, 1);
+		for (int old : handles)
+			assertFalse(old == h);
+		advance(wheel, 2);
+		assertEquals(Arrays.asList("1@10009"), recorder.expired);
+	}
+}
@@ -0,0 +1,103 @@
+package bomberman.core.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests the {@link AliasTable}: the frequency of each index drawn matches its weight, and the
+ * invalid weights are rejected.
+ * 
+ * @author Federico Scozzafava
+ */
+public class AliasTableTest
+{
+
+	/**
+	 * The number of draws of each test.
+	 */
+	private static final int DRAWS = 400000;
+
+	/**
+	 * Draws from a table built on the given weights and checks the frequency of each index
+	 * against its share of the weights, within a tolerance.
+	 * 
+	 * @param weights
+	 *            the weights
+	 */
+	private static void checkFrequencies(float... weights)
+	{
+		AliasTable table = new AliasTable(weights);
+		assertEquals(weights.length, table.size());
+		int[] counts = new int[weights.length];
+		Random random = new Random(7);
+		for (int i = 0; i < DRAWS; i++)
+			counts[table.sample(random)]++;
+		float sum = 0;
+		for (float w : weights)
+			sum += w;
+		for (int i = 0; i < weights.length; i++)
+		{
+			double expected = weights[i] / sum;
+			double actual = (double) counts[i] / DRAWS;
+			if (weights[i] == 0)
+				assertEquals("index " + i, 0, counts[i]);
+			else
+				assertEquals("index " + i, expected, actual, 0.005);
+		}
+	}
+
+	/**
+	 * Uneven weights, with zeros among them, are drawn in proportion.
+	 */
+	@Test
+	public void drawsInProportion()
+	{
+		checkFrequencies(0.5f, 0.25f, 0, 0.125f, 0.0625f, 0.0625f, 0);
+		checkFrequencies(3, 1, 1, 10, 0.5f);
+		checkFrequencies(1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1);
+	}
+
+	/**
+	 * A table with a single positive weight always draws it.
+	 */
+	@Test
+	public void drawsTheOnlyPositiveWeight()
+	{
+		checkFrequencies(5);
+		checkFrequencies(0, 0, 2, 0);
+	}
+
+	/**
+	 * The same seed draws the same sequence.
+	 */
+	@Test
+	public void drawsTheSameSequenceForASeed()
+	{
+		AliasTable table = new AliasTable(new float[] { 0.3f, 0.2f, 0.4f, 0.1f });
+		Random a = new Random(99);
+		Random b = new Random(99);
+		for (int i = 0; i < 1000; i++)
+			assertEquals(table.sample(a), table.sample(b));
+	}
+
+	/**
+	 * Negative weights and weights with no positive sum are rejected.
+	 */
+	@Test
+	public void rejectsTheInvalidWeights()
+	{
+		float[][] invalid = { { 1, -0.5f }, { 0, 0 }, {} };
+		for (float[] w : invalid)
+			try
+			{
+				new AliasTable(w);
+				fail(w.length + " weights accepted");
+			}
+			catch (RuntimeException e)
+			{}
+	}
+}
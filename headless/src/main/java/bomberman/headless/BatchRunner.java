@@ -0,0 +1,174 @@
+package bomberman.headless;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * The BatchRunner class plays the matches of a range of seeds in parallel on a work stealing
+ * {@link ForkJoinPool}. The range is split in halves down to single matches, so the idle
+ * threads steal the matches left by the busy ones and a long match does not hold back the
+ * others.
+ * <p>
+ * Each thread of the pool plays on a {@link Match} of its own, with its own
+ * {@link HeadlessWorld} and {@link Controller}, built the first time the thread plays and
+ * reused for the following matches. Nothing is shared between the threads but the
+ * {@link ResultSink}, so the throughput grows with the number of cores. A match only depends
+ * on its seed, so the results of a batch do not depend on the thread that played each match.
+ * 
+ * @author Federico Scozzafava
+ */
+public class BatchRunner
+{
+
+	/**
+	 * The RangeTask class plays the matches of a range of seeds, splitting it in two halves
+	 * until a single match is left.
+	 */
+	private class RangeTask extends RecursiveTask<BatchSummary>
+	{
+
+		/**
+		 * The serial version UID.
+		 */
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * The first seed of the range.
+		 */
+		private final long from;
+
+		/**
+		 * The destination of the results, null if none.
+		 */
+		private final ResultSink sink;
+
+		/**
+		 * The seed after the last one of the range.
+		 */
+		private final long to;
+
+		/**
+		 * Instantiates a new {@link RangeTask}.
+		 * 
+		 * @param from
+		 *            the first seed
+		 * @param to
+		 *            the seed after the last one
+		 * @param sink
+		 *            the destination of the results, null if none
+		 */
+		public RangeTask(long from, long to, ResultSink sink)
+		{
+			this.from = from;
+			this.to = to;
+			this.sink = sink;
+		}
+
+		/* (non-Javadoc)
+		 * @see java.util.concurrent.RecursiveTask#compute()
+		 */
+		@Override
+		protected BatchSummary compute()
+		{
+			if (to - from > 1)
+			{
+				long middle = from + (to - from) / 2;
+				RangeTask left = new RangeTask(from, middle, sink);
+				left.fork();
+				BatchSummary s = new RangeTask(middle, to, sink).compute();
+				s.merge(left.join());
+				return s;
+			}
+			Match m = matches.get();
+			TickStats stats = m.getStats();
+			stats.clear();
+			BatchSummary s = new BatchSummary();
+			MatchResult r = m.play(from);
+			s.add(r);
+			s.getStats().merge(stats);
+			if (sink != null) sink.accept(r);
+			return s;
+		}
+	}
+
+	/**
+	 * The {@link Controller.Factory} of the {@link Controller} of each {@link Match}.
+	 */
+	private final Controller.Factory factory;
+
+	/**
+	 * The {@link Match} of each thread of the pool.
+	 */
+	private final ThreadLocal<Match> matches = new ThreadLocal<Match>()
+	{
+		@Override
+		protected Match initialValue()
+		{
+			return new Match(scenario, factory.create());
+		}
+	};
+
+	/**
+	 * The work stealing pool.
+	 */
+	private final ForkJoinPool pool;
+
+	/**
+	 * The parameters of the matches.
+	 */
+	private final Scenario scenario;
+
+	/**
+	 * Instantiates a new {@link BatchRunner}.
+	 * 
+	 * @param scenario
+	 *            the parameters of the matches
+	 * @param factory
+	 *            the {@link Controller.Factory} of the {@link Controller} of each thread
+	 * @param threads
+	 *            the number of threads of the pool
+	 */
+	public BatchRunner(Scenario scenario, Controller.Factory factory, int threads)
+	{
+		if (threads < 1) throw new RuntimeException("invalid thread count " + threads);
+		this.scenario = scenario;
+		this.factory = factory;
+		pool = new ForkJoinPool(threads);
+	}
+
+	/**
+	 * Stops the threads of the pool. The runner cannot be used anymore.
+	 */
+	public void close()
+	{
+		pool.shutdown();
+	}
+
+	/**
+	 * Gets the number of threads of the pool.
+	 * 
+	 * @return the number of threads
+	 */
+	public int getThreads()
+	{
+		return pool.getParallelism();
+	}
+
+	/**
+	 * Plays the matches of a range of seeds and waits for them to end.
+	 * 
+	 * @param from
+	 *            the first seed
+	 * @param to
+	 *            the seed after the last one
+	 * @param sink
+	 *            the {@link ResultSink} receiving the result of each match as it ends,
+	 *            null if none
+	 * @return the {@link BatchSummary} of the matches
+	 */
+	public BatchSummary run(long from, long to, ResultSink sink)
+	{
+		if (to <= from) return new BatchSummary();
+		return pool.invoke(new RangeTask(from, to, sink));
+	}
+}
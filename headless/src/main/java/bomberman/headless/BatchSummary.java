@@ -0,0 +1,134 @@
+package bomberman.headless;
+
+/**
+ * The BatchSummary class adds up the {@link MatchResult}s of a batch: how many matches ended
+ * with each {@link MatchResult.Outcome}, the total score and deaths, and the time taken
+ * by the ticks. The summaries of the parts of a batch are merged into the one of the batch.
+ * 
+ * @author Federico Scozzafava
+ */
+public class BatchSummary
+{
+
+	/**
+	 * The total number of lives lost.
+	 */
+	private long deaths;
+
+	/**
+	 * The number of matches.
+	 */
+	private long matches;
+
+	/**
+	 * The number of matches ended with each {@link MatchResult.Outcome}, by ordinal.
+	 */
+	private final long[] outcomes = new long[MatchResult.Outcome.values().length];
+
+	/**
+	 * The total score.
+	 */
+	private long score;
+
+	/**
+	 * The time taken by the ticks.
+	 */
+	private final TickStats stats = new TickStats();
+
+	/**
+	 * Adds up a {@link MatchResult}.
+	 * 
+	 * @param r
+	 *            the {@link MatchResult}
+	 */
+	public void add(MatchResult r)
+	{
+		deaths += r.getDeaths();
+		matches++;
+		outcomes[r.getOutcome().ordinal()]++;
+		score += r.getScore();
+	}
+
+	/**
+	 * Gets the number of matches ended with the given {@link MatchResult.Outcome}.
+	 * 
+	 * @param o
+	 *            the {@link MatchResult.Outcome}
+	 * @return the number of matches
+	 */
+	public long getCount(MatchResult.Outcome o)
+	{
+		return outcomes[o.ordinal()];
+	}
+
+	/**
+	 * Gets the total number of lives lost.
+	 * 
+	 * @return the deaths
+	 */
+	public long getDeaths()
+	{
+		return deaths;
+	}
+
+	/**
+	 * Gets the number of matches.
+	 * 
+	 * @return the number of matches
+	 */
+	public long getMatches()
+	{
+		return matches;
+	}
+
+	/**
+	 * Gets the total score.
+	 * 
+	 * @return the score
+	 */
+	public long getScore()
+	{
+		return score;
+	}
+
+	/**
+	 * Gets the time taken by the ticks.
+	 * 
+	 * @return the {@link TickStats}
+	 */
+	public TickStats getStats()
+	{
+		return stats;
+	}
+
+	/**
+	 * Adds up the matches of another {@link BatchSummary}.
+	 * 
+	 * @param other
+	 *            the other {@link BatchSummary}
+	 */
+	public void merge(BatchSummary other)
+	{
+		deaths += other.deaths;
+		matches += other.matches;
+		for (int i = 0; i < outcomes.length; i++)
+			outcomes[i] += other.outcomes[i];
+		score += other.score;
+		stats.merge(other.stats);
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString()
+	{
+		StringBuilder s = new StringBuilder("matches=").append(matches);
+		for (MatchResult.Outcome o : MatchResult.Outcome.values())
+			s.append(' ').append(o).append('=').append(outcomes[o.ordinal()]);
+		if (matches > 0)
+			s.append(String.format(" score=%.1f deaths=%.2f", (double) score / matches,
+					(double) deaths / matches));
+		return s.append('\n').append(stats).toString();
+	}
+}
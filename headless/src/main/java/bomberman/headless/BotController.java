@@ -0,0 +1,442 @@
+package bomberman.headless;
+
+import java.util.Arrays;
+
+import bomberman.core.logic.Block;
+import bomberman.core.logic.Bomb;
+import bomberman.core.logic.Bomber;
+import bomberman.core.logic.Direction;
+import bomberman.core.logic.DynamicPhysicsEntity;
+import bomberman.core.logic.LogicWorld;
+import bomberman.core.logic.TileMap;
+import bomberman.core.logic.enemy.Enemy;
+import bomberman.core.logic.powerUp.Door;
+import bomberman.core.logic.powerUp.PowerUp;
+import bomberman.core.logic.powerUp.PowerUpBombRangeDown;
+import bomberman.core.logic.powerUp.PowerUpSkull;
+import bomberman.core.logic.powerUp.PowerUpSpeedDown;
+import bomberman.core.logic.powerUp.PowerUpTimeDown;
+
+/**
+ * The BotController class plays a match on its own. It walks the grid a {@link Block} at a
+ * time, like the enemies do, and each time it reaches a block it decides the next one:
+ * <ul>
+ * <li>if the block is in the reach of a {@link Bomb}, of the fire or of an {@link Enemy}, it
+ * runs to the nearest safe block;</li>
+ * <li>if a {@code BrickBlock} or an {@link Enemy} is at hand and a safe block can be reached
+ * after placing a {@link Bomb}, it places one;</li>
+ * <li>otherwise it walks to the nearest useful block: the {@link Door} once no enemy is
+ * left, a good power up, a block next to a brick or in line with an enemy.</li>
+ * </ul>
+ * The paths are found by a breadth first search over the {@link TileMap}, the ties are
+ * broken by the randomness of the round, so a match played by the bot follows its seed.
+ * 
+ * @author Federico Scozzafava
+ */
+public class BotController implements Controller
+{
+
+	/**
+	 * The longest path, in blocks, the bot accepts to escape its own {@link Bomb}.
+	 */
+	private static final int MAX_ESCAPE = 6;
+
+	/**
+	 * The number of ticks after which the bot gives up walking to a {@link Block} it cannot
+	 * reach, because something stands in the way.
+	 */
+	private static final int MAX_WALK_TICKS = 40;
+
+	/**
+	 * The {@link Direction}s, in the order the adjacent cells are searched.
+	 */
+	private static final Direction[] DIRECTIONS = Direction.values();
+
+	/**
+	 * The offset on the x axis of each {@link Direction}.
+	 */
+	private static final int[] DX = { 0, -1, 1, 0 };
+
+	/**
+	 * The offset on the y axis of each {@link Direction}.
+	 */
+	private static final int[] DY = { 1, 0, 0, -1 };
+
+	/**
+	 * The cells in the reach of a {@link Bomb}, of the fire or of an {@link Enemy}.
+	 */
+	private boolean[] danger = new boolean[0];
+
+	/**
+	 * The distance from the start of each cell reached by the search, -1 if not reached.
+	 */
+	private int[] distances = new int[0];
+
+	/**
+	 * The first step of the path to each cell reached by the search.
+	 */
+	private int[] firsts = new int[0];
+
+	/**
+	 * The cells the bot is looking for.
+	 */
+	private boolean[] goals = new boolean[0];
+
+	/**
+	 * The {@link Direction} of {@link #target}, as an index in {@link #DIRECTIONS}.
+	 */
+	private int heading;
+
+	/**
+	 * The {@link TileMap} of the match.
+	 */
+	private TileMap map;
+
+	/**
+	 * The queue of the breadth first search.
+	 */
+	private int[] queue = new int[0];
+
+	/**
+	 * The {@link Block} the bot is walking to, null if it is standing.
+	 */
+	private Block target;
+
+	/**
+	 * The number of ticks spent walking to {@link #target}.
+	 */
+	private int walking;
+
+	/**
+	 * The width of the {@link TileMap}.
+	 */
+	private int width;
+
+	/**
+	 * The {@link LogicWorld} of the match.
+	 */
+	private LogicWorld world;
+
+	/**
+	 * Returns a boolean value that indicates if a safe cell can be reached after placing a
+	 * {@link Bomb} in the given cell.
+	 * 
+	 * @param start
+	 *            the cell of the {@link Bomber}
+	 * @param range
+	 *            the range of the {@link Bomb}
+	 * @return true if a safe cell is close enough
+	 */
+	private boolean canEscape(int start, int range)
+	{
+		markDanger(start, range);
+		return flee(start, MAX_ESCAPE) != start;
+	}
+
+	/**
+	 * Gets the cell of a {@link DynamicPhysicsEntity}.
+	 * 
+	 * @return the {@link TileMap} index of the cell
+	 */
+	private int cellOf(DynamicPhysicsEntity e)
+	{
+		Block b = world.getBlockAt(e.getCenter());
+		return b == null ? -1 : map.index(b.getGridX(), b.getGridY());
+	}
+
+	/* (non-Javadoc)
+	 * @see bomberman.headless.Controller#control(bomberman.core.logic.LogicWorld, bomberman.core.logic.Bomber, int)
+	 */
+	@Override
+	public void control(LogicWorld world, Bomber bomber, int tick)
+	{
+		if (target != null && !target.contains(bomber)
+				&& walking++ < MAX_WALK_TICKS)
+		{
+			bomber.move(DIRECTIONS[heading]);
+			return;
+		}
+		if (target != null && target.contains(bomber))
+			bomber.alignPosition(target);
+		setWorld(world);
+		Block current = world.getBlockAt(bomber.getCenter());
+		int start = map.index(current.getGridX(), current.getGridY());
+		markDanger(-1, 0);
+		int next;
+		if (danger[start])
+			next = flee(start, Integer.MAX_VALUE);
+		else if (shouldBomb(start, bomber.getBombRange())
+				&& canEscape(start, bomber.getBombRange())
+				&& bomber.placeBomb() != null)
+		{
+			markDanger(-1, 0);
+			next = flee(start, Integer.MAX_VALUE);
+		}
+		else
+		{
+			next = seek(start);
+			if (next == start) next = wander(start);
+		}
+		walking = 0;
+		if (next == start)
+		{
+			target = null;
+			bomber.setIdle();
+			return;
+		}
+		target = world.getBlock(next % width, next / width);
+		heading = directionTo(current, target);
+		bomber.move(DIRECTIONS[heading]);
+	}
+
+	/**
+	 * Gets the {@link Direction} leading from a {@link Block} to an adjacent one.
+	 * 
+	 * @return the index of the {@link Direction} in {@link #DIRECTIONS}
+	 */
+	private static int directionTo(Block from, Block to)
+	{
+		int dx = to.getGridX() - from.getGridX();
+		int dy = to.getGridY() - from.getGridY();
+		if (Math.abs(dx) >= Math.abs(dy)) return dx < 0 ? 1 : 2;
+		return dy < 0 ? 3 : 0;
+	}
+
+	/**
+	 * Finds the first step to the nearest safe cell.
+	 * 
+	 * @param start
+	 *            the cell of the {@link Bomber}
+	 * @param limit
+	 *            the longest path accepted
+	 * @return the first step, or start if no safe cell is reachable
+	 */
+	private int flee(int start, int limit)
+	{
+		for (int i = 0; i < goals.length; i++)
+			goals[i] = !danger[i];
+		return search(start, false, limit);
+	}
+
+	/**
+	 * Returns a boolean value that indicates if the {@link Bomber} can walk in a cell.
+	 */
+	private boolean isWalkable(int x, int y)
+	{
+		return map.contains(x, y) && map.getTile(x, y) == TileMap.FREE
+				&& map.getBomb(x, y) == null;
+	}
+
+	/**
+	 * Marks the cells reached by the explosion of a {@link Bomb}.
+	 */
+	private void markBlast(int cell, int range)
+	{
+		danger[cell] = true;
+		for (int d = 0; d < DX.length; d++)
+			for (int k = 1; k <= range; k++)
+			{
+				int x = cell % width + DX[d] * k;
+				int y = cell / width + DY[d] * k;
+				if (!map.contains(x, y) || map.getTile(x, y) == TileMap.WALL) break;
+				danger[map.index(x, y)] = true;
+				if (map.getTile(x, y) == TileMap.BRICK) break;
+			}
+	}
+
+	/**
+	 * Marks the cells in the reach of the {@link Bomb}s, of the fire and of the enemies,
+	 * and of an additional bomb not placed yet.
+	 * 
+	 * @param extra
+	 *            the cell of the additional {@link Bomb}, -1 if none
+	 * @param range
+	 *            the range of the additional {@link Bomb}
+	 */
+	private void markDanger(int extra, int range)
+	{
+		Arrays.fill(danger, false);
+		for (int i = 0; i < danger.length; i++)
+			if (map.isBurning(i % width, i / width)) danger[i] = true;
+		for (Bomb b : world.getBombs())
+		{
+			int c = cellOf(b);
+			if (c >= 0) markBlast(c, b.getRange());
+		}
+		if (extra >= 0) markBlast(extra, range);
+		for (Enemy e : world.getEnemies())
+		{
+			int c = cellOf(e);
+			if (c < 0) continue;
+			danger[c] = true;
+			for (int d = 0; d < DX.length; d++)
+			{
+				int x = c % width + DX[d];
+				int y = c / width + DY[d];
+				if (map.contains(x, y)) danger[map.index(x, y)] = true;
+			}
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see bomberman.headless.Controller#reset()
+	 */
+	@Override
+	public void reset()
+	{
+		target = null;
+		walking = 0;
+		world = null;
+		map = null;
+	}
+
+	/**
+	 * Finds the first step of the shortest path to a cell marked in {@link #goals}.
+	 * 
+	 * @param start
+	 *            the cell of the {@link Bomber}
+	 * @param safe
+	 *            true to walk through the safe cells only
+	 * @param limit
+	 *            the longest path accepted
+	 * @return the first step, or start if the {@link Bomber} is on a goal already or no goal
+	 *         is reachable
+	 */
+	private int search(int start, boolean safe, int limit)
+	{
+		if (goals[start]) return start;
+		Arrays.fill(distances, -1);
+		int head = 0;
+		int tail = 0;
+		queue[tail++] = start;
+		distances[start] = 0;
+		// the adjacent cells are searched from a random direction, to break the ties
+		int first = world.getRandom().nextInt(DX.length);
+		while (head < tail)
+		{
+			int c = queue[head++];
+			if (distances[c] == limit) continue;
+			for (int k = 0; k < DX.length; k++)
+			{
+				int d = (first + k) % DX.length;
+				int x = c % width + DX[d];
+				int y = c / width + DY[d];
+				if (!isWalkable(x, y)) continue;
+				int n = map.index(x, y);
+				if (distances[n] >= 0 || safe && danger[n]) continue;
+				distances[n] = distances[c] + 1;
+				firsts[n] = c == start ? n : firsts[c];
+				if (goals[n]) return firsts[n];
+				queue[tail++] = n;
+			}
+		}
+		return start;
+	}
+
+	/**
+	 * Finds the first step to the nearest useful cell, through the safe cells.
+	 * 
+	 * @param start
+	 *            the cell of the {@link Bomber}
+	 * @return the first step, or start if none is reachable
+	 */
+	private int seek(int start)
+	{
+		Arrays.fill(goals, false);
+		if (world.getEnemyCount() == 0)
+			for (PowerUp p : world.getEntityEngine().getPowerUps())
+				if (p instanceof Door)
+				{
+					int c = cellOf(p);
+					// the door is entered by walking on it, step off to walk back
+					if (c == start) return wander(start);
+					if (c >= 0) goals[c] = true;
+					return search(start, true, Integer.MAX_VALUE);
+				}
+		for (PowerUp p : world.getEntityEngine().getPowerUps())
+			if (!(p instanceof Door || p instanceof PowerUpSkull
+					|| p instanceof PowerUpSpeedDown
+					|| p instanceof PowerUpBombRangeDown || p instanceof PowerUpTimeDown))
+			{
+				int c = cellOf(p);
+				if (c >= 0) goals[c] = true;
+			}
+		for (int i = 0; i < goals.length; i++)
+			if (!danger[i] && isWalkable(i % width, i / width)
+					&& shouldBomb(i, 0)) goals[i] = true;
+		return search(start, true, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Binds the bot to the {@link LogicWorld} of the match, sizing its arrays on the
+	 * {@link TileMap}.
+	 */
+	private void setWorld(LogicWorld w)
+	{
+		world = w;
+		map = w.getTileMap();
+		width = map.getWidth();
+		int n = width * map.getHeight();
+		if (danger.length == n) return;
+		danger = new boolean[n];
+		distances = new int[n];
+		firsts = new int[n];
+		goals = new boolean[n];
+		queue = new int[n];
+	}
+
+	/**
+	 * Returns a boolean value that indicates if placing a {@link Bomb} in a cell is useful,
+	 * because a {@code BrickBlock} is adjacent or an {@link Enemy} is in line within two
+	 * blocks.
+	 * 
+	 * @param cell
+	 *            the cell
+	 * @param range
+	 *            the range of the {@link Bomb}, 0 to look for the bricks only
+	 * @return true if a {@link Bomb} should be placed
+	 */
+	private boolean shouldBomb(int cell, int range)
+	{
+		for (int d = 0; d < DX.length; d++)
+		{
+			int x = cell % width + DX[d];
+			int y = cell / width + DY[d];
+			if (map.contains(x, y) && map.getTile(x, y) == TileMap.BRICK)
+				return true;
+		}
+		if (range == 0) return false;
+		int reach = Math.min(range, 2);
+		for (Enemy e : world.getEnemies())
+		{
+			int c = cellOf(e);
+			if (c < 0) continue;
+			int dx = c % width - cell % width;
+			int dy = c / width - cell / width;
+			if (dx == 0 && Math.abs(dy) <= reach || dy == 0
+					&& Math.abs(dx) <= reach) return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Chooses a random safe adjacent cell.
+	 * 
+	 * @param start
+	 *            the cell of the {@link Bomber}
+	 * @return the cell, or start if none is available
+	 */
+	private int wander(int start)
+	{
+		int first = world.getRandom().nextInt(DX.length);
+		for (int k = 0; k < DX.length; k++)
+		{
+			int d = (first + k) % DX.length;
+			int x = start % width + DX[d];
+			int y = start / width + DY[d];
+			if (isWalkable(x, y) && !danger[map.index(x, y)])
+				return map.index(x, y);
+		}
+		return start;
+	}
+}
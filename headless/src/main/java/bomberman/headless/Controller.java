@@ -0,0 +1,49 @@
+package bomberman.headless;
+
+import bomberman.core.logic.Bomber;
+import bomberman.core.logic.LogicWorld;
+
+/**
+ * The Controller interface drives the {@link Bomber} of a headless {@link Match} in place of
+ * the keyboard. It is called once before every tick of the simulation.
+ * <p>
+ * A controller keeps the state of a single match at a time, so a {@link Match} owns its own
+ * controller, created by a {@link Factory} when the matches are played in parallel.
+ * 
+ * @author Federico Scozzafava
+ */
+public interface Controller
+{
+
+	/**
+	 * The Factory interface creates a new {@link Controller} for each {@link Match}, so that
+	 * the matches played in parallel do not share one.
+	 */
+	public interface Factory
+	{
+
+		/**
+		 * Creates a new {@link Controller}.
+		 * 
+		 * @return the {@link Controller}
+		 */
+		public Controller create();
+	}
+
+	/**
+	 * Drives the {@link Bomber} before a tick, by moving it, stopping it or placing bombs.
+	 * 
+	 * @param world
+	 *            the {@link LogicWorld} of the match
+	 * @param bomber
+	 *            the {@link Bomber}
+	 * @param tick
+	 *            the number of ticks simulated so far in the match
+	 */
+	public void control(LogicWorld world, Bomber bomber, int tick);
+
+	/**
+	 * Forgets the state of the previous match. Called before each match starts.
+	 */
+	public void reset();
+}
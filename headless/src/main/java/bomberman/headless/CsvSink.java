@@ -0,0 +1,85 @@
+package bomberman.headless;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
+/**
+ * The CsvSink class writes the {@link MatchResult}s as lines of comma separated values, after
+ * a header line:
+ * 
+ * <pre>
+ * seed,outcome,score,ticks,deaths,nanos
+ * </pre>
+ * 
+ * @author Federico Scozzafava
+ */
+public class CsvSink implements ResultSink
+{
+
+	/**
+	 * The header line.
+	 */
+	public static final String HEADER = "seed,outcome,score,ticks,deaths,nanos";
+
+	/**
+	 * The buffered destination of the lines.
+	 */
+	private final Writer out;
+
+	/**
+	 * Instantiates a new {@link CsvSink} writing the header line.
+	 * 
+	 * @param stream
+	 *            the destination, owned by the sink
+	 */
+	public CsvSink(OutputStream stream)
+	{
+		out = new BufferedWriter(new OutputStreamWriter(stream));
+		write(HEADER);
+	}
+
+	/* (non-Javadoc)
+	 * @see bomberman.headless.ResultSink#accept(bomberman.headless.MatchResult)
+	 */
+	@Override
+	public synchronized void accept(MatchResult r)
+	{
+		write(r.getSeed() + "," + r.getOutcome() + "," + r.getScore() + ","
+				+ r.getTicks() + "," + r.getDeaths() + "," + r.getNanos());
+	}
+
+	/* (non-Javadoc)
+	 * @see bomberman.headless.ResultSink#close()
+	 */
+	@Override
+	public synchronized void close()
+	{
+		try
+		{
+			out.close();
+		}
+		catch (IOException e)
+		{
+			throw new RuntimeException("cannot close the csv: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Writes a line.
+	 */
+	private void write(String line)
+	{
+		try
+		{
+			out.write(line);
+			out.write('\n');
+		}
+		catch (IOException e)
+		{
+			throw new RuntimeException("cannot write the csv: " + e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,133 @@
+package bomberman.headless;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+import bomberman.core.logic.PhysicsKind;
+import bomberman.core.util.Constants;
+
+/**
+ * The HeadlessMain class plays a batch of matches with consecutive seeds without any graphics,
+ * on a {@link BatchRunner}. The result of each match is streamed to the standard output, or
+ * to a file, as it ends; the summary of the batch and the statistics of the ticks are printed
+ * on the standard error. The options are:
+ * 
+ * <pre>
+ * -seed N      the seed of the first match, 0 by default
+ * -matches N   the number of matches, 10 by default
+ * -blocks N    the number of brick blocks, 40 by default
+ * -enemies N   the number of enemies, 4 by default
+ * -time N      the initial value of the timer in seconds
+ * -width N     the width of the arena in blocks, odd
+ * -height N    the height of the arena in blocks, odd
+ * -physics P   the physics simulating the arena, box2d (by default) or tile
+ * -script S    the script of a {@link ScriptedController}, the {@link BotController} plays
+ *              otherwise
+ * -threads N   the number of threads, one per core by default
+ * -csv F       writes the results as csv in the file F, "-" for the standard output
+ * -binary F    writes the results as binary records in the file F
+ * -quiet       writes no result, prints the summary only
+ * </pre>
+ * 
+ * @author Federico Scozzafava
+ */
+public class HeadlessMain
+{
+
+	/**
+	 * The entry point.
+	 * 
+	 * @param args
+	 *            the options
+	 * @throws IOException
+	 *             if the file of the results cannot be created
+	 */
+	public static void main(String[] args) throws IOException
+	{
+		long seed = 0;
+		int matches = 10;
+		int blocks = 40;
+		int enemies = 4;
+		int time = Constants.INIT_TIMER_VALUE;
+		int width = Scenario.DEFAULT_WIDTH;
+		int height = Scenario.DEFAULT_HEIGHT;
+		PhysicsKind physics = PhysicsKind.BOX2D;
+		int threads = Runtime.getRuntime().availableProcessors();
+		String script = null;
+		String csv = "-";
+		String binary = null;
+		for (int i = 0; i < args.length; i++)
+		{
+			String a = args[i];
+			if (a.equals("-quiet"))
+			{
+				csv = null;
+				continue;
+			}
+			if (i + 1 == args.length)
+				throw new RuntimeException("missing value of " + a);
+			String v = args[++i];
+			if (a.equals("-seed"))
+				seed = Long.parseLong(v);
+			else if (a.equals("-matches"))
+				matches = Integer.parseInt(v);
+			else if (a.equals("-blocks"))
+				blocks = Integer.parseInt(v);
+			else if (a.equals("-enemies"))
+				enemies = Integer.parseInt(v);
+			else if (a.equals("-time"))
+				time = Integer.parseInt(v);
+			else if (a.equals("-width"))
+				width = Integer.parseInt(v);
+			else if (a.equals("-height"))
+				height = Integer.parseInt(v);
+			else if (a.equals("-physics"))
+				physics = PhysicsKind.parse(v);
+			else if (a.equals("-script"))
+				script = v;
+			else if (a.equals("-threads"))
+				threads = Integer.parseInt(v);
+			else if (a.equals("-csv"))
+				csv = v;
+			else if (a.equals("-binary"))
+			{
+				binary = v;
+				csv = null;
+			}
+			else
+				throw new RuntimeException("unknown option " + a);
+		}
+		Scenario scenario = new Scenario(width, height, blocks, enemies, time, physics);
+		final String s = script;
+		Controller.Factory factory = new Controller.Factory()
+		{
+			@Override
+			public Controller create()
+			{
+				return s == null ? new BotController() : new ScriptedController(s);
+			}
+		};
+		ResultSink sink = null;
+		if (binary != null)
+			sink = new BinarySink(new FileOutputStream(binary));
+		else if (csv != null)
+			sink = new CsvSink(csv.equals("-") ? System.out : new FileOutputStream(csv));
+		BatchRunner runner = new BatchRunner(scenario, factory, threads);
+		long begin = System.nanoTime();
+		BatchSummary summary;
+		try
+		{
+			summary = runner.run(seed, seed + matches, sink);
+		}
+		finally
+		{
+			runner.close();
+			if (sink != null) sink.close();
+		}
+		long elapsed = System.nanoTime() - begin;
+		System.err.println(scenario + " threads=" + runner.getThreads());
+		System.err.println(summary);
+		System.err.println(String.format("elapsed=%.1fms matches/s=%.1f", elapsed / 1e6,
+				matches * 1e9 / elapsed));
+	}
+}
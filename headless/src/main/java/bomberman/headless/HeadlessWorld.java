@@ -0,0 +1,123 @@
+package bomberman.headless;
+
+import bomberman.core.logic.LogicWorld;
+import bomberman.core.logic.PhysicsBackend;
+import bomberman.core.util.Constants;
+
+/**
+ * The HeadlessWorld class is a {@link LogicWorld} that nobody draws. It is advanced one tick
+ * at a time by its {@link Match} instead of by the elapsed time, and it records how the round
+ * ended instead of switching screen.
+ * 
+ * @author Federico Scozzafava
+ */
+public class HeadlessWorld extends LogicWorld
+{
+
+	/**
+	 * The outcome of the round, null while it is being played.
+	 */
+	private MatchResult.Outcome outcome;
+
+	/**
+	 * The score when the round ended, before {@link #lose()} resets it.
+	 */
+	private int score;
+
+	/**
+	 * Instantiates a new {@link HeadlessWorld} with the blocks of the size of the game.
+	 * 
+	 * @param x
+	 *            the world's width expressed in blocks
+	 * @param y
+	 *            the world's height expressed in blocks
+	 */
+	public HeadlessWorld(int x, int y)
+	{
+		super(x, y, Constants.FIXED_SQUARE_SIZE);
+	}
+
+	/**
+	 * Instantiates a new {@link HeadlessWorld} with the blocks of the size of the game,
+	 * simulated by the given {@link PhysicsBackend}.
+	 * 
+	 * @param x
+	 *            the world's width expressed in blocks
+	 * @param y
+	 *            the world's height expressed in blocks
+	 * @param physics
+	 *            the {@link PhysicsBackend}, owned by the world from now on
+	 */
+	public HeadlessWorld(int x, int y, PhysicsBackend physics)
+	{
+		super(x, y, Constants.FIXED_SQUARE_SIZE, physics);
+	}
+
+	/**
+	 * Advances the simulation by one tick of {@link Constants#TICK_TIME} milliseconds.
+	 */
+	public void advance()
+	{
+		step();
+	}
+
+	/**
+	 * Gets the score the round ended with.
+	 * 
+	 * @return the score
+	 */
+	public int getFinalScore()
+	{
+		return score;
+	}
+
+	/**
+	 * Gets the outcome of the round.
+	 * 
+	 * @return the {@link MatchResult.Outcome}, null while the round is being played
+	 */
+	public MatchResult.Outcome getOutcome()
+	{
+		return outcome;
+	}
+
+	/* (non-Javadoc)
+	 * @see bomberman.core.logic.LogicWorld#initializeGame(int, int, long)
+	 */
+	@Override
+	public void initializeGame(int blocks, int time, long seed)
+	{
+		outcome = null;
+		score = 0;
+		super.initializeGame(blocks, time, seed);
+	}
+
+	/* (non-Javadoc)
+	 * @see bomberman.core.logic.LogicWorld#lose()
+	 */
+	@Override
+	public void lose()
+	{
+		if (outcome == null)
+		{
+			outcome = getTimer().getTimeInt() < 0 ? MatchResult.Outcome.TIME_UP
+					: MatchResult.Outcome.KILLED;
+			score = getScoreManager().getScore();
+		}
+		super.lose();
+	}
+
+	/* (non-Javadoc)
+	 * @see bomberman.core.logic.LogicWorld#win()
+	 */
+	@Override
+	public void win()
+	{
+		super.win();
+		if (outcome == null)
+		{
+			outcome = MatchResult.Outcome.WIN;
+			score = getScoreManager().getScore();
+		}
+	}
+}
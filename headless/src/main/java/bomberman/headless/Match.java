@@ -0,0 +1,161 @@
+package bomberman.headless;
+
+import java.util.Random;
+
+import bomberman.core.logic.Block;
+import bomberman.core.logic.Bomber;
+import bomberman.core.logic.enemy.EnemyBarom;
+import bomberman.core.logic.enemy.EnemyMaron;
+import bomberman.core.logic.enemy.EnemyMinvo;
+import bomberman.core.logic.enemy.EnemyOnil;
+import bomberman.core.logic.enemy.EnemyPontan;
+
+/**
+ * The Match class plays rounds of a {@link Scenario} in a {@link HeadlessWorld}, as fast as the
+ * simulation allows. Each round is set up the way {@code GameScreen.startNewRound} does, the
+ * {@link Bomber} is driven by a {@link Controller} and the world is stepped until the round
+ * ends.
+ * <p>
+ * The world is built once and reused by the following rounds. A round only depends on its
+ * seed and on the {@link Controller}, so the same seed replays the same round.
+ * 
+ * @author Federico Scozzafava
+ */
+public class Match
+{
+
+	/**
+	 * The {@link Controller} driving the {@link Bomber}.
+	 */
+	private final Controller controller;
+
+	/**
+	 * The number of lives the {@link Bomber} lost in the current round.
+	 */
+	private int deaths;
+
+	/**
+	 * The parameters of the rounds.
+	 */
+	private final Scenario scenario;
+
+	/**
+	 * The time taken by each tick.
+	 */
+	private final TickStats stats = new TickStats();
+
+	/**
+	 * The world of the rounds.
+	 */
+	private final HeadlessWorld world;
+
+	/**
+	 * Instantiates a new {@link Match}.
+	 * 
+	 * @param scenario
+	 *            the parameters of the rounds
+	 * @param controller
+	 *            the {@link Controller} driving the {@link Bomber}, owned by the match
+	 */
+	public Match(Scenario scenario, Controller controller)
+	{
+		this.scenario = scenario;
+		this.controller = controller;
+		world = new HeadlessWorld(scenario.getWidth(), scenario.getHeight(),
+				scenario.getPhysics().create());
+	}
+
+	/**
+	 * Gets the time taken by the ticks of all the rounds played.
+	 * 
+	 * @return the {@link TickStats}
+	 */
+	public TickStats getStats()
+	{
+		return stats;
+	}
+
+	/**
+	 * Gets the world of the rounds.
+	 * 
+	 * @return the {@link HeadlessWorld}
+	 */
+	public HeadlessWorld getWorld()
+	{
+		return world;
+	}
+
+	/**
+	 * Plays a round until the {@link Bomber} wins, loses all its lives or the timer runs out.
+	 * 
+	 * @param seed
+	 *            the seed of the round
+	 * @return the {@link MatchResult}
+	 */
+	public MatchResult play(long seed)
+	{
+		long begin = System.nanoTime();
+		Bomber bomber = start(seed);
+		int ticks = 0;
+		while (world.getOutcome() == null)
+		{
+			long t = System.nanoTime();
+			controller.control(world, bomber, ticks);
+			world.advance();
+			stats.record(System.nanoTime() - t);
+			ticks++;
+		}
+		return new MatchResult(seed, world.getOutcome(), world.getFinalScore(),
+				ticks, deaths, System.nanoTime() - begin);
+	}
+
+	/**
+	 * Sets up a round: lays out the grid, places the {@link Bomber} in the top left corner and
+	 * spawns the enemies in random free blocks.
+	 * 
+	 * @param seed
+	 *            the seed of the round
+	 * @return the {@link Bomber}
+	 */
+	private Bomber start(long seed)
+	{
+		world.initializeGame(scenario.getBlocks(), scenario.getTime(), seed);
+		controller.reset();
+		deaths = 0;
+		float size = world.getBlockSize();
+		Bomber bomber = new Bomber(world, size, size)
+		{
+			@Override
+			public void die()
+			{
+				deaths++;
+				super.die();
+			}
+		};
+		bomber.reset();
+		Random x = world.getRandom();
+		for (int i = 0; i < scenario.getEnemies(); i++)
+		{
+			Block freeBlock = world.getRandomFreeBlock();
+			switch (x.nextInt(5))
+			{
+			case 0:
+				new EnemyBarom(world, freeBlock);
+				break;
+			case 1:
+				new EnemyMaron(world, freeBlock);
+				break;
+			case 2:
+				new EnemyOnil(world, freeBlock);
+				break;
+			case 3:
+				new EnemyPontan(world, freeBlock);
+				break;
+			case 4:
+				new EnemyMinvo(world, freeBlock);
+				break;
+			}
+		}
+		return bomber;
+	}
+}
@@ -0,0 +1,159 @@
+package bomberman.headless;
+
+/**
+ * The MatchResult class holds how a headless {@link Match} ended.
+ * 
+ * @author Federico Scozzafava
+ */
+public class MatchResult
+{
+
+	/**
+	 * The Outcome enum defines how a round ends.
+	 */
+	public enum Outcome
+	{
+
+		/**
+		 * The {@code Bomber} reached the door with no enemy left.
+		 */
+		WIN,
+
+		/**
+		 * The {@code Bomber} lost all its lives.
+		 */
+		KILLED,
+
+		/**
+		 * The timer ran out.
+		 */
+		TIME_UP
+	}
+
+	/**
+	 * The number of lives the {@code Bomber} lost.
+	 */
+	private final int deaths;
+
+	/**
+	 * The time spent simulating the match, in nanoseconds.
+	 */
+	private final long nanos;
+
+	/**
+	 * The outcome of the match.
+	 */
+	private final Outcome outcome;
+
+	/**
+	 * The score the match ended with.
+	 */
+	private final int score;
+
+	/**
+	 * The seed of the match.
+	 */
+	private final long seed;
+
+	/**
+	 * The number of ticks simulated.
+	 */
+	private final int ticks;
+
+	/**
+	 * Instantiates a new {@link MatchResult}.
+	 * 
+	 * @param seed
+	 *            the seed of the match
+	 * @param outcome
+	 *            the outcome of the match
+	 * @param score
+	 *            the score the match ended with
+	 * @param ticks
+	 *            the number of ticks simulated
+	 * @param deaths
+	 *            the number of lives the {@code Bomber} lost
+	 * @param nanos
+	 *            the time spent simulating the match, in nanoseconds
+	 */
+	public MatchResult(long seed, Outcome outcome, int score, int ticks, int deaths,
+			long nanos)
+	{
+		this.seed = seed;
+		this.outcome = outcome;
+		this.score = score;
+		this.ticks = ticks;
+		this.deaths = deaths;
+		this.nanos = nanos;
+	}
+
+	/**
+	 * Gets the number of lives the {@code Bomber} lost.
+	 * 
+	 * @return the deaths
+	 */
+	public int getDeaths()
+	{
+		return deaths;
+	}
+
+	/**
+	 * Gets the time spent simulating the match.
+	 * 
+	 * @return the time, in nanoseconds
+	 */
+	public long getNanos()
+	{
+		return nanos;
+	}
+
+	/**
+	 * Gets the outcome of the match.
+	 * 
+	 * @return the {@link Outcome}
+	 */
+	public Outcome getOutcome()
+	{
+		return outcome;
+	}
+
+	/**
+	 * Gets the score the match ended with.
+	 * 
+	 * @return the score
+	 */
+	public int getScore()
+	{
+		return score;
+	}
+
+	/**
+	 * Gets the seed of the match.
+	 * 
+	 * @return the seed
+	 */
+	public long getSeed()
+	{
+		return seed;
+	}
+
+	/**
+	 * Gets the number of ticks simulated.
+	 * 
+	 * @return the ticks
+	 */
+	public int getTicks()
+	{
+		return ticks;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString()
+	{
+		return "seed=" + seed + " outcome=" + outcome + " score=" + score
+				+ " ticks=" + ticks + " deaths=" + deaths;
+	}
+}
@@ -0,0 +1,30 @@
+package bomberman.headless;
+
+/**
+ * The ResultSink interface receives the {@link MatchResult}s of a batch as the matches end.
+ * The matches of a batch end on several threads and in no particular order, so a sink must
+ * be thread safe; the seed of each result tells which match it comes from.
+ * 
+ * @author Federico Scozzafava
+ */
+public interface ResultSink
+{
+
+	/**
+	 * Receives the result of a match.
+	 * 
+	 * @param result
+	 *            the {@link MatchResult}
+	 * @throws RuntimeException
+	 *             if the result cannot be written
+	 */
+	public void accept(MatchResult result);
+
+	/**
+	 * Writes out the results received and releases the sink.
+	 * 
+	 * @throws RuntimeException
+	 *             if the results cannot be written
+	 */
+	public void close();
+}
@@ -0,0 +1,209 @@
+package bomberman.headless;
+
+import java.util.Random;
+
+import bomberman.core.logic.PhysicsKind;
+import bomberman.core.util.Constants;
+
+/**
+ * The Scenario class holds the parameters of a round, the same ones
+ * {@code GameScreen.startNewRound} receives: the number of {@code BrickBlock}s, the number
+ * of enemies and the initial value of the timer, along with the size of the arena and the
+ * {@link PhysicsKind} simulating it.
+ * 
+ * @author Federico Scozzafava
+ */
+public class Scenario
+{
+
+	/**
+	 * The height of the arena of the game, expressed in blocks.
+	 */
+	public static final int DEFAULT_HEIGHT = 15;
+
+	/**
+	 * The width of the arena of the game, expressed in blocks.
+	 */
+	public static final int DEFAULT_WIDTH = 19;
+
+	/**
+	 * Chooses the parameters of a random round the way {@code GameScreen.prepareNextRound}
+	 * does.
+	 * 
+	 * @param random
+	 *            the source of randomness
+	 * @return the new {@link Scenario}
+	 */
+	public static Scenario random(Random random)
+	{
+		return new Scenario(Constants.MIN_BRICK_BLOCKS + random.nextInt(30),
+				Constants.MIN_ENEMIES + random.nextInt(4),
+				Constants.INIT_TIMER_VALUE);
+	}
+
+	/**
+	 * The number of {@code BrickBlock}s.
+	 */
+	private final int blocks;
+
+	/**
+	 * The number of enemies.
+	 */
+	private final int enemies;
+
+	/**
+	 * The height of the arena, expressed in blocks.
+	 */
+	private final int height;
+
+	/**
+	 * The {@link PhysicsKind} simulating the arena.
+	 */
+	private final PhysicsKind physics;
+
+	/**
+	 * The initial value of the timer, in seconds.
+	 */
+	private final int time;
+
+	/**
+	 * The width of the arena, expressed in blocks.
+	 */
+	private final int width;
+
+	/**
+	 * Instantiates a new {@link Scenario} in the arena of the game.
+	 * 
+	 * @param blocks
+	 *            the number of {@code BrickBlock}s
+	 * @param enemies
+	 *            the number of enemies
+	 * @param time
+	 *            the initial value of the timer, in seconds
+	 */
+	public Scenario(int blocks, int enemies, int time)
+	{
+		this(DEFAULT_WIDTH, DEFAULT_HEIGHT, blocks, enemies, time);
+	}
+
+	/**
+	 * Instantiates a new {@link Scenario}.
+	 * 
+	 * @param width
+	 *            the width of the arena, expressed in blocks
+	 * @param height
+	 *            the height of the arena, expressed in blocks
+	 * @param blocks
+	 *            the number of {@code BrickBlock}s
+	 * @param enemies
+	 *            the number of enemies
+	 * @param time
+	 *            the initial value of the timer, in seconds
+	 */
+	public Scenario(int width, int height, int blocks, int enemies, int time)
+	{
+		this(width, height, blocks, enemies, time, PhysicsKind.BOX2D);
+	}
+
+	/**
+	 * Instantiates a new {@link Scenario} simulated by the given {@link PhysicsKind}.
+	 * 
+	 * @param width
+	 *            the width of the arena, expressed in blocks
+	 * @param height
+	 *            the height of the arena, expressed in blocks
+	 * @param blocks
+	 *            the number of {@code BrickBlock}s
+	 * @param enemies
+	 *            the number of enemies
+	 * @param time
+	 *            the initial value of the timer, in seconds
+	 * @param physics
+	 *            the {@link PhysicsKind} simulating the arena
+	 */
+	public Scenario(int width, int height, int blocks, int enemies, int time,
+			PhysicsKind physics)
+	{
+		if (width < 5 || height < 5 || width % 2 == 0 || height % 2 == 0)
+			throw new RuntimeException("invalid arena " + width + "x" + height);
+		if (blocks < 0 || enemies < 0 || time <= 0)
+			throw new RuntimeException("invalid scenario " + blocks + " blocks, "
+					+ enemies + " enemies, " + time + " seconds");
+		this.width = width;
+		this.height = height;
+		this.blocks = blocks;
+		this.enemies = enemies;
+		this.time = time;
+		this.physics = physics;
+	}
+
+	/**
+	 * Gets the number of {@code BrickBlock}s.
+	 * 
+	 * @return the number of {@code BrickBlock}s
+	 */
+	public int getBlocks()
+	{
+		return blocks;
+	}
+
+	/**
+	 * Gets the number of enemies.
+	 * 
+	 * @return the number of enemies
+	 */
+	public int getEnemies()
+	{
+		return enemies;
+	}
+
+	/**
+	 * Gets the height of the arena.
+	 * 
+	 * @return the height, expressed in blocks
+	 */
+	public int getHeight()
+	{
+		return height;
+	}
+
+	/**
+	 * Gets the {@link PhysicsKind} simulating the arena.
+	 * 
+	 * @return the {@link PhysicsKind}
+	 */
+	public PhysicsKind getPhysics()
+	{
+		return physics;
+	}
+
+	/**
+	 * Gets the initial value of the timer.
+	 * 
+	 * @return the time, in seconds
+	 */
+	public int getTime()
+	{
+		return time;
+	}
+
+	/**
+	 * Gets the width of the arena.
+	 * 
+	 * @return the width, expressed in blocks
+	 */
+	public int getWidth()
+	{
+		return width;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString()
+	{
+		return width + "x" + height + " blocks=" + blocks + " enemies=" + enemies
+				+ " time=" + time + " physics=" + physics;
+	}
+}
@@ -0,0 +1,123 @@
+package bomberman.headless;
+
+import bomberman.core.logic.Bomber;
+import bomberman.core.logic.Direction;
+import bomberman.core.logic.LogicWorld;
+
+/**
+ * The ScriptedController class replays a fixed sequence of commands, each one given at a
+ * tick of the match. A script is a list of entries separated by spaces, each entry is a tick
+ * and a command separated by a colon, in increasing order of tick:
+ * 
+ * <pre>
+ * 0:R 12:D 40:B 41:U 90:I
+ * </pre>
+ * 
+ * The commands are {@code U}, {@code D}, {@code L} and {@code R} to move, {@code I} to stop
+ * and {@code B} to place a bomb. A movement is held until the next movement or stop, as a
+ * key kept pressed.
+ * 
+ * @author Federico Scozzafava
+ */
+public class ScriptedController implements Controller
+{
+
+	/**
+	 * The command of each entry.
+	 */
+	private final char[] commands;
+
+	/**
+	 * The {@link Direction} being held, null if the {@link Bomber} is stopped.
+	 */
+	private Direction held;
+
+	/**
+	 * The next entry to replay.
+	 */
+	private int next;
+
+	/**
+	 * The tick of each entry.
+	 */
+	private final int[] ticks;
+
+	/**
+	 * Instantiates a new {@link ScriptedController} parsing the given script.
+	 * 
+	 * @param script
+	 *            the script
+	 * @throws RuntimeException
+	 *             if the script is malformed
+	 */
+	public ScriptedController(String script)
+	{
+		String s = script.trim();
+		String[] entries = s.length() == 0 ? new String[0] : s.split("\\s+");
+		commands = new char[entries.length];
+		ticks = new int[entries.length];
+		for (int i = 0; i < entries.length; i++)
+		{
+			String e = entries[i];
+			int c = e.indexOf(':');
+			if (c < 1 || c != e.length() - 2
+					|| "UDLRIB".indexOf(e.charAt(c + 1)) < 0)
+				throw new RuntimeException("invalid script entry " + e);
+			try
+			{
+				ticks[i] = Integer.parseInt(e.substring(0, c));
+			}
+			catch (NumberFormatException ex)
+			{
+				throw new RuntimeException("invalid script entry " + e);
+			}
+			if (i > 0 && ticks[i] < ticks[i - 1])
+				throw new RuntimeException("script entry out of order " + e);
+			commands[i] = e.charAt(c + 1);
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see bomberman.headless.Controller#control(bomberman.core.logic.LogicWorld, bomberman.core.logic.Bomber, int)
+	 */
+	@Override
+	public void control(LogicWorld world, Bomber bomber, int tick)
+	{
+		while (next < ticks.length && ticks[next] <= tick)
+		{
+			switch (commands[next++])
+			{
+			case 'U':
+				held = Direction.UP;
+				break;
+			case 'D':
+				held = Direction.DOWN;
+				break;
+			case 'L':
+				held = Direction.LEFT;
+				break;
+			case 'R':
+				held = Direction.RIGHT;
+				break;
+			case 'B':
+				bomber.placeBomb();
+				break;
+			default:
+				held = null;
+				bomber.setIdle();
+				break;
+			}
+		}
+		if (held != null) bomber.move(held);
+	}
+
+	/* (non-Javadoc)
+	 * @see bomberman.headless.Controller#reset()
+	 */
+	@Override
+	public void reset()
+	{
+		held = null;
+		next = 0;
+	}
+}
@@ -0,0 +1,162 @@
+package bomberman.headless;
+
+/**
+ * The TickStats class collects the time taken by the ticks of the simulation. The times are
+ * counted in a histogram of power of two buckets, so recording a tick costs a few operations
+ * and no allocation, and the percentiles are known within a factor of two.
+ * 
+ * @author Federico Scozzafava
+ */
+public class TickStats
+{
+
+	/**
+	 * The number of buckets of the histogram, one per bit of a positive time in nanoseconds.
+	 */
+	private static final int BUCKETS = 64;
+
+	/**
+	 * The number of ticks in each bucket, the bucket {@code i} counts the times with
+	 * {@code i} significant bits.
+	 */
+	private final long[] buckets = new long[BUCKETS];
+
+	/**
+	 * The number of ticks recorded.
+	 */
+	private long count;
+
+	/**
+	 * The longest tick, in nanoseconds.
+	 */
+	private long max;
+
+	/**
+	 * The total time of the ticks, in nanoseconds.
+	 */
+	private long total;
+
+	/**
+	 * Removes all the recorded ticks.
+	 */
+	public void clear()
+	{
+		for (int i = 0; i < BUCKETS; i++)
+			buckets[i] = 0;
+		count = 0;
+		max = 0;
+		total = 0;
+	}
+
+	/**
+	 * Gets the number of ticks recorded.
+	 * 
+	 * @return the count
+	 */
+	public long getCount()
+	{
+		return count;
+	}
+
+	/**
+	 * Gets the longest tick.
+	 * 
+	 * @return the time, in nanoseconds
+	 */
+	public long getMax()
+	{
+		return max;
+	}
+
+	/**
+	 * Gets the average time of a tick.
+	 * 
+	 * @return the time, in nanoseconds, 0 if no tick was recorded
+	 */
+	public double getMean()
+	{
+		return count == 0 ? 0 : (double) total / count;
+	}
+
+	/**
+	 * Gets an upper bound of a percentile of the tick times.
+	 * 
+	 * @param p
+	 *            the percentile, between 0 and 100
+	 * @return the time, in nanoseconds, within which that share of the ticks took
+	 */
+	public long getPercentile(double p)
+	{
+		long rank = (long) Math.ceil(count * p / 100);
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++)
+		{
+			seen += buckets[i];
+			if (seen >= rank && seen > 0)
+				return Math.min(max, i == BUCKETS - 1 ? Long.MAX_VALUE : (1L << i) - 1);
+		}
+		return max;
+	}
+
+	/**
+	 * Gets the number of ticks the recorded time would simulate in a second.
+	 * 
+	 * @return the ticks per second, 0 if no tick was recorded
+	 */
+	public double getTicksPerSecond()
+	{
+		return total == 0 ? 0 : count * 1e9 / total;
+	}
+
+	/**
+	 * Gets the total time of the ticks.
+	 * 
+	 * @return the time, in nanoseconds
+	 */
+	public long getTotal()
+	{
+		return total;
+	}
+
+	/**
+	 * Adds the ticks recorded by another {@link TickStats}.
+	 * 
+	 * @param other
+	 *            the other {@link TickStats}
+	 */
+	public void merge(TickStats other)
+	{
+		for (int i = 0; i < BUCKETS; i++)
+			buckets[i] += other.buckets[i];
+		count += other.count;
+		max = Math.max(max, other.max);
+		total += other.total;
+	}
+
+	/**
+	 * Records the time of a tick.
+	 * 
+	 * @param nanos
+	 *            the time, in nanoseconds
+	 */
+	public void record(long nanos)
+	{
+		if (nanos < 0) nanos = 0;
+		buckets[64 - Long.numberOfLeadingZeros(nanos)]++;
+		count++;
+		total += nanos;
+		if (nanos > max) max = nanos;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString()
+	{
+		return String.format(
+				"ticks=%d ticks/s=%.0f mean=%.0fns p50<=%dns p99<=%dns max=%dns",
+				count, getTicksPerSecond(), getMean(), getPercentile(50),
+				getPercentile(99), max);
+	}
+}
@@ -1,5 +1,9 @@
 package bomberman.java;
 
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+
 import playn.core.PlayN;
 import playn.java.JavaPlatform;
 
@@ -13,6 +17,26 @@ public class BomberManJava {
     config.height = 544;
     // use config to customize the Java platform, if needed
     JavaPlatform.register(config);
-    PlayN.run(new BomberMan());
+    final BomberMan game = new BomberMan();
+    // dump the times of the frame phases, to the file named by -Dbomberman.profile if given
+    PlayN.setLifecycleListener(new PlayN.LifecycleListener() {
+      public void onPause() {}
+      public void onResume() {}
+      public void onExit() {
+        String path = System.getProperty("bomberman.profile");
+        if (path == null) return;
+        try {
+          Writer out = new FileWriter(path);
+          try {
+            out.write(game.getProfiler().toCsv());
+          } finally {
+            out.close();
+          }
+        } catch (IOException e) {
+          PlayN.log().warn("cannot write the profile to " + path, e);
+        }
+      }
+    });
+    PlayN.run(game);
   }
 }